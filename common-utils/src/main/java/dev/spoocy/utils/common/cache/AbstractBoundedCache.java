@@ -0,0 +1,475 @@
+package dev.spoocy.utils.common.cache;
+
+import dev.spoocy.utils.common.misc.Args;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Base class of the size bounded caches, built for concurrent reads.
+ * <p>
+ * Entries live in a {@link ConcurrentHashMap}, so lookups never take a lock. Instead of
+ * updating the eviction policy on every read, reads are recorded in a striped {@link ReadBuffer}
+ * and replayed in batches by the thread that holds the eviction lock. Writes register the new
+ * entry with the policy and evict under that lock, so the total weight of the cache never
+ * exceeds its {@code maximum} once a write has returned.
+ * <p>
+ * Without a {@link Weigher} every entry weighs 1 and the maximum is the number of entries.
+ * Weights are calculated when an entry is added or replaced.
+ * <p>
+ * Subclasses only implement the policy callbacks, which are always invoked while holding the
+ * eviction lock.
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ */
+
+public abstract class AbstractBoundedCache<K, V> implements Cache<K, V> {
+
+    protected final long maximum;
+    final ConcurrentHashMap<K, Node<K, V>> data;
+    final StatsCounter stats;
+    final Weigher<K, V> weigher;
+
+    // guarded by the eviction lock, the total weight of the linked nodes
+    private volatile long weightedSize;
+
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final ReadBuffer<K, V> readBuffer = new ReadBuffer<>();
+
+    AbstractBoundedCache(@NotNull CacheBuilder<K, V> builder) {
+        this.maximum = Args.positive(builder.maximum(), "maximum");
+        this.data = new ConcurrentHashMap<>(builder.maximumSize != CacheBuilder.UNSET_INT ? Math.min(builder.maximumSize, 1 << 16) : 16);
+        this.stats = builder.statsCounter();
+        this.weigher = builder.weigher();
+    }
+
+    /**
+     * Registers a node that was just inserted with the eviction policy.
+     */
+    abstract void onAdd(@NotNull Node<K, V> node);
+
+    /**
+     * Records an access of a node that is registered with the eviction policy.
+     */
+    abstract void onAccess(@NotNull Node<K, V> node);
+
+    /**
+     * Removes a node that was explicitly removed from the eviction policy.
+     */
+    abstract void onRemove(@NotNull Node<K, V> node);
+
+    /**
+     * Selects the next entry to evict and removes it from the eviction policy.
+     *
+     * @return the victim, or {@code null} if the policy holds no entries
+     */
+    @Nullable
+    abstract Node<K, V> selectVictim();
+
+    /**
+     * Removes all nodes from the eviction policy.
+     */
+    abstract void onClear();
+
+    /**
+     * Notifies the policy that the weight of a registered node changed by the given delta.
+     * The node's {@link Node#weight} is already updated, {@link #onAccess(Node)} follows.
+     */
+    void onWeightChange(@NotNull Node<K, V> node, long delta) { }
+
+    public long getMaximum() {
+        return this.maximum;
+    }
+
+    /**
+     * @return the total weight of the entries, which is their number if the cache has no weigher
+     */
+    public long getWeightedSize() {
+        return this.weightedSize;
+    }
+
+    @Override
+    public boolean contains(@NotNull K key) {
+        return this.data.containsKey(key);
+    }
+
+    @Override
+    public void add(@NotNull K key, @Nullable V value) {
+        boolean[] replaced = new boolean[1];
+        Node<K, V> node = put(key, value, replaced);
+
+        if (!replaced[0]) {
+            afterWrite(node);
+            return;
+        }
+
+        this.stats.recordEviction(RemovalCause.REPLACED);
+        if (isWeighted()) {
+            afterUpdate(node);
+        } else {
+            afterRead(node);
+        }
+    }
+
+    /**
+     * Adds all entries and registers them with the eviction policy under a single acquisition
+     * of the eviction lock, evicting once for the whole batch.
+     */
+    @Override
+    public void addAll(@NotNull Map<? extends K, ? extends V> map) {
+        if (map.isEmpty()) {
+            return;
+        }
+
+        List<Node<K, V>> added = new ArrayList<>(map.size());
+        List<Node<K, V>> replaced = new ArrayList<>();
+        boolean[] wasReplaced = new boolean[1];
+        for (Map.Entry<? extends K, ? extends V> entry : map.entrySet()) {
+            Node<K, V> node = put(entry.getKey(), entry.getValue(), wasReplaced);
+            if (wasReplaced[0]) {
+                this.stats.recordEviction(RemovalCause.REPLACED);
+                replaced.add(node);
+            } else {
+                added.add(node);
+            }
+        }
+
+        this.evictionLock.lock();
+        try {
+            drainReadBuffer();
+            for (Node<K, V> node : added) {
+                link(node);
+            }
+            for (Node<K, V> node : replaced) {
+                if (isWeighted()) {
+                    reweigh(node);
+                } else if (node.linked) {
+                    onAccess(node);
+                }
+            }
+            evict(this.maximum);
+        } finally {
+            this.evictionLock.unlock();
+        }
+    }
+
+    @Override
+    public void remove(@NotNull K key) {
+        Node<K, V> node = this.data.remove(key);
+        if (node == null) {
+            return;
+        }
+
+        node.retire();
+        this.stats.recordEviction(RemovalCause.EXPLICIT);
+
+        this.evictionLock.lock();
+        try {
+            if (node.linked) {
+                onRemove(node);
+                this.weightedSize -= node.weight;
+            }
+        } finally {
+            this.evictionLock.unlock();
+        }
+    }
+
+    @Override
+    public V get(@NotNull K key) {
+        Node<K, V> node = this.data.get(key);
+        if (node == null) {
+            this.stats.recordMisses(1);
+            return null;
+        }
+
+        this.stats.recordHits(1);
+        afterRead(node);
+        return node.value;
+    }
+
+    @Override
+    public V getOrDefault(@NotNull K key, @Nullable V defaultValue) {
+        Node<K, V> node = this.data.get(key);
+        if (node == null) {
+            this.stats.recordMisses(1);
+            return defaultValue;
+        }
+
+        this.stats.recordHits(1);
+        afterRead(node);
+        return node.value;
+    }
+
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        Node<K, V> node = this.data.get(key);
+        if (node != null) {
+            this.stats.recordHits(1);
+            afterRead(node);
+            return node.value;
+        }
+
+        this.stats.recordMisses(1);
+        Function<K, V> loader = this.stats.instrument(mappingFunction);
+        node = this.data.computeIfAbsent(key, k -> {
+            V value = loader.apply(k);
+            return value == null ? null : newNode(k, value);
+        });
+
+        if (node == null) {
+            return null;
+        }
+
+        afterWrite(node);
+        return node.value;
+    }
+
+    /**
+     * Looks up all keys without locking and loads the missing ones in one call of the bulk
+     * loader. The loaded entries are added as one batch, see {@link #addAll(Map)}.
+     */
+    @Override
+    public Map<K, V> getAll(@NotNull Iterable<? extends K> keys, @NotNull Function<? super Set<K>, ? extends Map<? extends K, ? extends V>> bulkLoader) {
+        Map<K, V> result = new LinkedHashMap<>();
+        Set<K> missing = new LinkedHashSet<>();
+        for (K key : keys) {
+            Node<K, V> node = this.data.get(key);
+            if (node != null && node.value != null) {
+                afterRead(node);
+                result.put(key, node.value);
+            } else {
+                missing.add(key);
+            }
+        }
+
+        this.stats.recordHits(result.size());
+        this.stats.recordMisses(missing.size());
+        if (missing.isEmpty()) {
+            return result;
+        }
+
+        Map<? extends K, ? extends V> loaded = this.stats.<Set<K>, Map<? extends K, ? extends V>>instrument(bulkLoader)
+                .apply(Collections.unmodifiableSet(missing));
+        Caches.addLoaded(this, missing, loaded, result);
+        return result;
+    }
+
+    @Override
+    public int size() {
+        return this.data.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.data.isEmpty();
+    }
+
+    @Override
+    public Set<K> keys() {
+        return Collections.unmodifiableSet(this.data.keySet());
+    }
+
+    @Override
+    public Set<V> values() {
+        return this.data.values()
+                .stream()
+                .map(node -> node.value)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+
+    @Override
+    public void clear() {
+        this.evictionLock.lock();
+        try {
+            for (Node<K, V> node : this.data.values()) {
+                if (this.data.remove(node.key, node)) {
+                    node.retire();
+                    this.stats.recordEviction(RemovalCause.EXPLICIT);
+                }
+            }
+            onClear();
+            this.weightedSize = 0;
+        } finally {
+            this.evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Evicts by the cache's policy until the total weight is at most the given fraction of the
+     * current weight.
+     */
+    @Override
+    public int trim(double fraction) {
+        this.evictionLock.lock();
+        try {
+            drainReadBuffer();
+            return evict(Caches.trimTarget(this.weightedSize, fraction));
+        } finally {
+            this.evictionLock.unlock();
+        }
+    }
+
+    @Override
+    public CacheStats stats() {
+        return this.stats.snapshot(this.weightedSize);
+    }
+
+    @Override
+    public @NotNull Iterator<Map.Entry<K, V>> iterator() {
+        return this.data.values()
+                .stream()
+                .<Map.Entry<K, V>>map(node -> new AbstractMap.SimpleImmutableEntry<>(node.key, node.value))
+                .iterator();
+    }
+
+    private void afterRead(@NotNull Node<K, V> node) {
+        if (this.readBuffer.offer(node) && this.evictionLock.tryLock()) {
+            try {
+                drainReadBuffer();
+            } finally {
+                this.evictionLock.unlock();
+            }
+        }
+    }
+
+    private void afterWrite(@NotNull Node<K, V> node) {
+        this.evictionLock.lock();
+        try {
+            drainReadBuffer();
+            link(node);
+            evict(this.maximum);
+        } finally {
+            this.evictionLock.unlock();
+        }
+    }
+
+    private void afterUpdate(@NotNull Node<K, V> node) {
+        this.evictionLock.lock();
+        try {
+            drainReadBuffer();
+            reweigh(node);
+            evict(this.maximum);
+        } finally {
+            this.evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Registers a written node with the eviction policy, guarded by the eviction lock.
+     */
+    private void link(@NotNull Node<K, V> node) {
+        if (node.isAlive()) {
+            if (node.linked) {
+                onAccess(node);
+            } else {
+                onAdd(node);
+                this.weightedSize += node.weight;
+            }
+        }
+    }
+
+    /**
+     * Updates the weight of a replaced node, guarded by the eviction lock.
+     */
+    private void reweigh(@NotNull Node<K, V> node) {
+        // weighed under the lock, so that racing replacements settle on the weight of the final value
+        int weight = weigh(node.key, node.value);
+        if (node.linked) {
+            long delta = weight - node.weight;
+            node.weight = weight;
+            this.weightedSize += delta;
+            onWeightChange(node, delta);
+            onAccess(node);
+        } else {
+            node.weight = weight;
+        }
+    }
+
+    private void drainReadBuffer() {
+        this.readBuffer.drainTo(node -> {
+            if (node.linked) {
+                onAccess(node);
+            }
+        });
+    }
+
+    private int evict(long maximum) {
+        int evicted = 0;
+        while (this.weightedSize > maximum) {
+            Node<K, V> victim = selectVictim();
+            if (victim == null) {
+                break;
+            }
+
+            this.weightedSize -= victim.weight;
+
+            if (this.data.remove(victim.key, victim)) {
+                victim.retire();
+                this.stats.recordEviction(RemovalCause.SIZE);
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    /**
+     * Stores the value in the live node of the key, or maps the key to a new node. The update
+     * runs inside {@link ConcurrentHashMap#compute}, so it cannot race with a removal of the node.
+     *
+     * @param replaced set to whether a live node was updated
+     *
+     * @return the updated or the new node
+     */
+    private Node<K, V> put(@NotNull K key, @Nullable V value, boolean[] replaced) {
+        return this.data.compute(key, (k, prior) -> {
+            replaced[0] = prior != null;
+            if (prior == null) {
+                return newNode(k, value);
+            }
+            prior.value = value;
+            return prior;
+        });
+    }
+
+    private Node<K, V> newNode(@NotNull K key, @Nullable V value) {
+        Node<K, V> node = new Node<>(key, value);
+        if (isWeighted()) {
+            node.weight = weigh(key, value);
+        }
+        return node;
+    }
+
+    private int weigh(@NotNull K key, @Nullable V value) {
+        return Args.notNegative(this.weigher.weigh(key, value), "weight");
+    }
+
+    boolean isWeighted() {
+        return this.weigher != Weigher.singleton();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder c = new StringBuilder(getClass().getSimpleName()).append("{");
+        c.append("maximum=").append(maximum).append(", ");
+        for (Node<K, V> node : this.data.values()) {
+            c.append(node.key).append("=").append(node.value).append(", ");
+        }
+        return c + "}";
+    }
+
+}
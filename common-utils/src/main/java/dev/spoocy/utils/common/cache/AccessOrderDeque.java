@@ -0,0 +1,100 @@
+package dev.spoocy.utils.common.cache;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Intrusive doubly-linked list of {@link Node}s, ordered from least recently used (head)
+ * to most recently used (tail). Not thread safe, callers guard it with the eviction lock.
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ */
+
+class AccessOrderDeque<K, V> {
+
+    private @Nullable Node<K, V> head;
+    private @Nullable Node<K, V> tail;
+    private int size;
+
+    void addLast(@NotNull Node<K, V> node) {
+        node.prev = this.tail;
+        node.next = null;
+        node.linked = true;
+
+        if (this.tail == null) {
+            this.head = node;
+        } else {
+            this.tail.next = node;
+        }
+
+        this.tail = node;
+        this.size++;
+    }
+
+    void moveToLast(@NotNull Node<K, V> node) {
+        if (node == this.tail) {
+            return;
+        }
+        unlink(node);
+        addLast(node);
+    }
+
+    void unlink(@NotNull Node<K, V> node) {
+        Node<K, V> prev = node.prev;
+        Node<K, V> next = node.next;
+
+        if (prev == null) {
+            this.head = next;
+        } else {
+            prev.next = next;
+        }
+
+        if (next == null) {
+            this.tail = prev;
+        } else {
+            next.prev = prev;
+        }
+
+        node.prev = null;
+        node.next = null;
+        node.linked = false;
+        this.size--;
+    }
+
+    @Nullable
+    Node<K, V> peekFirst() {
+        return this.head;
+    }
+
+    @Nullable
+    Node<K, V> pollFirst() {
+        Node<K, V> first = this.head;
+        if (first != null) {
+            unlink(first);
+        }
+        return first;
+    }
+
+    int size() {
+        return this.size;
+    }
+
+    boolean isEmpty() {
+        return this.head == null;
+    }
+
+    void clear() {
+        Node<K, V> node = this.head;
+        while (node != null) {
+            Node<K, V> next = node.next;
+            node.prev = null;
+            node.next = null;
+            node.linked = false;
+            node = next;
+        }
+        this.head = null;
+        this.tail = null;
+        this.size = 0;
+    }
+
+}
@@ -1,8 +1,14 @@
 package dev.spoocy.utils.common.cache;
 
+import dev.spoocy.utils.common.scheduler.Scheduler;
+import dev.spoocy.utils.common.scheduler.task.ScheduledTask;
+import dev.spoocy.utils.common.scheduler.task.Task;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.Function;
@@ -26,6 +32,53 @@ public interface Cache<K, V> extends Iterable<Map.Entry<K, V>> {
 
     V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction);
 
+    /**
+     * Asynchronous variant of {@link #computeIfAbsent(Object, Function)}. If the key is absent,
+     * the mapping function runs on the {@link Scheduler} instead of the calling thread.
+     *
+     * @param key             the key to look up
+     * @param mappingFunction the function computing a missing value
+     *
+     * @return a task that completes with the present or computed value
+     */
+    default Task<V> computeIfAbsentAsync(@NotNull K key, @NotNull Function<? super K, ? extends V> mappingFunction) {
+        V value = get(key);
+        if (value != null) {
+            Task<V> task = ScheduledTask.create();
+            task.complete(value);
+            return task;
+        }
+        return Scheduler.runAsyncCallable(() -> computeIfAbsent(key, mappingFunction));
+    }
+
+    /**
+     * Returns the values of all given keys, loading the missing ones with a single call of the
+     * bulk loader, e.g. to resolve them with one backend request. The loaded values are added to
+     * the cache, keys the loader returns no value for are absent from the result.
+     *
+     * @param keys       the keys to look up
+     * @param bulkLoader the function loading the values of the missing keys
+     *
+     * @return the present and loaded values of the keys
+     */
+    default Map<K, V> getAll(@NotNull Iterable<? extends K> keys, @NotNull Function<? super Set<K>, ? extends Map<? extends K, ? extends V>> bulkLoader) {
+        Map<K, V> result = new LinkedHashMap<>();
+        Set<K> missing = new LinkedHashSet<>();
+        for (K key : keys) {
+            V value = get(key);
+            if (value != null) {
+                result.put(key, value);
+            } else {
+                missing.add(key);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            Caches.addLoaded(this, missing, bulkLoader.apply(Collections.unmodifiableSet(missing)), result);
+        }
+        return result;
+    }
+
     int size();
 
     boolean isEmpty();
@@ -36,4 +89,36 @@ public interface Cache<K, V> extends Iterable<Map.Entry<K, V>> {
 
     void clear();
 
+    /**
+     * Evicts entries until at most the given fraction of the current entries remain, for
+     * example to release memory when the heap runs low. Caches with an eviction policy evict
+     * by it, other caches evict arbitrary entries.
+     *
+     * @param fraction the fraction of the entries to keep, between 0 and 1
+     *
+     * @return the number of evicted entries
+     */
+    default int trim(double fraction) {
+        long excess = size() - Caches.trimTarget(size(), fraction);
+        int evicted = 0;
+        for (K key : keys()) {
+            if (evicted >= excess) {
+                break;
+            }
+            remove(key);
+            evicted++;
+        }
+        return evicted;
+    }
+
+    /**
+     * Returns a snapshot of the statistics of this cache. Caches only record statistics if
+     * created with {@link CacheBuilder#recordStats()}.
+     *
+     * @return the current statistics, or {@link CacheStats#empty()} if not recorded
+     */
+    default CacheStats stats() {
+        return CacheStats.empty();
+    }
+
 }
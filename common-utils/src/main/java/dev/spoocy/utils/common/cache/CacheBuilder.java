@@ -0,0 +1,351 @@
+package dev.spoocy.utils.common.cache;
+
+import dev.spoocy.utils.common.misc.Args;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Builder for {@link Cache} instances combining the features of the cache implementations.
+ *
+ * <pre>
+ * Cache&lt;Class&lt;?&gt;, Serializer&lt;?&gt;&gt; cache = Caches.builder()
+ *         .maximumSize(200)
+ *         .recordStats()
+ *         .build();
+ * </pre>
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ */
+
+public final class CacheBuilder<K, V> {
+
+    static final int UNSET_INT = -1;
+    static final long UNSET_LONG = -1;
+
+    int maximumSize = UNSET_INT;
+    long maximumWeight = UNSET_LONG;
+    Weigher<? super K, ? super V> weigher;
+    long expireAfterWriteMillis = UNSET_LONG;
+    Expiry<? super K, ? super V> expiry;
+    long refreshAfterWriteMillis = UNSET_LONG;
+    boolean frequencyBiased;
+    boolean recordStats;
+    boolean weakKeys;
+    String name;
+    Ticker ticker;
+    ReferenceCache.Strength valueStrength = ReferenceCache.Strength.STRONG;
+
+    CacheBuilder() { }
+
+    /**
+     * Registers the cache under the given name, see {@link Caches#register(Cache, String)}.
+     *
+     * @param name the name of the cache
+     *
+     * @return this builder for chaining
+     */
+    public CacheBuilder<K, V> name(@NotNull String name) {
+        this.name = Args.notNullOrEmpty(name, "name");
+        return this;
+    }
+
+    /**
+     * Bounds the cache to the given number of entries.
+     *
+     * @param maximumSize the maximum number of entries
+     *
+     * @return this builder for chaining
+     */
+    public CacheBuilder<K, V> maximumSize(int maximumSize) {
+        Args.require(this.maximumSize == UNSET_INT, "maximumSize was already set to %s", this.maximumSize);
+        Args.require(this.maximumWeight == UNSET_LONG, "maximumSize cannot be combined with maximumWeight");
+        this.maximumSize = Args.positive(maximumSize, "maximumSize");
+        return this;
+    }
+
+    /**
+     * Bounds the cache to the given total weight of its entries, as calculated by the
+     * {@link #weigher(Weigher)}. Entries are evicted according to the cache's policy until
+     * the total weight is within the bound again.
+     *
+     * @param maximumWeight the maximum total weight
+     *
+     * @return this builder for chaining
+     */
+    public CacheBuilder<K, V> maximumWeight(long maximumWeight) {
+        Args.require(this.maximumWeight == UNSET_LONG, "maximumWeight was already set to %s", this.maximumWeight);
+        Args.require(this.maximumSize == UNSET_INT, "maximumWeight cannot be combined with maximumSize");
+        this.maximumWeight = Args.positive(maximumWeight, "maximumWeight");
+        return this;
+    }
+
+    /**
+     * Sets the weigher used with {@link #maximumWeight(long)}. The weight of an entry is
+     * calculated once when it is added or replaced.
+     *
+     * @param weigher the weigher
+     * @param <K1>    the key type of the weigher
+     * @param <V1>    the value type of the weigher
+     *
+     * @return this builder for chaining
+     */
+    @SuppressWarnings("unchecked")
+    public <K1 extends K, V1 extends V> CacheBuilder<K1, V1> weigher(@NotNull Weigher<? super K1, ? super V1> weigher) {
+        Args.require(this.weigher == null, "weigher was already set to %s", this.weigher);
+        CacheBuilder<K1, V1> self = (CacheBuilder<K1, V1>) this;
+        self.weigher = weigher;
+        return self;
+    }
+
+    /**
+     * Evicts size bounded caches with the Window TinyLFU policy instead of LRU,
+     * see {@link TinyLfuCache}.
+     *
+     * @return this builder for chaining
+     */
+    public CacheBuilder<K, V> frequencyBiased() {
+        this.frequencyBiased = true;
+        return this;
+    }
+
+    /**
+     * Expires entries once the given duration has passed since they were written.
+     *
+     * @param duration the time to live
+     * @param unit     the unit of the duration
+     *
+     * @return this builder for chaining
+     */
+    public CacheBuilder<K, V> expireAfterWrite(long duration, @NotNull TimeUnit unit) {
+        Args.require(this.expireAfterWriteMillis == UNSET_LONG, "expireAfterWrite was already set to %s ms", this.expireAfterWriteMillis);
+        Args.require(this.expiry == null, "expireAfterWrite cannot be combined with expireAfter");
+        this.expireAfterWriteMillis = Args.notNegative(unit.toMillis(duration), "duration");
+        return this;
+    }
+
+    /**
+     * Expires entries once the given duration has passed since they were written.
+     *
+     * @param duration the time to live
+     *
+     * @return this builder for chaining
+     */
+    public CacheBuilder<K, V> expireAfterWrite(@NotNull Duration duration) {
+        return expireAfterWrite(duration.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Expires each entry after the time to live calculated by the given policy when the entry
+     * is created, updated or read. Cannot be combined with {@link #expireAfterWrite}.
+     *
+     * @param expiry the expiration policy
+     * @param <K1>   the key type of the policy
+     * @param <V1>   the value type of the policy
+     *
+     * @return this builder for chaining
+     */
+    @SuppressWarnings("unchecked")
+    public <K1 extends K, V1 extends V> CacheBuilder<K1, V1> expireAfter(@NotNull Expiry<? super K1, ? super V1> expiry) {
+        Args.require(this.expiry == null, "expireAfter was already set to %s", this.expiry);
+        Args.require(this.expireAfterWriteMillis == UNSET_LONG, "expireAfter cannot be combined with expireAfterWrite");
+        CacheBuilder<K1, V1> self = (CacheBuilder<K1, V1>) this;
+        self.expiry = expiry;
+        return self;
+    }
+
+    /**
+     * Refreshes entries of a {@link LoadingCache} in the background once the given duration
+     * has passed since they were written, see {@link TimedLoadingCache}. If not set, entries
+     * are refreshed after 80% of {@link #expireAfterWrite(long, TimeUnit)}.
+     *
+     * @param duration the time after which entries are reloaded
+     * @param unit     the unit of the duration
+     *
+     * @return this builder for chaining
+     */
+    public CacheBuilder<K, V> refreshAfterWrite(long duration, @NotNull TimeUnit unit) {
+        Args.require(this.refreshAfterWriteMillis == UNSET_LONG, "refreshAfterWrite was already set to %s ms", this.refreshAfterWriteMillis);
+        this.refreshAfterWriteMillis = Args.positive(unit.toMillis(duration), "duration");
+        return this;
+    }
+
+    /**
+     * Refreshes entries of a {@link LoadingCache} in the background once the given duration
+     * has passed since they were written.
+     *
+     * @param duration the time after which entries are reloaded
+     *
+     * @return this builder for chaining
+     */
+    public CacheBuilder<K, V> refreshAfterWrite(@NotNull Duration duration) {
+        return refreshAfterWrite(duration.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Holds the keys weakly and compares them by identity, see {@link ReferenceCache}.
+     * Cannot be combined with bounds or expiration.
+     *
+     * @return this builder for chaining
+     */
+    public CacheBuilder<K, V> weakKeys() {
+        this.weakKeys = true;
+        return this;
+    }
+
+    /**
+     * Holds the values weakly, so they are collected as soon as nothing else references them.
+     * Cannot be combined with bounds or expiration.
+     *
+     * @return this builder for chaining
+     */
+    public CacheBuilder<K, V> weakValues() {
+        Args.require(this.valueStrength == ReferenceCache.Strength.STRONG, "value strength was already set to %s", this.valueStrength);
+        this.valueStrength = ReferenceCache.Strength.WEAK;
+        return this;
+    }
+
+    /**
+     * Holds the values softly, so they are only collected when the heap runs low or they were
+     * not used for a while. Cannot be combined with bounds or expiration.
+     *
+     * @return this builder for chaining
+     */
+    public CacheBuilder<K, V> softValues() {
+        Args.require(this.valueStrength == ReferenceCache.Strength.STRONG, "value strength was already set to %s", this.valueStrength);
+        this.valueStrength = ReferenceCache.Strength.SOFT;
+        return this;
+    }
+
+    /**
+     * Sets the time source used to expire entries, {@link Ticker#system()} by default.
+     *
+     * @param ticker the time source
+     *
+     * @return this builder for chaining
+     */
+    public CacheBuilder<K, V> ticker(@NotNull Ticker ticker) {
+        Args.require(this.ticker == null, "ticker was already set to %s", this.ticker);
+        this.ticker = ticker;
+        return this;
+    }
+
+    /**
+     * Enables recording of {@link CacheStats}. Without it {@link Cache#stats()} stays empty
+     * and recording costs nothing.
+     *
+     * @return this builder for chaining
+     */
+    public CacheBuilder<K, V> recordStats() {
+        this.recordStats = true;
+        return this;
+    }
+
+    /**
+     * Builds a cache with the configured features.
+     *
+     * @param <K1> the key type of the cache
+     * @param <V1> the value type of the cache
+     *
+     * @return the new cache
+     */
+    @SuppressWarnings("unchecked")
+    public <K1 extends K, V1 extends V> Cache<K1, V1> build() {
+        CacheBuilder<K1, V1> self = (CacheBuilder<K1, V1>) this;
+
+        validate();
+        Args.require(this.refreshAfterWriteMillis == UNSET_LONG, "refreshAfterWrite requires a loader");
+
+        Cache<K1, V1> cache;
+        if (this.weakKeys || this.valueStrength != ReferenceCache.Strength.STRONG) {
+            Args.require(!isBounded() && !expires(), "Reference based caches cannot be bounded or expire");
+            cache = new ReferenceCache<>(self);
+        } else if (expires()) {
+            cache = new TimedCache<>(self);
+        } else if (isBounded()) {
+            cache = this.frequencyBiased ? new TinyLfuCache<>(self) : new ConcurrentLRUCache<>(self);
+        } else {
+            cache = new NormalCache<>(self);
+        }
+        return register(cache);
+    }
+
+    /**
+     * Builds a cache that loads missing values with the given loader and refreshes entries
+     * ahead of their expiration, see {@link TimedLoadingCache}.
+     *
+     * @param loader the function loading the value of a key
+     * @param <K1>   the key type of the cache
+     * @param <V1>   the value type of the cache
+     *
+     * @return the new cache
+     */
+    @SuppressWarnings("unchecked")
+    public <K1 extends K, V1 extends V> LoadingCache<K1, V1> build(@NotNull Function<? super K1, ? extends V1> loader) {
+        CacheBuilder<K1, V1> self = (CacheBuilder<K1, V1>) this;
+
+        validate();
+        Args.require(this.refreshAfterWriteMillis == UNSET_LONG || this.expireAfterWriteMillis == UNSET_LONG
+                || this.refreshAfterWriteMillis < this.expireAfterWriteMillis, "refreshAfterWrite must be shorter than expireAfterWrite");
+        Args.require(!this.weakKeys && this.valueStrength == ReferenceCache.Strength.STRONG, "Loading caches cannot hold references");
+
+        return register(new TimedLoadingCache<>(self, loader));
+    }
+
+    /**
+     * Registers a cache once it is fully constructed, so {@link Caches#clearAll()} and
+     * {@link Caches#trimAll(double)} never reach a cache whose subclass fields are still unset.
+     */
+    private <C extends Cache<?, ?>> C register(@NotNull C cache) {
+        Caches.register(cache, this.name);
+        return cache;
+    }
+
+    private void validate() {
+        Args.require((this.weigher == null) == (this.maximumWeight == UNSET_LONG), "maximumWeight requires a weigher and vice versa");
+    }
+
+    boolean expires() {
+        return this.expireAfterWriteMillis != UNSET_LONG || this.expiry != null;
+    }
+
+    boolean isBounded() {
+        return this.maximumSize != UNSET_INT || this.maximumWeight != UNSET_LONG;
+    }
+
+    long maximum() {
+        return this.maximumWeight != UNSET_LONG ? this.maximumWeight : this.maximumSize;
+    }
+
+    @SuppressWarnings("unchecked")
+    Weigher<K, V> weigher() {
+        return this.weigher != null ? (Weigher<K, V>) this.weigher : Weigher.singleton();
+    }
+
+    @SuppressWarnings("unchecked")
+    Expiry<K, V> expiry() {
+        if (this.expiry != null) {
+            return (Expiry<K, V>) this.expiry;
+        }
+        long ttl = this.expireAfterWriteMillis != UNSET_LONG ? this.expireAfterWriteMillis : Long.MAX_VALUE;
+        return Expiry.afterWrite(ttl, TimeUnit.MILLISECONDS);
+    }
+
+    long refreshAfterWriteMillis() {
+        if (this.refreshAfterWriteMillis != UNSET_LONG) {
+            return this.refreshAfterWriteMillis;
+        }
+        return this.expireAfterWriteMillis != UNSET_LONG ? this.expireAfterWriteMillis / 5 * 4 : Long.MAX_VALUE;
+    }
+
+    Ticker ticker() {
+        return this.ticker != null ? this.ticker : Ticker.system();
+    }
+
+    StatsCounter statsCounter() {
+        return this.recordStats ? StatsCounter.concurrent() : StatsCounter.disabled();
+    }
+
+}
@@ -0,0 +1,101 @@
+package dev.spoocy.utils.common.cache;
+
+import dev.spoocy.utils.common.exceptions.WrappedException;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Converts cache keys or values to bytes and back, used by {@link CacheSnapshot}.
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ */
+
+public interface CacheCodec<T> {
+
+    /**
+     * @return a codec storing strings as UTF-8
+     */
+    static CacheCodec<String> string() {
+        return of(value -> value.getBytes(StandardCharsets.UTF_8), bytes -> new String(bytes, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return a codec storing byte arrays as they are
+     */
+    static CacheCodec<byte[]> bytes() {
+        return of(value -> value, bytes -> bytes);
+    }
+
+    /**
+     * @return a codec storing a uuid in 16 bytes
+     */
+    static CacheCodec<UUID> uuid() {
+        return of(
+                value -> ByteBuffer.allocate(16)
+                        .putLong(value.getMostSignificantBits())
+                        .putLong(value.getLeastSignificantBits())
+                        .array(),
+                bytes -> {
+                    ByteBuffer buffer = ByteBuffer.wrap(bytes);
+                    return new UUID(buffer.getLong(), buffer.getLong());
+                }
+        );
+    }
+
+    /**
+     * @return a codec using Java serialization
+     */
+    @SuppressWarnings("unchecked")
+    static <T extends Serializable> CacheCodec<T> serializable() {
+        return of(
+                value -> {
+                    try (ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                         ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+                        out.writeObject(value);
+                        out.flush();
+                        return bytes.toByteArray();
+                    } catch (IOException e) {
+                        throw WrappedException.wrap(e);
+                    }
+                },
+                bytes -> {
+                    try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+                        return (T) in.readObject();
+                    } catch (IOException | ClassNotFoundException e) {
+                        throw WrappedException.wrap(e);
+                    }
+                }
+        );
+    }
+
+    static <T> CacheCodec<T> of(@NotNull Function<T, byte[]> encoder, @NotNull Function<byte[], T> decoder) {
+        return new CacheCodec<T>() {
+            @Override
+            public @NotNull byte[] encode(@NotNull T value) {
+                return encoder.apply(value);
+            }
+
+            @Override
+            public @NotNull T decode(@NotNull byte[] bytes) {
+                return decoder.apply(bytes);
+            }
+        };
+    }
+
+    @NotNull
+    byte[] encode(@NotNull T value);
+
+    @NotNull
+    T decode(@NotNull byte[] bytes);
+
+}
@@ -0,0 +1,75 @@
+package dev.spoocy.utils.common.cache;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A snapshot describing a cache registered with {@link Caches}, see {@link Caches#caches()}.
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ */
+
+public final class CacheInfo {
+
+    private final String name;
+    private final String type;
+    private final int size;
+    private final long estimatedMemory;
+    private final CacheStats stats;
+
+    CacheInfo(@Nullable String name, @NotNull String type, int size, long estimatedMemory, @NotNull CacheStats stats) {
+        this.name = name;
+        this.type = type;
+        this.size = size;
+        this.estimatedMemory = estimatedMemory;
+        this.stats = stats;
+    }
+
+    /**
+     * @return the name the cache was registered with, or {@code null} if unnamed
+     */
+    @Nullable
+    public String name() {
+        return this.name;
+    }
+
+    /**
+     * @return the simple class name of the cache implementation
+     */
+    @NotNull
+    public String type() {
+        return this.type;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns a rough estimate of the memory held by the entries of the cache. For heap caches
+     * it covers the per-entry bookkeeping but not the keys and values themselves, for an
+     * {@link OffHeapCache} it is the number of bytes stored off-heap.
+     *
+     * @return the estimated memory in bytes
+     */
+    public long estimatedMemory() {
+        return this.estimatedMemory;
+    }
+
+    @NotNull
+    public CacheStats stats() {
+        return this.stats;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheInfo{" +
+                "name=" + name +
+                ", type=" + type +
+                ", size=" + size +
+                ", estimatedMemory=" + estimatedMemory +
+                ", stats=" + stats +
+                "}";
+    }
+
+}
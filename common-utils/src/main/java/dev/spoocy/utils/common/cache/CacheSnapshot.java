@@ -0,0 +1,389 @@
+package dev.spoocy.utils.common.cache;
+
+import dev.spoocy.utils.common.scheduler.Scheduler;
+import dev.spoocy.utils.common.scheduler.task.Task;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+
+/**
+ * Writes the entries of a {@link Cache} to a file and restores them after a restart, so the
+ * cache does not start cold.
+ * <p>
+ * The snapshot is a compact binary file streamed through a {@link FileChannel} with a small
+ * buffer, so large caches are never held in memory twice. Every record holds the write and the
+ * expiration time of its entry. Entries of a {@link TimedCache} keep their remaining time to
+ * live when restored, entries that expired in the meantime are skipped.
+ * <p>
+ * Caches that allow {@code null} values keep them, a {@code null} value is written without
+ * calling the value codec and restored as {@code null}. Unlike other values, a {@code null}
+ * value is restored by checking for the key first, so it may replace an entry written at the
+ * same time.
+ * <p>
+ * Restoring never overwrites entries added after the cache was created, so a cache may be used
+ * while it is restored in the background with {@link #restoreAsync}.
+ *
+ * <pre>
+ * CacheSnapshot.write(cache, path, CacheCodec.uuid(), CacheCodec.string());
+ * ...
+ * CacheSnapshot.restoreAsync(cache, path, CacheCodec.uuid(), CacheCodec.string());
+ * </pre>
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ */
+
+public final class CacheSnapshot {
+
+    private static final int MAGIC = 0x53504353;
+    private static final short VERSION = 1;
+
+    private static final byte RECORD = 1;
+    private static final byte END = 0;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final long NO_EXPIRY = Long.MAX_VALUE;
+
+    /**
+     * The length written instead of the value bytes for a {@code null} value.
+     */
+    private static final int NULL_VALUE = -1;
+
+    private CacheSnapshot() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Writes all entries of the cache to the file, replacing it. The snapshot is written to a
+     * temporary file first and moved into place once complete.
+     *
+     * @param cache      the cache to write
+     * @param file       the snapshot file
+     * @param keyCodec   the codec of the keys
+     * @param valueCodec the codec of the values
+     *
+     * @return the number of written entries
+     */
+    public static <K, V> int write(@NotNull Cache<K, V> cache,
+                                   @NotNull Path file,
+                                   @NotNull CacheCodec<K> keyCodec,
+                                   @NotNull CacheCodec<V> valueCodec) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        if (directory != null) {
+            Files.createDirectories(directory);
+        }
+
+        Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            int count;
+            try (Writer writer = new Writer(FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING))) {
+                writer.header();
+                count = writeEntries(cache, writer, keyCodec, valueCodec);
+                writer.end(count);
+            }
+
+            try {
+                Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return count;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Adds the entries of the snapshot file to the cache. Keys that are already present and
+     * entries that expired are skipped. A missing file restores nothing.
+     *
+     * @param cache      the cache to restore into
+     * @param file       the snapshot file
+     * @param keyCodec   the codec of the keys
+     * @param valueCodec the codec of the values
+     *
+     * @return the number of restored entries
+     *
+     * @throws StreamCorruptedException if the file is not a complete snapshot
+     */
+    public static <K, V> int restore(@NotNull Cache<K, V> cache,
+                                     @NotNull Path file,
+                                     @NotNull CacheCodec<K> keyCodec,
+                                     @NotNull CacheCodec<V> valueCodec) throws IOException {
+        if (!Files.exists(file)) {
+            return 0;
+        }
+
+        try (Reader reader = new Reader(FileChannel.open(file, StandardOpenOption.READ))) {
+            reader.header();
+
+            int read = 0;
+            int restored = 0;
+            while (reader.next()) {
+                long writeTime = reader.getLong();
+                long expiresAt = reader.getLong();
+                K key = keyCodec.decode(reader.getBytes());
+                byte[] valueBytes = reader.getNullableBytes();
+                V value = valueBytes != null ? valueCodec.decode(valueBytes) : null;
+                read++;
+
+                if (restore(cache, key, value, writeTime, expiresAt)) {
+                    restored++;
+                }
+            }
+
+            if (reader.getInt() != read) {
+                throw new StreamCorruptedException("Cache snapshot " + file + " has a wrong entry count");
+            }
+            return restored;
+        }
+    }
+
+    /**
+     * Restores the snapshot file on a background thread, see {@link #restore}. The cache can
+     * be used in the meantime.
+     *
+     * @return a task that completes with the number of restored entries
+     */
+    public static <K, V> Task<Integer> restoreAsync(@NotNull Cache<K, V> cache,
+                                                    @NotNull Path file,
+                                                    @NotNull CacheCodec<K> keyCodec,
+                                                    @NotNull CacheCodec<V> valueCodec) {
+        return Scheduler.runAsyncCallable(() -> restore(cache, file, keyCodec, valueCodec));
+    }
+
+    private static <K, V> int writeEntries(Cache<K, V> cache, Writer writer, CacheCodec<K> keyCodec, CacheCodec<V> valueCodec) throws IOException {
+        if (cache instanceof TimedCache) {
+            int[] count = new int[1];
+            IOException[] failure = new IOException[1];
+            ((TimedCache<K, V>) cache).forEachNode(node -> {
+                if (failure[0] != null) {
+                    return;
+                }
+                try {
+                    writer.record(node.writeTime, node.expiresAt, keyCodec.encode(node.key), encode(valueCodec, node.value));
+                    count[0]++;
+                } catch (IOException e) {
+                    failure[0] = e;
+                }
+            });
+
+            if (failure[0] != null) {
+                throw failure[0];
+            }
+            return count[0];
+        }
+
+        int count = 0;
+        long now = Ticker.system().read();
+        for (Map.Entry<K, V> entry : cache) {
+            writer.record(now, NO_EXPIRY, keyCodec.encode(entry.getKey()), encode(valueCodec, entry.getValue()));
+            count++;
+        }
+        return count;
+    }
+
+    private static <V> byte[] encode(CacheCodec<V> codec, V value) throws IOException {
+        return value != null ? codec.encode(value) : null;
+    }
+
+    private static <K, V> boolean restore(Cache<K, V> cache, K key, V value, long writeTime, long expiresAt) {
+        if (cache instanceof TimedCache) {
+            return ((TimedCache<K, V>) cache).restore(key, value, writeTime, expiresAt);
+        }
+
+        if (expiresAt <= Ticker.system().read()) {
+            return false;
+        }
+
+        if (value == null) {
+            // computeIfAbsent cannot store null, a racing write of the key may be replaced by it
+            if (cache.contains(key)) {
+                return false;
+            }
+            cache.add(key, null);
+            return true;
+        }
+
+        // atomic, so an entry written while restoring is never replaced by the older snapshot value
+        boolean[] restored = new boolean[1];
+        cache.computeIfAbsent(key, k -> {
+            restored[0] = true;
+            return value;
+        });
+        return restored[0];
+    }
+
+    private static final class Writer implements AutoCloseable {
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+        private Writer(@NotNull FileChannel channel) {
+            this.channel = channel;
+        }
+
+        void header() throws IOException {
+            this.buffer.putInt(MAGIC).putShort(VERSION);
+        }
+
+        void record(long writeTime, long expiresAt, byte[] key, @Nullable byte[] value) throws IOException {
+            ensure(Byte.BYTES + 2 * Long.BYTES + Integer.BYTES);
+            this.buffer.put(RECORD).putLong(writeTime).putLong(expiresAt).putInt(key.length);
+            put(key);
+            ensure(Integer.BYTES);
+            if (value == null) {
+                this.buffer.putInt(NULL_VALUE);
+                return;
+            }
+            this.buffer.putInt(value.length);
+            put(value);
+        }
+
+        void end(int count) throws IOException {
+            ensure(Byte.BYTES + Integer.BYTES);
+            this.buffer.put(END).putInt(count);
+            flush();
+            this.channel.force(false);
+        }
+
+        private void put(byte[] bytes) throws IOException {
+            int offset = 0;
+            while (offset < bytes.length) {
+                if (!this.buffer.hasRemaining()) {
+                    flush();
+                }
+                int length = Math.min(this.buffer.remaining(), bytes.length - offset);
+                this.buffer.put(bytes, offset, length);
+                offset += length;
+            }
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (this.buffer.remaining() < bytes) {
+                flush();
+            }
+        }
+
+        private void flush() throws IOException {
+            this.buffer.flip();
+            while (this.buffer.hasRemaining()) {
+                this.channel.write(this.buffer);
+            }
+            this.buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.channel.close();
+        }
+
+    }
+
+    private static final class Reader implements AutoCloseable {
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+        private Reader(@NotNull FileChannel channel) {
+            this.channel = channel;
+            this.buffer.flip();
+        }
+
+        void header() throws IOException {
+            require(Integer.BYTES + Short.BYTES);
+            if (this.buffer.getInt() != MAGIC) {
+                throw new StreamCorruptedException("Not a cache snapshot");
+            }
+
+            short version = this.buffer.getShort();
+            if (version != VERSION) {
+                throw new StreamCorruptedException("Unsupported cache snapshot version " + version);
+            }
+        }
+
+        /**
+         * @return whether another record follows, {@code false} at the end marker
+         */
+        boolean next() throws IOException {
+            require(Byte.BYTES);
+            byte marker = this.buffer.get();
+            if (marker != RECORD && marker != END) {
+                throw new StreamCorruptedException("Unexpected cache snapshot marker " + marker);
+            }
+            return marker == RECORD;
+        }
+
+        int getInt() throws IOException {
+            require(Integer.BYTES);
+            return this.buffer.getInt();
+        }
+
+        long getLong() throws IOException {
+            require(Long.BYTES);
+            return this.buffer.getLong();
+        }
+
+        byte[] getBytes() throws IOException {
+            return getBytes(getInt());
+        }
+
+        /**
+         * @return the bytes, or {@code null} for a {@code null} value
+         */
+        @Nullable
+        byte[] getNullableBytes() throws IOException {
+            int length = getInt();
+            return length == NULL_VALUE ? null : getBytes(length);
+        }
+
+        private byte[] getBytes(int length) throws IOException {
+            if (length < 0 || length > this.channel.size()) {
+                throw new StreamCorruptedException("Invalid cache snapshot entry length " + length);
+            }
+
+            byte[] bytes = new byte[length];
+            int offset = 0;
+            while (offset < length) {
+                if (!this.buffer.hasRemaining()) {
+                    require(1);
+                }
+                int chunk = Math.min(this.buffer.remaining(), length - offset);
+                this.buffer.get(bytes, offset, chunk);
+                offset += chunk;
+            }
+            return bytes;
+        }
+
+        private void require(int bytes) throws IOException {
+            if (this.buffer.remaining() >= bytes) {
+                return;
+            }
+
+            this.buffer.compact();
+            while (this.buffer.position() < bytes) {
+                if (this.channel.read(this.buffer) < 0) {
+                    throw new EOFException("Cache snapshot is truncated");
+                }
+            }
+            this.buffer.flip();
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.channel.close();
+        }
+
+    }
+
+}
@@ -0,0 +1,190 @@
+package dev.spoocy.utils.common.cache;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * An immutable snapshot of the statistics of a {@link Cache}.
+ * <p>
+ * Caches only record statistics if enabled through {@link CacheBuilder#recordStats()},
+ * otherwise {@link Cache#stats()} returns {@link #empty()}.
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ */
+
+public final class CacheStats {
+
+    private static final CacheStats EMPTY = new CacheStats(0, 0, 0, 0, 0, new long[RemovalCause.values().length], 0);
+
+    public static CacheStats empty() {
+        return EMPTY;
+    }
+
+    private final long hitCount;
+    private final long missCount;
+    private final long loadSuccessCount;
+    private final long loadFailureCount;
+    private final long totalLoadTime;
+    private final long[] evictionCounts;
+    private final long estimatedWeight;
+
+    CacheStats(long hitCount, long missCount,
+               long loadSuccessCount, long loadFailureCount, long totalLoadTime,
+               @NotNull long[] evictionCounts, long estimatedWeight) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.loadSuccessCount = loadSuccessCount;
+        this.loadFailureCount = loadFailureCount;
+        this.totalLoadTime = totalLoadTime;
+        this.evictionCounts = evictionCounts;
+        this.estimatedWeight = estimatedWeight;
+    }
+
+    public long hitCount() {
+        return this.hitCount;
+    }
+
+    public long missCount() {
+        return this.missCount;
+    }
+
+    /**
+     * @return the number of lookups, hits and misses combined
+     */
+    public long requestCount() {
+        return this.hitCount + this.missCount;
+    }
+
+    /**
+     * @return the ratio of lookups that were hits, or {@code 1.0} if there were no lookups
+     */
+    public double hitRate() {
+        long requests = requestCount();
+        return requests == 0 ? 1.0 : (double) this.hitCount / requests;
+    }
+
+    /**
+     * @return the ratio of lookups that were misses, or {@code 0.0} if there were no lookups
+     */
+    public double missRate() {
+        long requests = requestCount();
+        return requests == 0 ? 0.0 : (double) this.missCount / requests;
+    }
+
+    public long loadSuccessCount() {
+        return this.loadSuccessCount;
+    }
+
+    public long loadFailureCount() {
+        return this.loadFailureCount;
+    }
+
+    /**
+     * @return the total time spent loading values, in nanoseconds
+     */
+    public long totalLoadTime() {
+        return this.totalLoadTime;
+    }
+
+    /**
+     * @return the average time spent loading a value, in nanoseconds
+     */
+    public double averageLoadPenalty() {
+        long loads = this.loadSuccessCount + this.loadFailureCount;
+        return loads == 0 ? 0.0 : (double) this.totalLoadTime / loads;
+    }
+
+    /**
+     * @return the number of entries that were evicted automatically, for any cause
+     */
+    public long evictionCount() {
+        long count = 0;
+        for (RemovalCause cause : RemovalCause.values()) {
+            if (cause.wasEvicted()) {
+                count += this.evictionCounts[cause.ordinal()];
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @param cause the removal cause
+     *
+     * @return the number of entries that were removed for the given cause
+     */
+    public long evictionCount(@NotNull RemovalCause cause) {
+        return this.evictionCounts[cause.ordinal()];
+    }
+
+    /**
+     * @return the estimated total weight of the entries at the time of the snapshot
+     */
+    public long estimatedWeight() {
+        return this.estimatedWeight;
+    }
+
+    /**
+     * Combines two snapshots, e.g. to aggregate the statistics of several caches.
+     *
+     * @param other the statistics to add
+     *
+     * @return a new snapshot holding the sums of both
+     */
+    public CacheStats plus(@NotNull CacheStats other) {
+        long[] evictions = new long[this.evictionCounts.length];
+        for (int i = 0; i < evictions.length; i++) {
+            evictions[i] = this.evictionCounts[i] + other.evictionCounts[i];
+        }
+
+        return new CacheStats(
+                this.hitCount + other.hitCount,
+                this.missCount + other.missCount,
+                this.loadSuccessCount + other.loadSuccessCount,
+                this.loadFailureCount + other.loadFailureCount,
+                this.totalLoadTime + other.totalLoadTime,
+                evictions,
+                this.estimatedWeight + other.estimatedWeight
+        );
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof CacheStats)) return false;
+        CacheStats that = (CacheStats) o;
+        return hitCount == that.hitCount
+                && missCount == that.missCount
+                && loadSuccessCount == that.loadSuccessCount
+                && loadFailureCount == that.loadFailureCount
+                && totalLoadTime == that.totalLoadTime
+                && estimatedWeight == that.estimatedWeight
+                && Arrays.equals(evictionCounts, that.evictionCounts);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Long.hashCode(hitCount);
+        result = 31 * result + Long.hashCode(missCount);
+        result = 31 * result + Long.hashCode(loadSuccessCount);
+        result = 31 * result + Long.hashCode(loadFailureCount);
+        result = 31 * result + Long.hashCode(totalLoadTime);
+        result = 31 * result + Long.hashCode(estimatedWeight);
+        result = 31 * result + Arrays.hashCode(evictionCounts);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStats{" +
+                "hitCount=" + hitCount +
+                ", missCount=" + missCount +
+                ", loadSuccessCount=" + loadSuccessCount +
+                ", loadFailureCount=" + loadFailureCount +
+                ", totalLoadTime=" + totalLoadTime +
+                ", evictionCount=" + evictionCount() +
+                ", estimatedWeight=" + estimatedWeight +
+                '}';
+    }
+
+}
@@ -1,26 +1,123 @@
 package dev.spoocy.utils.common.cache;
 
+import dev.spoocy.utils.common.misc.Args;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
 
 /**
+ * Factory methods for caches and a registry of all caches that were created.
+ * <p>
+ * The registry holds the caches weakly, so caches that are no longer used are garbage collected
+ * and drop out of it. Caches may be registered with a name, which bulk operations such as
+ * {@link #clearByName(String)} select them by.
+ *
  * @author Spoocy99 | GitHub: Spoocy99
  */
 
 public class Caches {
 
-    private static final Set<Cache<?, ?>> CACHES = ConcurrentHashMap.newKeySet();
+    /**
+     * Rough number of bytes of bookkeeping per entry of a heap cache: the map node, the cache's
+     * own node and the object headers of both.
+     */
+    private static final long ESTIMATED_ENTRY_OVERHEAD = 64;
+
+    private static final Set<Registration> CACHES = ConcurrentHashMap.newKeySet();
+    private static final ReferenceQueue<Cache<?, ?>> COLLECTED = new ReferenceQueue<>();
 
     public static void register(@NotNull Cache<?, ?> cache) {
-        CACHES.add(cache);
+        register(cache, null);
+    }
+
+    /**
+     * Registers a cache under the given name. Names do not need to be unique.
+     *
+     * @param cache the cache to register
+     * @param name  the name of the cache, or {@code null} if unnamed
+     */
+    public static void register(@NotNull Cache<?, ?> cache, @Nullable String name) {
+        expungeCollected();
+        CACHES.add(new Registration(cache, name));
     }
 
     public static void clearAll() {
-        for (Cache<?, ?> cache : CACHES) {
-            cache.clear();
+        forEachCache(null, Cache::clear);
+    }
+
+    /**
+     * Clears all caches whose name matches the given regular expression.
+     *
+     * @param pattern the regular expression the whole name must match
+     *
+     * @return the number of caches that were cleared
+     */
+    public static int clearByName(@NotNull String pattern) {
+        return clearByName(Pattern.compile(pattern));
+    }
+
+    /**
+     * Clears all caches whose name matches the given pattern.
+     *
+     * @param pattern the pattern the whole name must match
+     *
+     * @return the number of caches that were cleared
+     */
+    public static int clearByName(@NotNull Pattern pattern) {
+        return forEachCache(pattern, Cache::clear);
+    }
+
+    /**
+     * Trims every registered cache to the given fraction of its current size, see
+     * {@link Cache#trim(double)}.
+     *
+     * @param fraction the fraction of the entries to keep, between 0 and 1
+     *
+     * @return the total number of entries that were evicted
+     */
+    public static long trimAll(double fraction) {
+        long[] evicted = new long[1];
+        forEachCache(null, cache -> evicted[0] += cache.trim(fraction));
+        return evicted[0];
+    }
+
+    /**
+     * @return a snapshot of every registered cache that was not yet garbage collected
+     */
+    public static List<CacheInfo> caches() {
+        expungeCollected();
+        List<CacheInfo> infos = new ArrayList<>();
+        for (Registration registration : CACHES) {
+            Cache<?, ?> cache = registration.get();
+            if (cache != null) {
+                infos.add(new CacheInfo(registration.name, typeOf(cache), cache.size(), estimateMemory(cache), cache.stats()));
+            }
         }
+        return infos;
+    }
+
+    /**
+     * @return the combined statistics of all registered caches that record statistics
+     */
+    public static CacheStats stats() {
+        CacheStats[] stats = {CacheStats.empty()};
+        forEachCache(null, cache -> stats[0] = stats[0].plus(cache.stats()));
+        return stats[0];
+    }
+
+    public static CacheBuilder<Object, Object> builder() {
+        return new CacheBuilder<>();
     }
 
     public static <K, V> Cache<K, V> createCache() {
@@ -28,13 +125,148 @@ public class Caches {
     }
 
     public static <K, V> Cache<K, V> createLRUCache(int maxSize) {
-        return new LRUCache<>(maxSize);
+        return new ConcurrentLRUCache<>(maxSize);
+    }
+
+    public static <K, V> Cache<K, V> createTinyLfuCache(int maxSize) {
+        return new TinyLfuCache<>(maxSize);
     }
 
     public static <K, V> Cache<K, V> createTimedCache(long durationMillis) {
         return new TimedCache<>(durationMillis);
     }
 
+    /**
+     * @return a cache that holds its keys weakly, comparing them by identity
+     */
+    public static <K, V> Cache<K, V> createWeakKeyCache() {
+        return builder().weakKeys().build();
+    }
+
+    /**
+     * @return a cache that holds its values softly
+     */
+    public static <K, V> Cache<K, V> createSoftValueCache() {
+        return builder().softValues().build();
+    }
+
+    /**
+     * Creates a cache for metadata keyed by {@link Class}, which does not keep the classes or
+     * their class loaders from being unloaded. The keys are held weakly and the values softly,
+     * so values may reference their class.
+     *
+     * @return a new class metadata cache
+     */
+    public static <V> Cache<Class<?>, V> createClassCache() {
+        return builder().weakKeys().softValues().build();
+    }
+
+    /**
+     * @param maxSize the maximum number of entries
+     *
+     * @return a least recently used cache keyed by {@code int} that does not box its keys
+     */
+    public static <V> Int2ObjectCache<V> createIntCache(int maxSize) {
+        return new Int2ObjectCache<>(maxSize);
+    }
+
+    /**
+     * @param maxSize the maximum number of entries
+     *
+     * @return a least recently used cache keyed by {@code long} that does not box its keys
+     */
+    public static <V> Long2ObjectCache<V> createLongCache(int maxSize) {
+        return new Long2ObjectCache<>(maxSize);
+    }
+
+    /**
+     * @param maximumBytes the maximum number of bytes to allocate off-heap
+     *
+     * @return a cache storing byte array values outside of the Java heap
+     */
+    public static <K> OffHeapCache<K> createOffHeapCache(long maximumBytes) {
+        return new OffHeapCache<>(maximumBytes);
+    }
+
+
+    /**
+     * @return the size a cache of the given size must be trimmed to, see {@link Cache#trim(double)}
+     */
+    static long trimTarget(long size, double fraction) {
+        Args.require(fraction >= 0 && fraction <= 1, "fraction must be between 0 and 1, got %s", fraction);
+        return (long) (size * fraction);
+    }
+
+    /**
+     * Adds the values a bulk loader returned to the cache as one batch and copies the values of
+     * the requested keys into the result. Loaded keys that were not requested are cached as well.
+     */
+    static <K, V> void addLoaded(@NotNull Cache<K, V> cache, @NotNull Set<K> requested,
+                                 @NotNull Map<? extends K, ? extends V> loaded, @NotNull Map<K, V> result) {
+        Map<K, V> present = new LinkedHashMap<>();
+        loaded.forEach((key, value) -> {
+            if (key != null && value != null) {
+                present.put(key, value);
+            }
+        });
+
+        cache.addAll(present);
+        for (K key : requested) {
+            V value = present.get(key);
+            if (value != null) {
+                result.put(key, value);
+            }
+        }
+    }
+
+    private static String typeOf(@NotNull Cache<?, ?> cache) {
+        if (cache instanceof PrimitiveKeyTable.View) {
+            return ((PrimitiveKeyTable.View<?>) cache).type();
+        }
+        return cache.getClass().getSimpleName();
+    }
+
+    private static long estimateMemory(@NotNull Cache<?, ?> cache) {
+        if (cache instanceof OffHeapCache) {
+            return ((OffHeapCache<?>) cache).getUsedBytes();
+        }
+        return cache.size() * ESTIMATED_ENTRY_OVERHEAD;
+    }
+
+    private static int forEachCache(@Nullable Pattern pattern, @NotNull Consumer<Cache<?, ?>> action) {
+        expungeCollected();
+        int count = 0;
+        for (Registration registration : CACHES) {
+            Cache<?, ?> cache = registration.get();
+            if (cache != null && registration.matches(pattern)) {
+                action.accept(cache);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static void expungeCollected() {
+        Reference<?> reference;
+        while ((reference = COLLECTED.poll()) != null) {
+            CACHES.remove(reference);
+        }
+    }
+
+    private static final class Registration extends WeakReference<Cache<?, ?>> {
+
+        private final String name;
+
+        Registration(@NotNull Cache<?, ?> cache, @Nullable String name) {
+            super(cache, COLLECTED);
+            this.name = name;
+        }
+
+        boolean matches(@Nullable Pattern pattern) {
+            return pattern == null || (this.name != null && pattern.matcher(this.name).matches());
+        }
+
+    }
 
     private Caches() {
         throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
@@ -0,0 +1,53 @@
+package dev.spoocy.utils.common.cache;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A size bounded cache that evicts the least recently used entry, built for concurrent reads.
+ * <p>
+ * Unlike {@link LRUCache} reads never take a lock, see {@link AbstractBoundedCache} for how
+ * recency is tracked.
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ */
+
+public class ConcurrentLRUCache<K, V> extends AbstractBoundedCache<K, V> {
+
+    private final AccessOrderDeque<K, V> deque = new AccessOrderDeque<>();
+
+    public ConcurrentLRUCache(int capacity) {
+        this(new CacheBuilder<K, V>().maximumSize(capacity));
+        Caches.register(this);
+    }
+
+    ConcurrentLRUCache(@NotNull CacheBuilder<K, V> builder) {
+        super(builder);
+    }
+
+    @Override
+    void onAdd(@NotNull Node<K, V> node) {
+        this.deque.addLast(node);
+    }
+
+    @Override
+    void onAccess(@NotNull Node<K, V> node) {
+        this.deque.moveToLast(node);
+    }
+
+    @Override
+    void onRemove(@NotNull Node<K, V> node) {
+        this.deque.unlink(node);
+    }
+
+    @Override
+    @Nullable Node<K, V> selectVictim() {
+        return this.deque.pollFirst();
+    }
+
+    @Override
+    void onClear() {
+        this.deque.clear();
+    }
+
+}
@@ -0,0 +1,95 @@
+package dev.spoocy.utils.common.cache;
+
+import dev.spoocy.utils.common.misc.Args;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongBiFunction;
+
+/**
+ * Calculates the time to live of each entry of a {@link TimedCache}, e.g. to keep failed
+ * lookups for a shorter time than successful ones.
+ * <p>
+ * Durations are in milliseconds, {@link Long#MAX_VALUE} keeps an entry until it is removed
+ * otherwise. The policy is consulted on every write and read, so it should be cheap.
+ *
+ * <pre>
+ * Cache&lt;UUID, Profile&gt; cache = Caches.builder()
+ *         .expireAfter(Expiry.writing((UUID id, Profile profile) -&gt; profile.isEmpty() ? 30_000 : 3_600_000))
+ *         .build();
+ * </pre>
+ *
+ * @see CacheBuilder#expireAfter(Expiry)
+ * @author Spoocy99 | GitHub: Spoocy99
+ */
+
+public interface Expiry<K, V> {
+
+    /**
+     * Returns a policy that expires entries a fixed duration after they were written.
+     *
+     * @param duration the time to live
+     * @param unit     the unit of the duration
+     *
+     * @return the policy
+     */
+    static <K, V> Expiry<K, V> afterWrite(long duration, @NotNull TimeUnit unit) {
+        long millis = Args.notNegative(unit.toMillis(duration), "duration");
+        return writing((key, value) -> millis);
+    }
+
+    /**
+     * Returns a policy that calculates the time to live from the entry whenever it is written.
+     * Reads do not change the expiration time.
+     *
+     * @param duration the function calculating the time to live in milliseconds
+     *
+     * @return the policy
+     */
+    static <K, V> Expiry<K, V> writing(@NotNull ToLongBiFunction<? super K, ? super V> duration) {
+        return (key, value, currentTime) -> duration.applyAsLong(key, value);
+    }
+
+    /**
+     * Returns the time to live of a new entry.
+     *
+     * @param key         the key of the entry
+     * @param value       the value of the entry
+     * @param currentTime the current time in milliseconds
+     *
+     * @return the time to live in milliseconds
+     */
+    long expireAfterCreate(@NotNull K key, @Nullable V value, long currentTime);
+
+    /**
+     * Returns the time to live of an entry whose value was replaced. By default the entry is
+     * treated as newly created.
+     *
+     * @param key             the key of the entry
+     * @param value           the new value of the entry
+     * @param currentTime     the current time in milliseconds
+     * @param currentDuration the remaining time to live of the replaced value
+     *
+     * @return the time to live in milliseconds
+     */
+    default long expireAfterUpdate(@NotNull K key, @Nullable V value, long currentTime, long currentDuration) {
+        return expireAfterCreate(key, value, currentTime);
+    }
+
+    /**
+     * Returns the time to live of an entry after it was read. By default the expiration time
+     * is not changed.
+     *
+     * @param key             the key of the entry
+     * @param value           the value of the entry
+     * @param currentTime     the current time in milliseconds
+     * @param currentDuration the remaining time to live
+     *
+     * @return the time to live in milliseconds
+     */
+    default long expireAfterRead(@NotNull K key, @Nullable V value, long currentTime, long currentDuration) {
+        return currentDuration;
+    }
+
+}
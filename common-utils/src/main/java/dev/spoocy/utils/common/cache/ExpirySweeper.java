@@ -0,0 +1,72 @@
+package dev.spoocy.utils.common.cache;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.ref.WeakReference;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shared low priority daemon thread that periodically expires the entries of all
+ * {@link TimedCache}s, so that entries which are never touched again still get released.
+ * Caches are held weakly and dropped once they are garbage collected.
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ */
+
+final class ExpirySweeper {
+
+    private static final long INTERVAL_MILLIS = 1000;
+    private static final Queue<WeakReference<TimedCache<?, ?>>> CACHES = new ConcurrentLinkedQueue<>();
+
+    private static volatile ScheduledExecutorService executor;
+
+    static void register(@NotNull TimedCache<?, ?> cache) {
+        CACHES.add(new WeakReference<>(cache));
+        ensureStarted();
+    }
+
+    private static void ensureStarted() {
+        if (executor != null) {
+            return;
+        }
+
+        synchronized (ExpirySweeper.class) {
+            if (executor != null) {
+                return;
+            }
+
+            executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "Cache-Expiry-Sweeper");
+                thread.setDaemon(true);
+                thread.setPriority(Thread.MIN_PRIORITY);
+                return thread;
+            });
+            executor.scheduleWithFixedDelay(ExpirySweeper::sweep, INTERVAL_MILLIS, INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private static void sweep() {
+        CACHES.removeIf(reference -> {
+            TimedCache<?, ?> cache = reference.get();
+            if (cache == null) {
+                return true;
+            }
+
+            try {
+                cache.cleanUp();
+            } catch (RuntimeException ignored) {
+                // a failing cache must not stop the sweeper for all others
+            }
+            return false;
+        });
+    }
+
+    private ExpirySweeper() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+}
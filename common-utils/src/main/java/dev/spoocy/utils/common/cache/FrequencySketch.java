@@ -0,0 +1,124 @@
+package dev.spoocy.utils.common.cache;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A count-min sketch with 4-bit counters that estimates how often a key was seen recently.
+ * <p>
+ * Each key maps to four counters in a table of longs (16 counters per long), the estimate
+ * is the smallest of them. Once the number of recorded events reaches ten times the cache
+ * capacity all counters are halved, so that the history ages and stale popularity fades out.
+ * Not thread safe, callers guard it with the eviction lock.
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ */
+
+class FrequencySketch {
+
+    private static final long[] SEEDS = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+    };
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final int MAX_COUNT = 15;
+    private static final int MAXIMUM_LENGTH = 1 << 30;
+
+    private long[] table;
+    private int tableMask;
+    private int sampleSize;
+    private int additions;
+
+    FrequencySketch(int capacity) {
+        ensureCapacity(capacity);
+    }
+
+    /**
+     * Grows the sketch to track the given number of entries. The table only grows by powers
+     * of two, so every counter of the old table is copied to the slots of the new table that
+     * its keys now map to, and the recorded history is kept. The table is capped at
+     * 2<sup>30</sup> longs, larger capacities share counters.
+     *
+     * @param capacity the expected number of entries
+     */
+    void ensureCapacity(int capacity) {
+        int length = ceilingPowerOfTwo(Math.min(Math.max(capacity, 16), MAXIMUM_LENGTH));
+        if (this.table != null && length <= this.table.length) {
+            return;
+        }
+
+        long[] table = new long[length];
+        if (this.table != null) {
+            // an index of the new table masked by the old mask is the key's index in the old table
+            for (int i = 0; i < length; i += this.table.length) {
+                System.arraycopy(this.table, 0, table, i, this.table.length);
+            }
+        }
+
+        this.table = table;
+        this.tableMask = length - 1;
+        this.sampleSize = (int) Math.min(10L * capacity, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param key the key to estimate
+     *
+     * @return the estimated number of occurrences of the key, at most 15
+     */
+    int frequency(@NotNull Object key) {
+        int hash = spread(key.hashCode());
+        int frequency = MAX_COUNT;
+        for (int i = 0; i < 4; i++) {
+            long h = indexHash(hash, i);
+            int index = (int) h & this.tableMask;
+            int offset = (int) (h >>> 58) & 0x3C;
+            frequency = Math.min(frequency, (int) ((this.table[index] >>> offset) & 0xF));
+        }
+        return frequency;
+    }
+
+    /**
+     * Records an occurrence of the key, aging the sketch if the sample period has elapsed.
+     *
+     * @param key the key that was seen
+     */
+    void increment(@NotNull Object key) {
+        int hash = spread(key.hashCode());
+        boolean added = false;
+        for (int i = 0; i < 4; i++) {
+            long h = indexHash(hash, i);
+            int index = (int) h & this.tableMask;
+            int offset = (int) (h >>> 58) & 0x3C;
+            long mask = 0xFL << offset;
+            if ((this.table[index] & mask) != mask) {
+                this.table[index] += 1L << offset;
+                added = true;
+            }
+        }
+
+        if (added && ++this.additions >= this.sampleSize) {
+            reset();
+        }
+    }
+
+    private void reset() {
+        for (int i = 0; i < this.table.length; i++) {
+            this.table[i] = (this.table[i] >>> 1) & RESET_MASK;
+        }
+        this.additions >>>= 1;
+    }
+
+    private static long indexHash(int hash, int i) {
+        long h = (hash + SEEDS[i]) * SEEDS[i];
+        return h ^ (h >>> 29);
+    }
+
+    private static int spread(int x) {
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        return (x >>> 16) ^ x;
+    }
+
+    private static int ceilingPowerOfTwo(int value) {
+        return 1 << -Integer.numberOfLeadingZeros(value - 1);
+    }
+
+}
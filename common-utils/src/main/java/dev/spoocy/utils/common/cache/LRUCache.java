@@ -1,5 +1,6 @@
 package dev.spoocy.utils.common.cache;
 
+import dev.spoocy.utils.common.misc.Args;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -14,19 +15,35 @@ public class LRUCache<K, V> implements Cache<K, V> {
 
     private final int capacity;
     private final Map<K, V> map;
+    private final StatsCounter stats;
 
     public LRUCache(int capacity) {
-        this.capacity = capacity;
+        this(new CacheBuilder<>().maximumSize(capacity));
+    }
 
-        this.map = Collections.synchronizedMap(new LinkedHashMap<>(capacity, 0.75f, true) {
+    /**
+     * Creates a cache configured by the builder. Only the {@link CacheBuilder#maximumSize(int) maximum size},
+     * {@link CacheBuilder#recordStats() statistics} and {@link CacheBuilder#name(String) name} apply.
+     *
+     * @throws IllegalArgumentException if the builder has no maximum size
+     */
+    public LRUCache(@NotNull CacheBuilder<?, ?> builder) {
+        Args.require(builder.maximumSize != CacheBuilder.UNSET_INT, "LRUCache requires a maximumSize");
+        this.capacity = builder.maximumSize;
+        this.stats = builder.statsCounter();
+
+        this.map = Collections.synchronizedMap(new LinkedHashMap<>(this.capacity, 0.75f, true) {
             @Override
             protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
-                return size() > LRUCache.this.capacity;
+                if (size() > LRUCache.this.capacity) {
+                    LRUCache.this.stats.recordEviction(RemovalCause.SIZE);
+                    return true;
+                }
+                return false;
             }
         });
 
-
-        Caches.register(this);
+        Caches.register(this, builder.name);
     }
 
     @Override
@@ -36,32 +53,79 @@ public class LRUCache<K, V> implements Cache<K, V> {
 
     @Override
     public void add(@NotNull K key, @Nullable V value) {
-        this.map.put(key, value);
+        // a replaced null value is not counted, which keeps the write a single lookup
+        if (this.map.put(key, value) != null) {
+            this.stats.recordEviction(RemovalCause.REPLACED);
+        }
     }
 
     @Override
     public void addAll(@NotNull Map<? extends K, ? extends V> map) {
-        this.map.putAll(map);
+        synchronized (this.map) {
+            map.forEach(this::add);
+        }
     }
 
     @Override
     public void remove(@NotNull K key) {
-        this.map.remove(key);
+        if (this.map.remove(key) != null) {
+            this.stats.recordEviction(RemovalCause.EXPLICIT);
+        }
     }
 
     @Override
     public V get(@NotNull K key) {
-        return this.map.get(key);
+        V value = this.map.get(key);
+        recordAccess(value);
+        return value;
     }
 
     @Override
     public V getOrDefault(@NotNull K key, @Nullable V defaultValue) {
-        return this.map.getOrDefault(key, defaultValue);
+        V value = this.map.get(key);
+        recordAccess(value);
+        return value != null ? value : defaultValue;
     }
 
     @Override
     public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
-        return this.map.computeIfAbsent(key, mappingFunction);
+        V value = this.map.get(key);
+        recordAccess(value);
+        if (value != null) {
+            return value;
+        }
+        return this.map.computeIfAbsent(key, this.stats.instrument(mappingFunction));
+    }
+
+    /**
+     * Looks up all keys and adds the loaded values while taking the lock once each, the bulk
+     * loader runs without holding it.
+     */
+    @Override
+    public Map<K, V> getAll(@NotNull Iterable<? extends K> keys, @NotNull Function<? super Set<K>, ? extends Map<? extends K, ? extends V>> bulkLoader) {
+        Map<K, V> result = new LinkedHashMap<>();
+        Set<K> missing = new LinkedHashSet<>();
+        synchronized (this.map) {
+            for (K key : keys) {
+                V value = this.map.get(key);
+                if (value != null) {
+                    result.put(key, value);
+                } else {
+                    missing.add(key);
+                }
+            }
+        }
+
+        this.stats.recordHits(result.size());
+        this.stats.recordMisses(missing.size());
+        if (missing.isEmpty()) {
+            return result;
+        }
+
+        Map<? extends K, ? extends V> loaded = this.stats.<Set<K>, Map<? extends K, ? extends V>>instrument(bulkLoader)
+                .apply(Collections.unmodifiableSet(missing));
+        Caches.addLoaded(this, missing, loaded, result);
+        return result;
     }
 
     @Override
@@ -86,7 +150,35 @@ public class LRUCache<K, V> implements Cache<K, V> {
 
     @Override
     public void clear() {
-        this.map.clear();
+        synchronized (this.map) {
+            this.stats.recordEvictions(RemovalCause.EXPLICIT, this.map.size());
+            this.map.clear();
+        }
+    }
+
+    /**
+     * Evicts the least recently used entries until at most the given fraction of the current
+     * entries remain.
+     */
+    @Override
+    public int trim(double fraction) {
+        synchronized (this.map) {
+            long excess = this.map.size() - Caches.trimTarget(this.map.size(), fraction);
+            int evicted = 0;
+            Iterator<K> iterator = this.map.keySet().iterator();
+            while (evicted < excess && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+                this.stats.recordEviction(RemovalCause.SIZE);
+                evicted++;
+            }
+            return evicted;
+        }
+    }
+
+    @Override
+    public CacheStats stats() {
+        return this.stats.snapshot(this.map.size());
     }
 
     @Override
@@ -94,6 +186,14 @@ public class LRUCache<K, V> implements Cache<K, V> {
         return this.map.entrySet().iterator();
     }
 
+    private void recordAccess(@Nullable V value) {
+        if (value != null) {
+            this.stats.recordHits(1);
+        } else {
+            this.stats.recordMisses(1);
+        }
+    }
+
     @Override
     public String toString() {
         StringBuilder c = new StringBuilder("LRUCache{");
@@ -0,0 +1,53 @@
+package dev.spoocy.utils.common.cache;
+
+import dev.spoocy.utils.common.scheduler.task.Task;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A {@link Cache} that loads missing values with a loader it was built with, see
+ * {@link CacheBuilder#build(java.util.function.Function)}.
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ */
+
+public interface LoadingCache<K, V> extends Cache<K, V> {
+
+    /**
+     * Returns the value of the key, loading it on the calling thread if absent. Concurrent
+     * loads of the same key are single-flight.
+     * <p>
+     * If the entry is due for a refresh, the current value is returned and the entry is
+     * reloaded in the background.
+     *
+     * @param key the key to look up
+     *
+     * @return the present or loaded value, {@code null} if the loader returned {@code null}
+     */
+    @Override
+    V get(@NotNull K key);
+
+    /**
+     * Returns the value of the key without loading or refreshing it.
+     *
+     * @param key the key to look up
+     *
+     * @return the present value, or {@code null} if absent
+     */
+    @Nullable
+    V getIfPresent(@NotNull K key);
+
+    /**
+     * Reloads the value of the key on the {@link dev.spoocy.utils.common.scheduler.Scheduler}.
+     * Readers keep getting the current value until the reload completes. If the reload fails,
+     * the current value is kept.
+     * <p>
+     * If a refresh of the key is already in flight, its task is returned.
+     *
+     * @param key the key to reload
+     *
+     * @return a task that completes with the reloaded value
+     */
+    Task<V> refresh(@NotNull K key);
+
+}
@@ -0,0 +1,138 @@
+package dev.spoocy.utils.common.cache;
+
+import dev.spoocy.utils.common.misc.Args;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.function.LongFunction;
+
+/**
+ * A cache keyed by {@code long} that does not box its keys and allocates no object per entry.
+ * <p>
+ * The entries are stored in an open addressing hash table, see {@link PrimitiveKeyTable}.
+ * Without a time to live the least recently used entry is evicted once the maximum size is
+ * exceeded, like in {@link LRUCache}. With a time to live entries expire a fixed time after
+ * they were written and the entry expiring the soonest is evicted, like in {@link TimedCache}.
+ * {@code null} values are not cached, adding one removes the key.
+ *
+ * <pre>
+ * Long2ObjectCache&lt;Guild&gt; guilds = new Long2ObjectCache&lt;&gt;(Integer.MAX_VALUE, 600_000, false);
+ * Guild guild = guilds.computeIfAbsent(snowflake, this::fetchGuild);
+ * </pre>
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ */
+
+public class Long2ObjectCache<V> {
+
+    private final PrimitiveKeyTable<V> table;
+
+    /**
+     * @param maximumSize the maximum number of entries
+     */
+    public Long2ObjectCache(int maximumSize) {
+        this(maximumSize, Long.MAX_VALUE, false);
+    }
+
+    /**
+     * @param maximumSize            the maximum number of entries, {@link Integer#MAX_VALUE} for no bound
+     * @param expireAfterWriteMillis the time to live of the entries, {@link Long#MAX_VALUE} to never expire them
+     * @param recordStats            whether to record {@link CacheStats}
+     */
+    public Long2ObjectCache(int maximumSize, long expireAfterWriteMillis, boolean recordStats) {
+        this.table = new PrimitiveKeyTable<>(
+                "Long2ObjectCache",
+                Args.positive(maximumSize, "maximumSize"),
+                Args.positive(expireAfterWriteMillis, "expireAfterWriteMillis"),
+                recordStats
+        );
+    }
+
+    public boolean contains(long key) {
+        return this.table.contains(key);
+    }
+
+    public void add(long key, @Nullable V value) {
+        this.table.put(key, value);
+    }
+
+    public void remove(long key) {
+        this.table.remove(key);
+    }
+
+    @Nullable
+    public V get(long key) {
+        return this.table.get(key);
+    }
+
+    public V getOrDefault(long key, @Nullable V defaultValue) {
+        V value = this.table.get(key);
+        return value != null ? value : defaultValue;
+    }
+
+    /**
+     * Returns the value of the key, computing and adding it if absent. The value is computed
+     * without holding the lock of the cache, so concurrent callers may compute it twice.
+     */
+    public V computeIfAbsent(long key, @NotNull LongFunction<? extends V> mappingFunction) {
+        V value = this.table.get(key);
+        if (value != null) {
+            return value;
+        }
+        return this.table.load(key, mappingFunction);
+    }
+
+    public int size() {
+        return this.table.size();
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * @return the keys, from the next to be evicted to the most recently used or written
+     */
+    public long[] keys() {
+        return this.table.keys();
+    }
+
+    /**
+     * @return the values, in the order of {@link #keys()}
+     */
+    public List<V> values() {
+        return this.table.values();
+    }
+
+    public void clear() {
+        this.table.clear();
+    }
+
+    /**
+     * Removes all entries whose time to live has passed.
+     */
+    public void cleanUp() {
+        this.table.cleanUp();
+    }
+
+    /**
+     * Evicts entries until at most the given fraction of the current entries remain,
+     * see {@link Cache#trim(double)}.
+     *
+     * @return the number of evicted entries
+     */
+    public int trim(double fraction) {
+        return this.table.trim(fraction);
+    }
+
+    public CacheStats stats() {
+        return this.table.stats();
+    }
+
+    @Override
+    public String toString() {
+        return "Long2ObjectCache{size=" + size() + "}";
+    }
+
+}
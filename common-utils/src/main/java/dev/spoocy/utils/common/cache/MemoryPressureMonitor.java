@@ -0,0 +1,235 @@
+package dev.spoocy.utils.common.cache;
+
+import dev.spoocy.utils.common.log.ILogger;
+import dev.spoocy.utils.common.misc.Args;
+import dev.spoocy.utils.common.scheduler.Scheduler;
+import org.jetbrains.annotations.NotNull;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryNotificationInfo;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Shrinks the registered caches when the heap runs low, instead of dropping them all at once
+ * with {@link Caches#clearAll()}.
+ * <p>
+ * The monitor listens to the usage threshold notifications of the heap memory pools and to the
+ * notifications of the garbage collectors. After each of them it reads the heap occupancy left
+ * after the last collection. Above the low watermark every cache is trimmed to a fraction of its
+ * size, see {@link Cache#trim(double)}, which evicts the entries its policy values the least.
+ * The fraction decreases linearly from 1 at the low watermark to the minimum retained fraction
+ * at the high watermark. Trims are at least a second apart, so caches shrink gradually while the
+ * pressure persists. The trims run on the asynchronous {@link Scheduler}, never on the thread
+ * delivering the notifications, and {@link #stop()} restores the thresholds the pools had before.
+ *
+ * <pre>
+ * MemoryPressureMonitor monitor = new MemoryPressureMonitor(0.7, 0.9, 0.25);
+ * monitor.start();
+ * </pre>
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ */
+
+public class MemoryPressureMonitor implements NotificationListener {
+
+    private static final ILogger logger = ILogger.forThisClass();
+
+    private static final String GC_NOTIFICATION = "com.sun.management.gc.notification";
+    private static final long MIN_TRIM_INTERVAL_MILLIS = 1000;
+
+    private final double lowWatermark;
+    private final double highWatermark;
+    private final double minimumRetained;
+    private final List<MemoryPoolMXBean> pools = new ArrayList<>();
+    private final List<NotificationEmitter> emitters = new ArrayList<>();
+    private final Map<MemoryPoolMXBean, Long> previousUsageThresholds = new HashMap<>();
+    private final Map<MemoryPoolMXBean, Long> previousCollectionThresholds = new HashMap<>();
+    private final AtomicBoolean trimming = new AtomicBoolean();
+    private final AtomicBoolean checkPending = new AtomicBoolean();
+    private volatile long lastTrim;
+
+    /**
+     * @param lowWatermark    the heap occupancy above which caches are trimmed, between 0 and 1
+     * @param highWatermark   the heap occupancy at which caches are trimmed the most, between the low watermark and 1
+     * @param minimumRetained the fraction of the entries kept at the high watermark, between 0 and 1
+     */
+    public MemoryPressureMonitor(double lowWatermark, double highWatermark, double minimumRetained) {
+        Args.require(lowWatermark > 0 && lowWatermark < highWatermark && highWatermark <= 1,
+                "Watermarks must satisfy 0 < low < high <= 1, got %s and %s", lowWatermark, highWatermark);
+        Args.require(minimumRetained >= 0 && minimumRetained <= 1, "minimumRetained must be between 0 and 1, got %s", minimumRetained);
+
+        this.lowWatermark = lowWatermark;
+        this.highWatermark = highWatermark;
+        this.minimumRetained = minimumRetained;
+
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.isValid()) {
+                this.pools.add(pool);
+            }
+        }
+    }
+
+    /**
+     * Starts listening to memory and garbage collection notifications.
+     */
+    public synchronized void start() {
+        if (!this.emitters.isEmpty()) {
+            return;
+        }
+
+        for (MemoryPoolMXBean pool : this.pools) {
+            long max = pool.getUsage().getMax();
+            if (max <= 0) {
+                continue;
+            }
+
+            long threshold = (long) (max * this.lowWatermark);
+            if (pool.isCollectionUsageThresholdSupported()) {
+                this.previousCollectionThresholds.put(pool, pool.getCollectionUsageThreshold());
+                pool.setCollectionUsageThreshold(threshold);
+            } else if (pool.isUsageThresholdSupported()) {
+                this.previousUsageThresholds.put(pool, pool.getUsageThreshold());
+                pool.setUsageThreshold(threshold);
+            }
+        }
+
+        listen(ManagementFactory.getMemoryMXBean());
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            listen(collector);
+        }
+    }
+
+    /**
+     * Stops listening to notifications and restores the previous thresholds of the pools.
+     */
+    public synchronized void stop() {
+        for (NotificationEmitter emitter : this.emitters) {
+            try {
+                emitter.removeNotificationListener(this);
+            } catch (ListenerNotFoundException ignored) {
+                // already removed
+            }
+        }
+        this.emitters.clear();
+
+        this.previousCollectionThresholds.forEach(MemoryPoolMXBean::setCollectionUsageThreshold);
+        this.previousCollectionThresholds.clear();
+        this.previousUsageThresholds.forEach(MemoryPoolMXBean::setUsageThreshold);
+        this.previousUsageThresholds.clear();
+    }
+
+    @Override
+    public void handleNotification(@NotNull Notification notification, Object handback) {
+        String type = notification.getType();
+        if (MemoryNotificationInfo.MEMORY_THRESHOLD_EXCEEDED.equals(type)
+                || MemoryNotificationInfo.MEMORY_COLLECTION_THRESHOLD_EXCEEDED.equals(type)
+                || GC_NOTIFICATION.equals(type)) {
+            scheduleCheck();
+        }
+    }
+
+    /**
+     * Runs {@link #check()} on the asynchronous scheduler, unless a check is already pending.
+     * Trimming walks every cache, which must not hold up the notification thread.
+     */
+    private void scheduleCheck() {
+        if (!this.checkPending.compareAndSet(false, true)) {
+            return;
+        }
+
+        Scheduler.executeAsync(() -> {
+            try {
+                check();
+            } finally {
+                this.checkPending.set(false);
+            }
+        });
+    }
+
+    /**
+     * Trims the registered caches according to the current heap occupancy. Called on every
+     * notification, but may be called manually as well.
+     *
+     * @return the number of evicted entries
+     */
+    public long check() {
+        return trim(occupancy());
+    }
+
+    /**
+     * Returns the heap occupancy, the highest ratio of used to maximum memory of the heap pools.
+     * The usage after the last garbage collection is preferred, as it excludes collectable garbage.
+     *
+     * @return the occupancy between 0 and 1
+     */
+    public double occupancy() {
+        double occupancy = 0;
+        for (MemoryPoolMXBean pool : this.pools) {
+            MemoryUsage usage = pool.isCollectionUsageThresholdSupported() ? pool.getCollectionUsage() : pool.getUsage();
+            if (usage != null && usage.getMax() > 0) {
+                occupancy = Math.max(occupancy, (double) usage.getUsed() / usage.getMax());
+            }
+        }
+        return occupancy;
+    }
+
+    /**
+     * @param occupancy the heap occupancy between 0 and 1
+     *
+     * @return the fraction of the cache entries to keep at the given occupancy
+     */
+    public double retainedFraction(double occupancy) {
+        if (occupancy <= this.lowWatermark) {
+            return 1;
+        }
+        if (occupancy >= this.highWatermark) {
+            return this.minimumRetained;
+        }
+
+        double pressure = (occupancy - this.lowWatermark) / (this.highWatermark - this.lowWatermark);
+        return 1 - pressure * (1 - this.minimumRetained);
+    }
+
+    long trim(double occupancy) {
+        double retained = retainedFraction(occupancy);
+        if (retained >= 1) {
+            return 0;
+        }
+
+        long now = System.currentTimeMillis();
+        if (now - this.lastTrim < MIN_TRIM_INTERVAL_MILLIS || !this.trimming.compareAndSet(false, true)) {
+            return 0;
+        }
+
+        try {
+            this.lastTrim = now;
+            long evicted = Caches.trimAll(retained);
+            logger.info("Heap occupancy at {}%, trimmed caches to {}% ({} entries evicted)",
+                    Math.round(occupancy * 100), Math.round(retained * 100), evicted);
+            return evicted;
+        } finally {
+            this.trimming.set(false);
+        }
+    }
+
+    private void listen(@NotNull Object bean) {
+        if (bean instanceof NotificationEmitter) {
+            NotificationEmitter emitter = (NotificationEmitter) bean;
+            emitter.addNotificationListener(this, null, null);
+            this.emitters.add(emitter);
+        }
+    }
+
+}
@@ -0,0 +1,41 @@
+package dev.spoocy.utils.common.cache;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * An entry of a bounded cache. The value is published through a volatile field so that
+ * readers never need the eviction lock, while the links are only touched under it.
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ */
+
+class Node<K, V> {
+
+    final K key;
+    volatile @Nullable V value;
+
+    // guarded by the eviction lock
+    @Nullable Node<K, V> prev;
+    @Nullable Node<K, V> next;
+    boolean linked;
+    byte queue;
+    int weight = 1;
+
+    // set once the node has been removed from the backing map
+    volatile boolean retired;
+
+    Node(@NotNull K key, @Nullable V value) {
+        this.key = key;
+        this.value = value;
+    }
+
+    boolean isAlive() {
+        return !this.retired;
+    }
+
+    void retire() {
+        this.retired = true;
+    }
+
+}
@@ -16,11 +16,17 @@ import java.util.function.Function;
 public class NormalCache<K, V> implements Cache<K, V>{
 
     private final Map<K, V> map = new ConcurrentHashMap<>();
+    private final StatsCounter stats;
 
     public NormalCache() {
+        this(new CacheBuilder<>());
         Caches.register(this);
     }
 
+    NormalCache(@NotNull CacheBuilder<K, V> builder) {
+        this.stats = builder.statsCounter();
+    }
+
     @Override
     public boolean contains(@NotNull K key) {
         return map.containsKey(key);
@@ -28,32 +34,45 @@ public class NormalCache<K, V> implements Cache<K, V>{
 
     @Override
     public void add(@NotNull K key, @Nullable V value) {
-        this.map.put(key, value);
+        if (this.map.put(key, value) != null) {
+            this.stats.recordEviction(RemovalCause.REPLACED);
+        }
     }
 
     @Override
     public void addAll(@NotNull Map<? extends K, ? extends V> map) {
-        this.map.putAll(map);
+        map.forEach(this::add);
     }
 
     @Override
     public void remove(@NotNull K key) {
-        this.map.remove(key);
+        if (this.map.remove(key) != null) {
+            this.stats.recordEviction(RemovalCause.EXPLICIT);
+        }
     }
 
     @Override
     public V get(@NotNull K key) {
-        return this.map.get(key);
+        V value = this.map.get(key);
+        recordAccess(value);
+        return value;
     }
 
     @Override
     public V getOrDefault(@NotNull K key, @Nullable V defaultValue) {
-        return this.map.getOrDefault(key, defaultValue);
+        V value = this.map.get(key);
+        recordAccess(value);
+        return value != null ? value : defaultValue;
     }
 
     @Override
     public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
-        return this.map.computeIfAbsent(key, mappingFunction);
+        V value = this.map.get(key);
+        recordAccess(value);
+        if (value != null) {
+            return value;
+        }
+        return this.map.computeIfAbsent(key, this.stats.instrument(mappingFunction));
     }
 
     @Override
@@ -78,7 +97,17 @@ public class NormalCache<K, V> implements Cache<K, V>{
 
     @Override
     public void clear() {
-        this.map.clear();
+        Iterator<V> iterator = this.map.values().iterator();
+        while (iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            this.stats.recordEviction(RemovalCause.EXPLICIT);
+        }
+    }
+
+    @Override
+    public CacheStats stats() {
+        return this.stats.snapshot(this.map.size());
     }
 
     @Override
@@ -86,6 +115,14 @@ public class NormalCache<K, V> implements Cache<K, V>{
         return this.map.entrySet().iterator();
     }
 
+    private void recordAccess(@Nullable V value) {
+        if (value != null) {
+            this.stats.recordHits(1);
+        } else {
+            this.stats.recordMisses(1);
+        }
+    }
+
     @Override
     public String toString() {
         StringBuilder c = new StringBuilder("NormalCache{");
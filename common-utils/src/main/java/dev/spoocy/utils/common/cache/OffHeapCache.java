@@ -0,0 +1,529 @@
+package dev.spoocy.utils.common.cache;
+
+import dev.spoocy.utils.common.misc.Args;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * A cache that stores byte array values outside of the Java heap, bounded by their total size.
+ * Large serialized payloads cached here do not inflate the old generation or GC pauses.
+ * <p>
+ * Values are copied into direct {@link ByteBuffer} slabs, which a slab allocator carves into
+ * power of two sized chunks (64 bytes up to the slab size). Every size class evicts its least
+ * recently used entry when it runs out of chunks and no new slab may be allocated. A size class
+ * without any entries takes over a slab of the size class holding the most slabs.
+ * <p>
+ * {@link #get(Object)} returns a copy of the value. Callers that can deal with the lifetime of
+ * the underlying memory can read it without copying through {@link #read(Object, Function)} or
+ * {@link #getBuffer(Object)}.
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ */
+
+public class OffHeapCache<K> implements Cache<K, byte[]> {
+
+    public static final int DEFAULT_SLAB_SIZE = 1 << 20;
+    private static final int MIN_CHUNK_SHIFT = 6;
+
+    private final int slabSize;
+    private final int maxSlabs;
+    private final SizeClass<K>[] classes;
+    private final List<ByteBuffer> slabs = new ArrayList<>();
+    private final List<SizeClass<K>> slabOwners = new ArrayList<>();
+    private final Map<K, Chunk<K>> map = new HashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final StatsCounter stats;
+    private long usedBytes;
+
+    public OffHeapCache(long maximumBytes) {
+        this(maximumBytes, DEFAULT_SLAB_SIZE, false);
+    }
+
+    /**
+     * @param maximumBytes the maximum number of bytes allocated off-heap
+     * @param slabSize     the size of a slab in bytes, a power of two and the maximum size of a value
+     * @param recordStats  whether to record {@link CacheStats}
+     *
+     * @throws IllegalArgumentException if {@code maximumBytes} is below the smallest chunk of 64 bytes
+     */
+    public OffHeapCache(long maximumBytes, int slabSize, boolean recordStats) {
+        Args.require(maximumBytes >= 1 << MIN_CHUNK_SHIFT,
+                "maximumBytes must be at least %s, got %s", 1 << MIN_CHUNK_SHIFT, maximumBytes);
+        Args.require(Integer.bitCount(slabSize) == 1 && slabSize >= 1 << MIN_CHUNK_SHIFT,
+                "slabSize must be a power of two of at least %s, got %s", 1 << MIN_CHUNK_SHIFT, slabSize);
+
+        // a bound below one slab shrinks the slab instead of exceeding the bound
+        this.slabSize = (int) Math.min(slabSize, Long.highestOneBit(maximumBytes));
+        this.maxSlabs = (int) Math.min(Integer.MAX_VALUE, maximumBytes / this.slabSize);
+        this.stats = recordStats ? StatsCounter.concurrent() : StatsCounter.disabled();
+
+        int classCount = Integer.numberOfTrailingZeros(this.slabSize) - MIN_CHUNK_SHIFT + 1;
+        this.classes = newClasses(classCount);
+        for (int i = 0; i < classCount; i++) {
+            this.classes[i] = new SizeClass<>(1 << (MIN_CHUNK_SHIFT + i));
+        }
+
+        Caches.register(this);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K> SizeClass<K>[] newClasses(int length) {
+        return (SizeClass<K>[]) new SizeClass<?>[length];
+    }
+
+    /**
+     * @return the maximum number of bytes allocated off-heap
+     */
+    public long getMaximumBytes() {
+        return (long) this.maxSlabs * this.slabSize;
+    }
+
+    /**
+     * @return the total length of the cached values
+     */
+    public long getUsedBytes() {
+        this.lock.lock();
+        try {
+            return this.usedBytes;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean contains(@NotNull K key) {
+        this.lock.lock();
+        try {
+            return this.map.containsKey(key);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Copies the value into off-heap memory, evicting entries if needed.
+     *
+     * @throws IllegalArgumentException if the value is larger than a slab
+     */
+    @Override
+    public void add(@NotNull K key, @Nullable byte[] value) {
+        if (value == null) {
+            remove(key);
+            return;
+        }
+
+        Args.require(value.length <= this.slabSize, "Value of %s bytes exceeds the slab size of %s bytes", value.length, this.slabSize);
+
+        this.lock.lock();
+        try {
+            Chunk<K> prior = this.map.remove(key);
+            if (prior != null) {
+                release(prior);
+            }
+
+            SizeClass<K> sizeClass = sizeClass(value.length);
+            long address = allocate(sizeClass);
+            Chunk<K> chunk = new Chunk<>(key, slab(address), offset(address), value.length, sizeClass);
+
+            ByteBuffer slab = this.slabs.get(chunk.slab);
+            slab.position(chunk.offset);
+            slab.put(value);
+
+            this.map.put(key, chunk);
+            sizeClass.lru.addLast(chunk);
+            this.usedBytes += value.length;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public void addAll(@NotNull Map<? extends K, ? extends byte[]> map) {
+        map.forEach(this::add);
+    }
+
+    @Override
+    public void remove(@NotNull K key) {
+        this.lock.lock();
+        try {
+            Chunk<K> chunk = this.map.remove(key);
+            if (chunk != null) {
+                release(chunk);
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public byte[] get(@NotNull K key) {
+        this.lock.lock();
+        try {
+            Chunk<K> chunk = access(key);
+            if (chunk == null) {
+                return null;
+            }
+
+            byte[] value = new byte[chunk.length];
+            ByteBuffer slab = this.slabs.get(chunk.slab);
+            slab.position(chunk.offset);
+            slab.get(value);
+            return value;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public byte[] getOrDefault(@NotNull K key, @Nullable byte[] defaultValue) {
+        byte[] value = get(key);
+        return value != null ? value : defaultValue;
+    }
+
+    /**
+     * Reads the value of the key without copying it. The buffer passed to the reader is a
+     * read-only view of the off-heap memory and must not be used after the reader returns,
+     * the cache is locked while the reader runs.
+     *
+     * @param key    the key to look up
+     * @param reader the function reading the value
+     * @param <R>    the result type of the reader
+     *
+     * @return the result of the reader, or {@code null} if the key is absent
+     */
+    @Nullable
+    public <R> R read(@NotNull K key, @NotNull Function<? super ByteBuffer, ? extends R> reader) {
+        this.lock.lock();
+        try {
+            Chunk<K> chunk = access(key);
+            return chunk != null ? reader.apply(view(chunk)) : null;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Returns a read-only view of the value of the key without copying it.
+     * <p>
+     * The view is backed by the off-heap memory of the entry. Once the entry is replaced,
+     * removed or evicted, that memory is reused and the view shows other data. Only use it
+     * if the entry is known to stay cached while the view is read, otherwise prefer
+     * {@link #read(Object, Function)}.
+     *
+     * @param key the key to look up
+     *
+     * @return a view of the value, or {@code null} if the key is absent
+     */
+    @Nullable
+    public ByteBuffer getBuffer(@NotNull K key) {
+        this.lock.lock();
+        try {
+            Chunk<K> chunk = access(key);
+            return chunk != null ? view(chunk) : null;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public byte[] computeIfAbsent(K key, Function<? super K, ? extends byte[]> mappingFunction) {
+        byte[] value = get(key);
+        if (value != null) {
+            return value;
+        }
+
+        value = this.stats.<K, byte[]>instrument(mappingFunction).apply(key);
+        if (value != null) {
+            add(key, value);
+        }
+        return value;
+    }
+
+    @Override
+    public int size() {
+        this.lock.lock();
+        try {
+            return this.map.size();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public Set<K> keys() {
+        this.lock.lock();
+        try {
+            return new HashSet<>(this.map.keySet());
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * @return copies of the cached values
+     */
+    @Override
+    public Set<byte[]> values() {
+        Set<byte[]> values = new HashSet<>();
+        for (Map.Entry<K, byte[]> entry : this) {
+            values.add(entry.getValue());
+        }
+        return values;
+    }
+
+    /**
+     * Removes all entries and releases the slabs, the off-heap memory is freed once the
+     * garbage collector collects them.
+     */
+    @Override
+    public void clear() {
+        this.lock.lock();
+        try {
+            this.map.clear();
+            this.slabs.clear();
+            this.slabOwners.clear();
+            for (SizeClass<K> sizeClass : this.classes) {
+                sizeClass.reset();
+            }
+            this.usedBytes = 0;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Evicts the least recently used entries of every size class until each holds at most the
+     * given fraction of its current entries. The slabs stay allocated for new entries.
+     */
+    @Override
+    public int trim(double fraction) {
+        this.lock.lock();
+        try {
+            int evicted = 0;
+            for (SizeClass<K> sizeClass : this.classes) {
+                long target = Caches.trimTarget(sizeClass.lru.size(), fraction);
+                while (sizeClass.lru.size() > target) {
+                    evict((Chunk<K>) sizeClass.lru.peekFirst());
+                    evicted++;
+                }
+            }
+            return evicted;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public CacheStats stats() {
+        return this.stats.snapshot(getUsedBytes());
+    }
+
+    /**
+     * @return an iterator over copies of the entries at the time of the call
+     */
+    @Override
+    public @NotNull Iterator<Map.Entry<K, byte[]>> iterator() {
+        this.lock.lock();
+        try {
+            List<Map.Entry<K, byte[]>> entries = new ArrayList<>(this.map.size());
+            for (Chunk<K> chunk : this.map.values()) {
+                byte[] value = new byte[chunk.length];
+                view(chunk).get(value);
+                entries.add(new AbstractMap.SimpleImmutableEntry<>(chunk.key, value));
+            }
+            return entries.iterator();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Nullable
+    private Chunk<K> access(@NotNull K key) {
+        Chunk<K> chunk = this.map.get(key);
+        if (chunk == null) {
+            this.stats.recordMisses(1);
+            return null;
+        }
+
+        this.stats.recordHits(1);
+        chunk.sizeClass.lru.moveToLast(chunk);
+        return chunk;
+    }
+
+    private ByteBuffer view(@NotNull Chunk<K> chunk) {
+        ByteBuffer view = this.slabs.get(chunk.slab).duplicate();
+        view.position(chunk.offset);
+        view.limit(chunk.offset + chunk.length);
+        return view.slice().asReadOnlyBuffer();
+    }
+
+    private long allocate(@NotNull SizeClass<K> sizeClass) {
+        for (;;) {
+            if (sizeClass.freeCount > 0) {
+                return sizeClass.free[--sizeClass.freeCount];
+            }
+
+            if (this.slabs.size() < this.maxSlabs) {
+                this.slabs.add(ByteBuffer.allocateDirect(this.slabSize));
+                this.slabOwners.add(null);
+                carve(this.slabs.size() - 1, sizeClass);
+                continue;
+            }
+
+            Chunk<K> victim = (Chunk<K>) sizeClass.lru.peekFirst();
+            if (victim != null) {
+                evict(victim);
+                continue;
+            }
+
+            reassignSlab(sizeClass);
+        }
+    }
+
+    /**
+     * Moves a slab from the size class holding the most slabs to a size class that holds
+     * none, evicting the entries stored in it.
+     */
+    private void reassignSlab(@NotNull SizeClass<K> target) {
+        SizeClass<K> donor = null;
+        for (SizeClass<K> sizeClass : this.classes) {
+            if (sizeClass != target && (donor == null || sizeClass.slabCount > donor.slabCount)) {
+                donor = sizeClass;
+            }
+        }
+
+        // prefer the slab of the donor's least recently used entry
+        Chunk<K> eldest = (Chunk<K>) donor.lru.peekFirst();
+        int slab = eldest != null ? eldest.slab : this.slabOwners.indexOf(donor);
+
+        List<Chunk<K>> evicted = new ArrayList<>();
+        for (Chunk<K> chunk : this.map.values()) {
+            if (chunk.slab == slab) {
+                evicted.add(chunk);
+            }
+        }
+        for (Chunk<K> chunk : evicted) {
+            evict(chunk);
+        }
+
+        donor.removeFree(slab);
+        donor.slabCount--;
+        carve(slab, target);
+    }
+
+    private void carve(int slab, @NotNull SizeClass<K> sizeClass) {
+        this.slabOwners.set(slab, sizeClass);
+        sizeClass.slabCount++;
+        for (int offset = this.slabSize - sizeClass.chunkSize; offset >= 0; offset -= sizeClass.chunkSize) {
+            sizeClass.pushFree(address(slab, offset));
+        }
+    }
+
+    private void evict(@NotNull Chunk<K> chunk) {
+        this.map.remove(chunk.key);
+        release(chunk);
+        this.stats.recordEviction(RemovalCause.SIZE);
+    }
+
+    private void release(@NotNull Chunk<K> chunk) {
+        chunk.sizeClass.lru.unlink(chunk);
+        chunk.sizeClass.pushFree(address(chunk.slab, chunk.offset));
+        this.usedBytes -= chunk.length;
+    }
+
+    private SizeClass<K> sizeClass(int length) {
+        int shift = length <= 1 ? 0 : 32 - Integer.numberOfLeadingZeros(length - 1);
+        return this.classes[Math.max(0, shift - MIN_CHUNK_SHIFT)];
+    }
+
+    private static long address(int slab, int offset) {
+        return ((long) slab << 32) | offset;
+    }
+
+    private static int slab(long address) {
+        return (int) (address >>> 32);
+    }
+
+    private static int offset(long address) {
+        return (int) address;
+    }
+
+    @Override
+    public String toString() {
+        return "OffHeapCache{size=" + size() + ", usedBytes=" + getUsedBytes() + ", maximumBytes=" + getMaximumBytes() + "}";
+    }
+
+    private static final class SizeClass<K> {
+
+        final int chunkSize;
+        final AccessOrderDeque<K, Void> lru = new AccessOrderDeque<>();
+        long[] free = new long[16];
+        int freeCount;
+        int slabCount;
+
+        SizeClass(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+
+        void pushFree(long address) {
+            if (this.freeCount == this.free.length) {
+                this.free = Arrays.copyOf(this.free, this.free.length * 2);
+            }
+            this.free[this.freeCount++] = address;
+        }
+
+        void removeFree(int slab) {
+            int kept = 0;
+            for (int i = 0; i < this.freeCount; i++) {
+                if (slab(this.free[i]) != slab) {
+                    this.free[kept++] = this.free[i];
+                }
+            }
+            this.freeCount = kept;
+        }
+
+        void reset() {
+            this.lru.clear();
+            this.free = new long[16];
+            this.freeCount = 0;
+            this.slabCount = 0;
+        }
+
+    }
+
+    private static final class Chunk<K> extends Node<K, Void> {
+
+        final int slab;
+        final int offset;
+        final int length;
+        final SizeClass<K> sizeClass;
+
+        Chunk(@NotNull K key, int slab, int offset, int length, @NotNull SizeClass<K> sizeClass) {
+            super(key, null);
+            this.slab = slab;
+            this.offset = offset;
+            this.length = length;
+            this.sizeClass = sizeClass;
+        }
+
+    }
+
+}
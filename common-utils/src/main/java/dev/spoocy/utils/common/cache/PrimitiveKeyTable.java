@@ -0,0 +1,519 @@
+package dev.spoocy.utils.common.cache;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+
+/**
+ * The open addressing hash table behind {@link Int2ObjectCache} and {@link Long2ObjectCache}.
+ * <p>
+ * Entries live in parallel arrays instead of node objects: the keys, the values, the
+ * expiration times and the indices of the previous and next entry of the eviction order.
+ * Collisions are resolved by linear probing, removals shift the following entries back
+ * instead of leaving tombstones, and the links of moved entries are patched in place.
+ * <p>
+ * Without a time to live the order is the access order and the least recently used entry is
+ * evicted, like in {@link LRUCache}. With a time to live it is the write order, which equals
+ * the expiration order, so expired entries are removed from the head and the entry expiring
+ * the soonest is evicted first, like in {@link TimedCache}. A {@code null} value is never
+ * stored, it marks a free slot. All methods synchronize on the table.
+ * <p>
+ * The table registers a boxed {@link View} of itself with {@link Caches}, so the primitive
+ * caches take part in {@link Caches#trimAll}, {@link Caches#clearAll} and {@link Caches#caches()}.
+ * The table holds the view strongly, so it stays registered as long as the cache is used.
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ */
+
+final class PrimitiveKeyTable<V> {
+
+    private static final int MINIMUM_CAPACITY = 16;
+    private static final int NONE = -1;
+
+    private final int maximumSize;
+    private final long ttlMillis;
+    private final StatsCounter stats;
+
+    private long[] keys;
+    private Object[] values;
+    private long[] expiresAt;
+    private int[] prev;
+    private int[] next;
+    private int mask;
+    private int threshold;
+
+    private int head = NONE;
+    private int tail = NONE;
+    private int size;
+
+    private final View<V> view;
+
+    /**
+     * @param type the simple class name of the owning cache, reported by {@link Caches#caches()}
+     */
+    PrimitiveKeyTable(@NotNull String type, int maximumSize, long ttlMillis, boolean recordStats) {
+        this.maximumSize = maximumSize;
+        this.ttlMillis = ttlMillis;
+        this.stats = recordStats ? StatsCounter.concurrent() : StatsCounter.disabled();
+        allocate(MINIMUM_CAPACITY);
+
+        this.view = new View<>(this, type);
+        Caches.register(this.view);
+    }
+
+    synchronized boolean contains(long key) {
+        return find(key, now()) != NONE;
+    }
+
+    @Nullable
+    synchronized V get(long key) {
+        long now = now();
+        int index = find(key, now);
+        if (index == NONE) {
+            this.stats.recordMisses(1);
+            return null;
+        }
+
+        if (!expires()) {
+            moveToTail(index);
+        }
+        this.stats.recordHits(1);
+        return value(index);
+    }
+
+    synchronized void put(long key, @Nullable V value) {
+        if (value == null) {
+            remove(key);
+            return;
+        }
+
+        long now = now();
+        expireEntries(now);
+
+        int index = slot(key);
+        if (this.values[index] != null) {
+            this.values[index] = value;
+            this.stats.recordEviction(RemovalCause.REPLACED);
+            setExpiration(index, now);
+            moveToTail(index);
+            return;
+        }
+
+        this.keys[index] = key;
+        this.values[index] = value;
+        setExpiration(index, now);
+        linkLast(index);
+        this.size++;
+
+        if (this.size > this.maximumSize) {
+            delete(this.head);
+            this.stats.recordEviction(RemovalCause.SIZE);
+        }
+        if (this.size > this.threshold) {
+            resize(this.mask + 1 << 1);
+        }
+    }
+
+    /**
+     * Loads the value of an absent key without holding the lock and adds it. The miss is
+     * expected to be recorded by the caller.
+     */
+    V load(long key, @NotNull LongFunction<? extends V> loader) {
+        if (!this.stats.isEnabled()) {
+            V value = loader.apply(key);
+            put(key, value);
+            return value;
+        }
+
+        long start = System.nanoTime();
+        V value;
+        try {
+            value = loader.apply(key);
+        } catch (RuntimeException | Error ex) {
+            this.stats.recordLoadFailure(System.nanoTime() - start);
+            throw ex;
+        }
+        this.stats.recordLoadSuccess(System.nanoTime() - start);
+
+        put(key, value);
+        return value;
+    }
+
+    synchronized void remove(long key) {
+        int index = find(key, now());
+        if (index != NONE) {
+            delete(index);
+            this.stats.recordEviction(RemovalCause.EXPLICIT);
+        }
+    }
+
+    synchronized int size() {
+        expireEntries(now());
+        return this.size;
+    }
+
+    synchronized void clear() {
+        expireEntries(now());
+        this.stats.recordEvictions(RemovalCause.EXPLICIT, this.size);
+        allocate(MINIMUM_CAPACITY);
+    }
+
+    /**
+     * Evicts entries from the head of the order until at most the given fraction remains.
+     *
+     * @return the number of evicted entries
+     */
+    synchronized int trim(double fraction) {
+        expireEntries(now());
+        long target = Caches.trimTarget(this.size, fraction);
+        int evicted = 0;
+        while (this.size > target) {
+            delete(this.head);
+            this.stats.recordEviction(RemovalCause.SIZE);
+            evicted++;
+        }
+        return evicted;
+    }
+
+    synchronized void cleanUp() {
+        expireEntries(now());
+    }
+
+    synchronized long[] keys() {
+        expireEntries(now());
+        long[] keys = new long[this.size];
+        int i = 0;
+        for (int index = this.head; index != NONE; index = this.next[index]) {
+            keys[i++] = this.keys[index];
+        }
+        return keys;
+    }
+
+    synchronized List<V> values() {
+        expireEntries(now());
+        List<V> values = new ArrayList<>(this.size);
+        for (int index = this.head; index != NONE; index = this.next[index]) {
+            values.add(value(index));
+        }
+        return values;
+    }
+
+    synchronized List<Map.Entry<Long, V>> entries() {
+        expireEntries(now());
+        List<Map.Entry<Long, V>> entries = new ArrayList<>(this.size);
+        for (int index = this.head; index != NONE; index = this.next[index]) {
+            entries.add(new AbstractMap.SimpleImmutableEntry<>(this.keys[index], value(index)));
+        }
+        return entries;
+    }
+
+    synchronized CacheStats stats() {
+        return this.stats.snapshot(this.size);
+    }
+
+    private boolean expires() {
+        return this.expiresAt != null;
+    }
+
+    /**
+     * @return the index of the live entry of the key, or {@link #NONE}
+     */
+    private int find(long key, long now) {
+        int index = hash(key) & this.mask;
+        while (this.values[index] != null) {
+            if (this.keys[index] == key) {
+                if (expires() && now >= this.expiresAt[index]) {
+                    delete(index);
+                    this.stats.recordEviction(RemovalCause.EXPIRED);
+                    return NONE;
+                }
+                return index;
+            }
+            index = index + 1 & this.mask;
+        }
+        return NONE;
+    }
+
+    /**
+     * @return the index of the key, or of the free slot it belongs into
+     */
+    private int slot(long key) {
+        int index = hash(key) & this.mask;
+        while (this.values[index] != null && this.keys[index] != key) {
+            index = index + 1 & this.mask;
+        }
+        return index;
+    }
+
+    private void setExpiration(int index, long now) {
+        if (expires()) {
+            long expiresAt = now + this.ttlMillis;
+            this.expiresAt[index] = expiresAt < now ? Long.MAX_VALUE : expiresAt;
+        }
+    }
+
+    private void expireEntries(long now) {
+        if (!expires()) {
+            return;
+        }
+        while (this.head != NONE && now >= this.expiresAt[this.head]) {
+            delete(this.head);
+            this.stats.recordEviction(RemovalCause.EXPIRED);
+        }
+    }
+
+    /**
+     * Removes the entry at the index and shifts the entries of its probe sequence back, so
+     * lookups never run into a gap.
+     */
+    private void delete(int index) {
+        unlink(index);
+        this.values[index] = null;
+        this.size--;
+
+        int gap = index;
+        int current = index;
+        while (true) {
+            current = current + 1 & this.mask;
+            if (this.values[current] == null) {
+                return;
+            }
+
+            int home = hash(this.keys[current]) & this.mask;
+            boolean between = gap <= current
+                    ? gap < home && home <= current
+                    : gap < home || home <= current;
+            if (!between) {
+                move(current, gap);
+                gap = current;
+            }
+        }
+    }
+
+    private void move(int from, int to) {
+        this.keys[to] = this.keys[from];
+        this.values[to] = this.values[from];
+        if (expires()) {
+            this.expiresAt[to] = this.expiresAt[from];
+        }
+
+        int before = this.prev[from];
+        int after = this.next[from];
+        this.prev[to] = before;
+        this.next[to] = after;
+        if (before != NONE) {
+            this.next[before] = to;
+        } else {
+            this.head = to;
+        }
+        if (after != NONE) {
+            this.prev[after] = to;
+        } else {
+            this.tail = to;
+        }
+
+        this.values[from] = null;
+    }
+
+    private void linkLast(int index) {
+        this.prev[index] = this.tail;
+        this.next[index] = NONE;
+        if (this.tail != NONE) {
+            this.next[this.tail] = index;
+        } else {
+            this.head = index;
+        }
+        this.tail = index;
+    }
+
+    private void unlink(int index) {
+        int before = this.prev[index];
+        int after = this.next[index];
+        if (before != NONE) {
+            this.next[before] = after;
+        } else {
+            this.head = after;
+        }
+        if (after != NONE) {
+            this.prev[after] = before;
+        } else {
+            this.tail = before;
+        }
+    }
+
+    private void moveToTail(int index) {
+        if (index != this.tail) {
+            unlink(index);
+            linkLast(index);
+        }
+    }
+
+    /**
+     * Replaces the arrays with larger ones and reinserts the current entries in their order.
+     */
+    private void resize(int capacity) {
+        long[] oldKeys = this.keys;
+        Object[] oldValues = this.values;
+        long[] oldExpiresAt = this.expiresAt;
+        int[] oldNext = this.next;
+        int oldHead = this.head;
+
+        allocate(capacity);
+        for (int old = oldHead; old != NONE; old = oldNext[old]) {
+            int index = slot(oldKeys[old]);
+            this.keys[index] = oldKeys[old];
+            this.values[index] = oldValues[old];
+            if (oldExpiresAt != null) {
+                this.expiresAt[index] = oldExpiresAt[old];
+            }
+            linkLast(index);
+            this.size++;
+        }
+    }
+
+    private void allocate(int capacity) {
+        this.keys = new long[capacity];
+        this.values = new Object[capacity];
+        this.expiresAt = this.ttlMillis != Long.MAX_VALUE ? new long[capacity] : null;
+        this.prev = new int[capacity];
+        this.next = new int[capacity];
+        this.mask = capacity - 1;
+        this.threshold = capacity / 4 * 3;
+        this.head = NONE;
+        this.tail = NONE;
+        this.size = 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    private V value(int index) {
+        return (V) this.values[index];
+    }
+
+    private static int hash(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ hash >>> 32);
+    }
+
+    private static long now() {
+        return Ticker.system().read();
+    }
+
+    /**
+     * The table as a {@link Cache} with boxed keys, registered with {@link Caches}.
+     */
+    static final class View<V> implements Cache<Long, V> {
+
+        private final PrimitiveKeyTable<V> table;
+        private final String type;
+
+        private View(@NotNull PrimitiveKeyTable<V> table, @NotNull String type) {
+            this.table = table;
+            this.type = type;
+        }
+
+        @NotNull
+        String type() {
+            return this.type;
+        }
+
+        @Override
+        public boolean contains(@NotNull Long key) {
+            return this.table.contains(key);
+        }
+
+        @Override
+        public void add(@NotNull Long key, @Nullable V value) {
+            this.table.put(key, value);
+        }
+
+        @Override
+        public void addAll(@NotNull Map<? extends Long, ? extends V> map) {
+            map.forEach(this::add);
+        }
+
+        @Override
+        public void remove(@NotNull Long key) {
+            this.table.remove(key);
+        }
+
+        @Override
+        public V get(@NotNull Long key) {
+            return this.table.get(key);
+        }
+
+        @Override
+        public V getOrDefault(@NotNull Long key, @Nullable V defaultValue) {
+            V value = this.table.get(key);
+            return value != null ? value : defaultValue;
+        }
+
+        @Override
+        public V computeIfAbsent(Long key, Function<? super Long, ? extends V> mappingFunction) {
+            V value = this.table.get(key);
+            if (value != null) {
+                return value;
+            }
+            return this.table.load(key, mappingFunction::apply);
+        }
+
+        @Override
+        public int size() {
+            return this.table.size();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return size() == 0;
+        }
+
+        @Override
+        public Set<Long> keys() {
+            Set<Long> keys = new LinkedHashSet<>();
+            for (long key : this.table.keys()) {
+                keys.add(key);
+            }
+            return keys;
+        }
+
+        @Override
+        public Set<V> values() {
+            return new LinkedHashSet<>(this.table.values());
+        }
+
+        @Override
+        public void clear() {
+            this.table.clear();
+        }
+
+        @Override
+        public int trim(double fraction) {
+            return this.table.trim(fraction);
+        }
+
+        @Override
+        public CacheStats stats() {
+            return this.table.stats();
+        }
+
+        @Override
+        public @NotNull Iterator<Map.Entry<Long, V>> iterator() {
+            return this.table.entries().iterator();
+        }
+
+        @Override
+        public String toString() {
+            return this.type + "{size=" + size() + "}";
+        }
+
+    }
+
+}
@@ -0,0 +1,111 @@
+package dev.spoocy.utils.common.cache;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * A striped, lossy buffer that records reads of bounded caches.
+ * <p>
+ * Readers append the accessed node to a small ring buffer picked by their thread, which only
+ * costs a CAS and never blocks. The buffered reads are replayed against the eviction policy
+ * by whoever holds the eviction lock. When a stripe is full the read is simply dropped, as
+ * the recency information of a single read is not worth contention on the hot path.
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ */
+
+class ReadBuffer<K, V> {
+
+    private static final int STRIPES = ceilingPowerOfTwo(Math.min(4 * Runtime.getRuntime().availableProcessors(), 64));
+    private static final int STRIPE_MASK = STRIPES - 1;
+
+    private static final int BUFFER_SIZE = 16;
+    private static final int BUFFER_MASK = BUFFER_SIZE - 1;
+
+    private final Stripe<K, V>[] stripes;
+
+    ReadBuffer() {
+        this.stripes = newStripes(STRIPES);
+        for (int i = 0; i < STRIPES; i++) {
+            this.stripes[i] = new Stripe<>();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K, V> Stripe<K, V>[] newStripes(int length) {
+        return (Stripe<K, V>[]) new Stripe<?, ?>[length];
+    }
+
+    /**
+     * Records a read of the given node.
+     *
+     * @param node the node that was read
+     *
+     * @return {@code true} if the buffer of the calling thread is full and should be drained
+     */
+    boolean offer(@NotNull Node<K, V> node) {
+        Stripe<K, V> stripe = this.stripes[probe() & STRIPE_MASK];
+
+        long head = stripe.readCounter;
+        long tail = stripe.writeCounter.get();
+        long pending = tail - head;
+
+        if (pending >= BUFFER_SIZE) {
+            return true;
+        }
+
+        if (stripe.writeCounter.compareAndSet(tail, tail + 1)) {
+            stripe.buffer.lazySet((int) (tail & BUFFER_MASK), node);
+            return pending + 1 >= BUFFER_SIZE;
+        }
+
+        // lost the race against another reader of the same stripe, drop the read
+        return false;
+    }
+
+    /**
+     * Replays all buffered reads. Must only be called while holding the eviction lock.
+     *
+     * @param consumer the consumer that applies a read to the eviction policy
+     */
+    void drainTo(@NotNull Consumer<Node<K, V>> consumer) {
+        for (Stripe<K, V> stripe : this.stripes) {
+            long head = stripe.readCounter;
+            long tail = stripe.writeCounter.get();
+
+            for (; head < tail; head++) {
+                int index = (int) (head & BUFFER_MASK);
+                Node<K, V> node = stripe.buffer.get(index);
+
+                // the slot was claimed but not yet published
+                if (node == null) {
+                    break;
+                }
+
+                stripe.buffer.lazySet(index, null);
+                consumer.accept(node);
+            }
+
+            stripe.readCounter = head;
+        }
+    }
+
+    private static int probe() {
+        long id = Thread.currentThread().getId();
+        return (int) ((id * 0x9E3779B97F4A7C15L) >>> 32);
+    }
+
+    private static int ceilingPowerOfTwo(int value) {
+        return 1 << -Integer.numberOfLeadingZeros(value - 1);
+    }
+
+    private static final class Stripe<K, V> {
+        final AtomicReferenceArray<Node<K, V>> buffer = new AtomicReferenceArray<>(BUFFER_SIZE);
+        final AtomicLong writeCounter = new AtomicLong();
+        volatile long readCounter;
+    }
+
+}
@@ -0,0 +1,397 @@
+package dev.spoocy.utils.common.cache;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.util.AbstractMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * An unbounded cache that holds its keys weakly and/or its values weakly or softly, so that
+ * entries do not keep their keys or values from being garbage collected.
+ * <p>
+ * Weak keys are compared by identity, like in an {@link java.util.IdentityHashMap}. This makes
+ * the cache suited for metadata keyed by {@link Class}: once the class loader becomes unreachable,
+ * its classes and their entries are collected. If the values reference their keys, the values
+ * must be soft or weak as well, otherwise the values keep the keys alive.
+ * <p>
+ * Collected references are enqueued by the garbage collector and removed from the cache as part
+ * of the regular operations: writes drain the whole queue, reads a few references at a time.
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ */
+
+public class ReferenceCache<K, V> implements Cache<K, V> {
+
+    private static final int READ_DRAIN_LIMIT = 16;
+
+    /**
+     * Lookups with weak keys wrap the key to compare it by identity. The wrapper is reused per
+     * thread, so hits do not allocate, and cleared after every lookup to not hold the key.
+     */
+    private static final ThreadLocal<LookupKey> LOOKUP_KEY = ThreadLocal.withInitial(LookupKey::new);
+
+    private final ConcurrentHashMap<Object, Object> map = new ConcurrentHashMap<>();
+    private final ReferenceQueue<Object> queue = new ReferenceQueue<>();
+    private final boolean weakKeys;
+    private final Strength valueStrength;
+    private final StatsCounter stats;
+
+    ReferenceCache(@NotNull CacheBuilder<K, V> builder) {
+        this.weakKeys = builder.weakKeys;
+        this.valueStrength = builder.valueStrength;
+        this.stats = builder.statsCounter();
+    }
+
+    @Override
+    public boolean contains(@NotNull K key) {
+        return getIfPresent(key) != null;
+    }
+
+    @Override
+    public void add(@NotNull K key, @Nullable V value) {
+        drainReferences(Integer.MAX_VALUE);
+
+        if (value == null) {
+            removeMapping(key);
+            return;
+        }
+
+        Object mapKey = referenceKey(key);
+        this.map.put(mapKey, referenceValue(mapKey, value));
+    }
+
+    @Override
+    public void addAll(@NotNull Map<? extends K, ? extends V> map) {
+        map.forEach(this::add);
+    }
+
+    @Override
+    public void remove(@NotNull K key) {
+        drainReferences(Integer.MAX_VALUE);
+        removeMapping(key);
+    }
+
+    @Override
+    public V get(@NotNull K key) {
+        V value = getIfPresent(key);
+        recordAccess(value);
+        return value;
+    }
+
+    @Override
+    public V getOrDefault(@NotNull K key, @Nullable V defaultValue) {
+        V value = get(key);
+        return value != null ? value : defaultValue;
+    }
+
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        V value = get(key);
+        if (value != null) {
+            return value;
+        }
+
+        drainReferences(Integer.MAX_VALUE);
+        Function<K, V> loader = this.stats.instrument(mappingFunction);
+
+        // holds the result strongly, a weak or soft value may be cleared before it is returned
+        Object[] result = new Object[1];
+        this.map.compute(referenceKey(key), (mapKey, stored) -> {
+            V current = stored != null ? unwrapValue(stored) : null;
+            if (current != null) {
+                result[0] = current;
+                return stored;
+            }
+
+            V loaded = loader.apply(key);
+            result[0] = loaded;
+            return loaded != null ? referenceValue(mapKey, loaded) : null;
+        });
+
+        @SuppressWarnings("unchecked")
+        V computed = (V) result[0];
+        return computed;
+    }
+
+    @Override
+    public int size() {
+        drainReferences(Integer.MAX_VALUE);
+        return this.map.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public Set<K> keys() {
+        drainReferences(Integer.MAX_VALUE);
+        return this.map.keySet()
+                .stream()
+                .map(this::unwrapKey)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+
+    @Override
+    public Set<V> values() {
+        drainReferences(Integer.MAX_VALUE);
+        return this.map.values()
+                .stream()
+                .map(this::unwrapValue)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+
+    @Override
+    public void clear() {
+        this.map.clear();
+        while (this.queue.poll() != null) {
+            // the references belonged to entries that were just removed
+        }
+    }
+
+    @Override
+    public CacheStats stats() {
+        return this.stats.snapshot(this.map.size());
+    }
+
+    @Override
+    public @NotNull Iterator<Map.Entry<K, V>> iterator() {
+        drainReferences(Integer.MAX_VALUE);
+        return this.map.entrySet()
+                .stream()
+                .<Map.Entry<K, V>>map(entry -> {
+                    K key = unwrapKey(entry.getKey());
+                    V value = unwrapValue(entry.getValue());
+                    return key != null && value != null ? new AbstractMap.SimpleImmutableEntry<>(key, value) : null;
+                })
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList())
+                .iterator();
+    }
+
+    @Nullable
+    private V getIfPresent(@NotNull K key) {
+        drainReferences(READ_DRAIN_LIMIT);
+        Object stored = getMapping(key);
+        return stored != null ? unwrapValue(stored) : null;
+    }
+
+    private void recordAccess(@Nullable V value) {
+        if (value != null) {
+            this.stats.recordHits(1);
+        } else {
+            this.stats.recordMisses(1);
+        }
+    }
+
+    private void drainReferences(int limit) {
+        Reference<?> reference;
+        for (int i = 0; i < limit && (reference = this.queue.poll()) != null; i++) {
+            boolean removed = reference instanceof ValueReference
+                    ? this.map.remove(((ValueReference) reference).keyReference(), reference)
+                    : this.map.remove(reference) != null;
+
+            if (removed) {
+                this.stats.recordEviction(RemovalCause.COLLECTED);
+            }
+        }
+    }
+
+    @Nullable
+    private Object getMapping(@NotNull K key) {
+        if (!this.weakKeys) {
+            return this.map.get(key);
+        }
+
+        LookupKey lookup = LOOKUP_KEY.get().set(key);
+        try {
+            return this.map.get(lookup);
+        } finally {
+            lookup.clear();
+        }
+    }
+
+    private void removeMapping(@NotNull K key) {
+        if (!this.weakKeys) {
+            this.map.remove(key);
+            return;
+        }
+
+        LookupKey lookup = LOOKUP_KEY.get().set(key);
+        try {
+            this.map.remove(lookup);
+        } finally {
+            lookup.clear();
+        }
+    }
+
+    private Object referenceKey(@NotNull K key) {
+        return this.weakKeys ? new WeakKeyReference(key, this.queue) : key;
+    }
+
+    private Object referenceValue(@NotNull Object mapKey, @NotNull V value) {
+        switch (this.valueStrength) {
+            case WEAK:
+                return new WeakValueReference(mapKey, value, this.queue);
+            case SOFT:
+                return new SoftValueReference(mapKey, value, this.queue);
+            default:
+                return value;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nullable
+    private K unwrapKey(@NotNull Object mapKey) {
+        return (K) (this.weakKeys ? ((WeakKeyReference) mapKey).get() : mapKey);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nullable
+    private V unwrapValue(@NotNull Object stored) {
+        return (V) (this.valueStrength != Strength.STRONG ? ((Reference<?>) stored).get() : stored);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder c = new StringBuilder("ReferenceCache{");
+        for (Map.Entry<K, V> entry : this) {
+            c.append(entry.getKey()).append("=").append(entry.getValue()).append(", ");
+        }
+        return c + "}";
+    }
+
+    enum Strength {
+        STRONG,
+        SOFT,
+        WEAK
+    }
+
+    /**
+     * A key compared by the identity of its referent.
+     */
+    private interface IdentityKey {
+
+        @Nullable
+        Object referent();
+
+        static boolean same(@NotNull IdentityKey key, @Nullable Object other) {
+            if (key == other) {
+                return true;
+            }
+            Object referent = key.referent();
+            return referent != null && other instanceof IdentityKey && referent == ((IdentityKey) other).referent();
+        }
+
+    }
+
+    private interface ValueReference {
+
+        @NotNull
+        Object keyReference();
+
+    }
+
+    private static final class WeakKeyReference extends WeakReference<Object> implements IdentityKey {
+
+        private final int hash;
+
+        WeakKeyReference(@NotNull Object key, @NotNull ReferenceQueue<Object> queue) {
+            super(key, queue);
+            this.hash = System.identityHashCode(key);
+        }
+
+        @Override
+        public @Nullable Object referent() {
+            return get();
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return IdentityKey.same(this, other);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+
+    }
+
+    private static final class LookupKey implements IdentityKey {
+
+        private Object key;
+
+        LookupKey set(@NotNull Object key) {
+            this.key = key;
+            return this;
+        }
+
+        void clear() {
+            this.key = null;
+        }
+
+        @Override
+        public @Nullable Object referent() {
+            return this.key;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return IdentityKey.same(this, other);
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(this.key);
+        }
+
+    }
+
+    private static final class WeakValueReference extends WeakReference<Object> implements ValueReference {
+
+        private final Object keyReference;
+
+        WeakValueReference(@NotNull Object keyReference, @NotNull Object value, @NotNull ReferenceQueue<Object> queue) {
+            super(value, queue);
+            this.keyReference = keyReference;
+        }
+
+        @Override
+        public @NotNull Object keyReference() {
+            return this.keyReference;
+        }
+
+    }
+
+    private static final class SoftValueReference extends SoftReference<Object> implements ValueReference {
+
+        private final Object keyReference;
+
+        SoftValueReference(@NotNull Object keyReference, @NotNull Object value, @NotNull ReferenceQueue<Object> queue) {
+            super(value, queue);
+            this.keyReference = keyReference;
+        }
+
+        @Override
+        public @NotNull Object keyReference() {
+            return this.keyReference;
+        }
+
+    }
+
+}
@@ -0,0 +1,49 @@
+package dev.spoocy.utils.common.cache;
+
+/**
+ * The reason an entry was removed from a {@link Cache}.
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ */
+
+public enum RemovalCause {
+
+    /**
+     * The entry was removed by the user, e.g. through {@link Cache#remove(Object)} or {@link Cache#clear()}.
+     */
+    EXPLICIT(false),
+
+    /**
+     * The value of the entry was replaced by the user.
+     */
+    REPLACED(false),
+
+    /**
+     * The entry's time to live has passed.
+     */
+    EXPIRED(true),
+
+    /**
+     * The entry was evicted because the cache exceeded its size bound.
+     */
+    SIZE(true),
+
+    /**
+     * The key or value of the entry was garbage collected.
+     */
+    COLLECTED(true);
+
+    private final boolean evicted;
+
+    RemovalCause(boolean evicted) {
+        this.evicted = evicted;
+    }
+
+    /**
+     * @return {@code true} if the entry was removed automatically rather than by the user
+     */
+    public boolean wasEvicted() {
+        return this.evicted;
+    }
+
+}
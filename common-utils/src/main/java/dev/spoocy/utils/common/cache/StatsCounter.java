@@ -0,0 +1,178 @@
+package dev.spoocy.utils.common.cache;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Records the statistics of a cache. Caches that do not record statistics use
+ * {@link #disabled()}, whose methods are empty and get inlined away.
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ */
+
+interface StatsCounter {
+
+    static StatsCounter disabled() {
+        return Disabled.INSTANCE;
+    }
+
+    static StatsCounter concurrent() {
+        return new Concurrent();
+    }
+
+    /**
+     * @return {@code false} if recording is a no-op, so callers can skip measuring load times
+     */
+    boolean isEnabled();
+
+    void recordHits(int count);
+
+    void recordMisses(int count);
+
+    void recordLoadSuccess(long loadTime);
+
+    void recordLoadFailure(long loadTime);
+
+    void recordEviction(@NotNull RemovalCause cause);
+
+    /**
+     * Records several removals with the same cause at once, for example when a cache is cleared.
+     */
+    void recordEvictions(@NotNull RemovalCause cause, int count);
+
+    @NotNull
+    CacheStats snapshot(long estimatedWeight);
+
+    /**
+     * Wraps a loader so that its successes, failures and load times are recorded.
+     *
+     * @param loader the loader to wrap
+     *
+     * @return the wrapped loader, or the loader itself if recording is disabled
+     */
+    @SuppressWarnings("unchecked")
+    default <K, V> Function<K, V> instrument(@NotNull Function<? super K, ? extends V> loader) {
+        if (!isEnabled()) {
+            return (Function<K, V>) loader;
+        }
+
+        return key -> {
+            long start = System.nanoTime();
+            try {
+                V value = loader.apply(key);
+                recordLoadSuccess(System.nanoTime() - start);
+                return value;
+            } catch (RuntimeException | Error ex) {
+                recordLoadFailure(System.nanoTime() - start);
+                throw ex;
+            }
+        };
+    }
+
+    final class Disabled implements StatsCounter {
+
+        private static final Disabled INSTANCE = new Disabled();
+
+        @Override
+        public boolean isEnabled() {
+            return false;
+        }
+
+        @Override
+        public void recordHits(int count) { }
+
+        @Override
+        public void recordMisses(int count) { }
+
+        @Override
+        public void recordLoadSuccess(long loadTime) { }
+
+        @Override
+        public void recordLoadFailure(long loadTime) { }
+
+        @Override
+        public void recordEviction(@NotNull RemovalCause cause) { }
+
+        @Override
+        public void recordEvictions(@NotNull RemovalCause cause, int count) { }
+
+        @Override
+        public @NotNull CacheStats snapshot(long estimatedWeight) {
+            return CacheStats.empty();
+        }
+    }
+
+    final class Concurrent implements StatsCounter {
+
+        private final LongAdder hitCount = new LongAdder();
+        private final LongAdder missCount = new LongAdder();
+        private final LongAdder loadSuccessCount = new LongAdder();
+        private final LongAdder loadFailureCount = new LongAdder();
+        private final LongAdder totalLoadTime = new LongAdder();
+        private final LongAdder[] evictionCounts = new LongAdder[RemovalCause.values().length];
+
+        private Concurrent() {
+            for (int i = 0; i < this.evictionCounts.length; i++) {
+                this.evictionCounts[i] = new LongAdder();
+            }
+        }
+
+        @Override
+        public boolean isEnabled() {
+            return true;
+        }
+
+        @Override
+        public void recordHits(int count) {
+            this.hitCount.add(count);
+        }
+
+        @Override
+        public void recordMisses(int count) {
+            this.missCount.add(count);
+        }
+
+        @Override
+        public void recordLoadSuccess(long loadTime) {
+            this.loadSuccessCount.increment();
+            this.totalLoadTime.add(loadTime);
+        }
+
+        @Override
+        public void recordLoadFailure(long loadTime) {
+            this.loadFailureCount.increment();
+            this.totalLoadTime.add(loadTime);
+        }
+
+        @Override
+        public void recordEviction(@NotNull RemovalCause cause) {
+            this.evictionCounts[cause.ordinal()].increment();
+        }
+
+        @Override
+        public void recordEvictions(@NotNull RemovalCause cause, int count) {
+            this.evictionCounts[cause.ordinal()].add(count);
+        }
+
+        @Override
+        public @NotNull CacheStats snapshot(long estimatedWeight) {
+            long[] evictions = new long[this.evictionCounts.length];
+            for (int i = 0; i < evictions.length; i++) {
+                evictions[i] = this.evictionCounts[i].sum();
+            }
+
+            return new CacheStats(
+                    this.hitCount.sum(),
+                    this.missCount.sum(),
+                    this.loadSuccessCount.sum(),
+                    this.loadFailureCount.sum(),
+                    this.totalLoadTime.sum(),
+                    evictions,
+                    estimatedWeight
+            );
+        }
+    }
+
+}
@@ -0,0 +1,40 @@
+package dev.spoocy.utils.common.cache;
+
+/**
+ * A time source for caches that expire their entries. Tests can supply a ticker they
+ * advance manually instead of waiting for entries to expire.
+ *
+ * @see CacheBuilder#ticker(Ticker)
+ * @author Spoocy99 | GitHub: Spoocy99
+ */
+
+@FunctionalInterface
+public interface Ticker {
+
+    /**
+     * Returns a ticker reading {@link System#currentTimeMillis()}.
+     *
+     * @return the singleton ticker
+     */
+    static Ticker system() {
+        return SystemTicker.INSTANCE;
+    }
+
+    /**
+     * Returns the current time in milliseconds. The time must never decrease, and should be
+     * the epoch time if the cache is written to a {@link CacheSnapshot}.
+     *
+     * @return the current time in milliseconds
+     */
+    long read();
+
+    enum SystemTicker implements Ticker {
+        INSTANCE;
+
+        @Override
+        public long read() {
+            return System.currentTimeMillis();
+        }
+    }
+
+}
@@ -1,150 +1,601 @@
 package dev.spoocy.utils.common.cache;
 
+import dev.spoocy.utils.common.exceptions.WrappedException;
+import dev.spoocy.utils.common.misc.Args;
+import dev.spoocy.utils.common.scheduler.Scheduler;
+import dev.spoocy.utils.common.scheduler.task.ScheduledTask;
+import dev.spoocy.utils.common.scheduler.task.Task;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
+ * A cache whose entries expire a fixed time after they were written, or after the time to live
+ * calculated per entry by an {@link Expiry}.
+ * <p>
+ * Entries are indexed by a {@link TimerWheel}, which removes them proactively once their time
+ * to live has passed. The wheel advances on every write and periodically on a shared sweeper
+ * thread, so expired entries do not accumulate even if their keys are never read again.
+ * <p>
+ * If built with a size or weight bound, the entries that expire the soonest are evicted
+ * once the bound is exceeded.
+ *
  * @author Spoocy99 | GitHub: Spoocy99
  */
 
 public class TimedCache<K, V> implements Cache<K, V> {
 
-    private final Map<K, CacheEntry<V>> map = new ConcurrentHashMap<>();
-    private final long ttlMillis;
+    private final Map<K, TimerNode<K, V>> map = new ConcurrentHashMap<>();
+    private final Map<K, Load<V>> loading = new ConcurrentHashMap<>();
+    private final Expiry<K, V> expiry;
+    private final long maximum;
+    private final Weigher<K, V> weigher;
+    final StatsCounter stats;
+    private final Ticker ticker;
+
+    private final ReentrantLock timerLock = new ReentrantLock();
+    private final TimerWheel<K, V> wheel;
+
+    // guarded by the timer lock, the total weight of the scheduled nodes
+    private volatile long weightedSize;
 
     public TimedCache(long ttlMillis) {
-        this.ttlMillis = ttlMillis;
+        this(new CacheBuilder<K, V>().expireAfterWrite(ttlMillis, TimeUnit.MILLISECONDS));
         Caches.register(this);
     }
 
+    TimedCache(@NotNull CacheBuilder<K, V> builder) {
+        this.expiry = builder.expiry();
+        this.maximum = builder.isBounded() ? builder.maximum() : Long.MAX_VALUE;
+        this.weigher = builder.weigher();
+        this.stats = builder.statsCounter();
+        this.ticker = builder.ticker();
+        this.wheel = new TimerWheel<>(now());
+        ExpirySweeper.register(this);
+    }
+
+    /**
+     * Removes all entries whose time to live has passed.
+     */
+    public void cleanUp() {
+        this.timerLock.lock();
+        try {
+            expireEntries();
+        } finally {
+            this.timerLock.unlock();
+        }
+    }
+
     @Nullable
-    private CacheEntry<V> getEntry(K key) {
-        CacheEntry<V> entry = this.map.get(key);
-        if (entry == null) return null;
-        if (System.currentTimeMillis() > entry.getExpiryTime()) {
-            this.map.remove(key);
+    TimerNode<K, V> getNode(K key) {
+        TimerNode<K, V> node = this.map.get(key);
+        if (node == null) return null;
+        if (node.isExpired(now())) {
+            if (this.map.remove(node.key, node)) {
+                this.stats.recordEviction(RemovalCause.EXPIRED);
+                descheduleRemoved(node);
+            }
             return null;
         }
-        return entry;
+        return node;
+    }
+
+    @Override
+    public boolean contains(@NotNull K key) {
+        return getNode(key) != null;
+    }
+
+    @Override
+    public void add(@NotNull K key, @Nullable V value) {
+        List<TimerNode<K, V>> prior = new ArrayList<>(1);
+        TimerNode<K, V> node = this.map.compute(key, (k, existing) -> {
+            prior.add(existing);
+            return newNode(k, value, existing);
+        });
+        afterWrite(node, prior.get(0));
     }
 
-    private static class CacheEntry<V> {
-        final @Nullable V value;
-        final long expiryTime;
+    /**
+     * Replaces the entry of the key only if it is still the expected node.
+     *
+     * @param expected the node that must be mapped, or {@code null} if the key must be absent
+     *
+     * @return whether the value was written
+     */
+    boolean replace(@NotNull K key, @Nullable TimerNode<K, V> expected, @Nullable V value) {
+        TimerNode<K, V> node = newNode(key, value, expected);
+        boolean replaced = expected == null
+                ? this.map.putIfAbsent(key, node) == null
+                : this.map.replace(key, expected, node);
 
-        private CacheEntry(@Nullable V value, long expiryTime) {
-            this.value = value;
-            this.expiryTime = expiryTime;
+        if (replaced) {
+            afterWrite(node, expected);
         }
+        return replaced;
+    }
 
-        @Nullable
-        public V getValue() {
-            return value;
+    /**
+     * Adds an entry restored from a {@link CacheSnapshot} with its original write and expiration
+     * time, unless the key was written in the meantime. The entry expires no later than the
+     * {@link Expiry} of this cache allows for a new entry.
+     *
+     * @return whether the entry was added
+     */
+    boolean restore(@NotNull K key, @NotNull V value, long writeTime, long expiresAt) {
+        long now = now();
+        long writtenAt = Math.min(writeTime, now);
+        expiresAt = Math.min(expiresAt, expiresAt(writtenAt, this.expiry.expireAfterCreate(key, value, writtenAt)));
+        if (expiresAt <= now) {
+            return false;
         }
 
-        public long getExpiryTime() {
-            return expiryTime;
+        TimerNode<K, V> node = newNode(key, value, writtenAt, expiresAt);
+        if (this.map.putIfAbsent(key, node) != null) {
+            return false;
         }
+        afterWrite(node, null);
+        return true;
     }
 
-    @Override
-    public boolean contains(@NotNull K key) {
-        return this.map.containsKey(key);
+    /**
+     * Passes the live entries with a value to the action, in no particular order.
+     */
+    void forEachNode(@NotNull Consumer<? super TimerNode<K, V>> action) {
+        liveNodes()
+                .filter(node -> node.value != null)
+                .forEach(action);
     }
 
-    @Override
-    public void add(@NotNull K key, @Nullable V value) {
-        this.map.put(key, new CacheEntry<>(value, System.currentTimeMillis() + ttlMillis));
+    /**
+     * Creates the node replacing the given one, its expiration time is calculated by the
+     * {@link Expiry} as an update if the prior node is still live and as a creation otherwise.
+     */
+    private TimerNode<K, V> newNode(@NotNull K key, @Nullable V value, @Nullable TimerNode<K, V> prior) {
+        long now = now();
+        long duration = prior == null || prior.isExpired(now)
+                ? this.expiry.expireAfterCreate(key, value, now)
+                : this.expiry.expireAfterUpdate(key, value, now, prior.expiresAt - now);
+        return newNode(key, value, now, expiresAt(now, duration));
+    }
+
+    private TimerNode<K, V> newNode(@NotNull K key, @Nullable V value, long writeTime, long expiresAt) {
+        TimerNode<K, V> node = new TimerNode<>(key, value, expiresAt);
+        node.writeTime = writeTime;
+        node.weight = Args.notNegative(this.weigher.weigh(key, value), "weight");
+        return node;
     }
 
+    /**
+     * Lets the {@link Expiry} adjust the expiration time of a node that was read, moving it to
+     * another bucket of the wheel if it changed.
+     */
+    void afterRead(@NotNull TimerNode<K, V> node) {
+        long now = now();
+        long expiresAt = expiresAt(now, this.expiry.expireAfterRead(node.key, node.value, now, node.expiresAt - now));
+        if (expiresAt == node.expiresAt) {
+            return;
+        }
+
+        this.timerLock.lock();
+        try {
+            if (node.isAlive()) {
+                node.expiresAt = expiresAt;
+                if (node.linked) {
+                    this.wheel.reschedule(node);
+                }
+            }
+        } finally {
+            this.timerLock.unlock();
+        }
+    }
+
+    private static long expiresAt(long now, long duration) {
+        long expiresAt = now + Math.max(duration, 0);
+        return expiresAt < now ? Long.MAX_VALUE : expiresAt;
+    }
+
+    private void afterWrite(@NotNull TimerNode<K, V> node, @Nullable TimerNode<K, V> prior) {
+        this.timerLock.lock();
+        try {
+            schedule(node, prior);
+            expireEntries();
+            evictEntries(this.maximum);
+        } finally {
+            this.timerLock.unlock();
+        }
+    }
+
+    private void schedule(@NotNull TimerNode<K, V> node, @Nullable TimerNode<K, V> prior) {
+        if (prior != null) {
+            prior.retire();
+            deschedule(prior);
+            this.stats.recordEviction(prior.isExpired(now()) ? RemovalCause.EXPIRED : RemovalCause.REPLACED);
+        }
+        if (node.isAlive()) {
+            this.wheel.schedule(node);
+            this.weightedSize += node.weight;
+        }
+    }
+
+    /**
+     * Adds all entries, taking the timer lock once for the whole batch.
+     */
     @Override
     public void addAll(@NotNull Map<? extends K, ? extends V> map) {
-        map.forEach(this::add);
+        if (map.isEmpty()) {
+            return;
+        }
+
+        List<TimerNode<K, V>> nodes = new ArrayList<>(map.size());
+        List<TimerNode<K, V>> priors = new ArrayList<>(map.size());
+        for (Map.Entry<? extends K, ? extends V> entry : map.entrySet()) {
+            nodes.add(this.map.compute(entry.getKey(), (key, existing) -> {
+                priors.add(existing);
+                return newNode(key, entry.getValue(), existing);
+            }));
+        }
+
+        this.timerLock.lock();
+        try {
+            for (int i = 0; i < nodes.size(); i++) {
+                schedule(nodes.get(i), priors.get(i));
+            }
+            expireEntries();
+            evictEntries(this.maximum);
+        } finally {
+            this.timerLock.unlock();
+        }
+    }
+
+    /**
+     * Looks up all keys without locking and loads the missing ones in one call of the bulk
+     * loader. The loaded entries are added as one batch.
+     */
+    @Override
+    public Map<K, V> getAll(@NotNull Iterable<? extends K> keys, @NotNull Function<? super Set<K>, ? extends Map<? extends K, ? extends V>> bulkLoader) {
+        Map<K, V> result = new LinkedHashMap<>();
+        Set<K> missing = new LinkedHashSet<>();
+        for (K key : keys) {
+            TimerNode<K, V> node = getNode(key);
+            if (node != null && node.value != null) {
+                afterRead(node);
+                result.put(key, node.value);
+            } else {
+                missing.add(key);
+            }
+        }
+
+        this.stats.recordHits(result.size());
+        this.stats.recordMisses(missing.size());
+        if (missing.isEmpty()) {
+            return result;
+        }
+
+        Map<? extends K, ? extends V> loaded = this.stats.<Set<K>, Map<? extends K, ? extends V>>instrument(bulkLoader)
+                .apply(Collections.unmodifiableSet(missing));
+        Caches.addLoaded(this, missing, loaded, result);
+        return result;
     }
 
     @Override
     public void remove(@NotNull K key) {
-        this.map.remove(key);
+        TimerNode<K, V> node = this.map.remove(key);
+        if (node != null) {
+            descheduleRemoved(node);
+            this.stats.recordEviction(RemovalCause.EXPLICIT);
+        }
     }
 
     @Override
     public V get(@NotNull K key) {
-        CacheEntry<V> entry = getEntry(key);
-        return entry != null ? entry.getValue() : null;
+        return lookup(key);
     }
 
     @Override
     public V getOrDefault(@NotNull K key, @Nullable V defaultValue) {
-        V value = this.get(key);
+        V value = lookup(key);
         return value != null ? value : defaultValue;
     }
 
+    /**
+     * Returns the value of the key, computing it if absent. Loads are single-flight: concurrent
+     * callers for the same key wait for one in-flight computation, callers for other keys are
+     * not blocked.
+     *
+     * @throws IllegalStateException if the mapping function computes the same key again
+     */
     @Override
     public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
-        V value = this.get(key);
+        V value = lookup(key);
+        if (value != null) {
+            return value;
+        }
+
+        Load<V> future = new Load<>(Thread.currentThread());
+        Load<V> inFlight = this.loading.putIfAbsent(key, future);
+        if (inFlight != null) {
+            return join(inFlight);
+        }
+
+        try {
+            value = load(key, mappingFunction);
+            future.complete(value);
+            return value;
+        } catch (Throwable ex) {
+            future.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            this.loading.remove(key, future);
+        }
+    }
+
+    /**
+     * Single-flight variant of {@link Cache#computeIfAbsentAsync(Object, Function)}. Callers that
+     * find a load in flight are notified through the returned task instead of parking a thread.
+     */
+    @Override
+    public Task<V> computeIfAbsentAsync(@NotNull K key, @NotNull Function<? super K, ? extends V> mappingFunction) {
+        Task<V> task = ScheduledTask.create();
+
+        V value = lookup(key);
+        if (value != null) {
+            task.complete(value);
+            return task;
+        }
+
+        Load<V> future = new Load<>(null);
+        Load<V> inFlight = this.loading.putIfAbsent(key, future);
+
+        if (inFlight == null) {
+            inFlight = future;
+            // completed inside the callable, callbacks attached to the task could miss a load that already finished
+            try {
+                Scheduler.runAsyncCallable(() -> {
+                    future.owner = Thread.currentThread();
+                    V loaded;
+                    try {
+                        loaded = load(key, mappingFunction);
+                    } catch (Throwable ex) {
+                        this.loading.remove(key, future);
+                        future.completeExceptionally(ex);
+                        return null;
+                    }
+
+                    this.loading.remove(key, future);
+                    future.complete(loaded);
+                    return loaded;
+                });
+            } catch (RuntimeException ex) {
+                this.loading.remove(key, future);
+                future.completeExceptionally(ex);
+            }
+        }
+
+        inFlight.whenComplete((result, ex) -> {
+            if (ex != null) {
+                task.fail(ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex);
+            } else {
+                task.complete(result);
+            }
+        });
+        return task;
+    }
+
+    private V load(K key, Function<? super K, ? extends V> mappingFunction) {
+        // a load that finished between the miss and claiming the key already cached the value
+        V value = peek(key);
         if (value == null) {
-            value = mappingFunction.apply(key);
+            value = this.stats.<K, V>instrument(mappingFunction).apply(key);
             this.add(key, value);
         }
         return value;
     }
 
+    @Nullable
+    private V peek(K key) {
+        TimerNode<K, V> node = getNode(key);
+        return node != null ? node.value : null;
+    }
+
+    @Nullable
+    V lookup(K key) {
+        TimerNode<K, V> node = getNode(key);
+        V value = node != null ? node.value : null;
+        if (value != null) {
+            afterRead(node);
+            this.stats.recordHits(1);
+        } else {
+            this.stats.recordMisses(1);
+        }
+        return value;
+    }
+
+    private static <V> V join(@NotNull Load<V> future) {
+        // the owner waiting for its own load would never wake up
+        if (future.owner == Thread.currentThread()) {
+            throw new IllegalStateException("Recursive update");
+        }
+
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            WrappedException.rethrow(ex.getCause() != null ? ex.getCause() : ex);
+            return null;
+        }
+    }
+
     @Override
     public int size() {
+        cleanUp();
         return this.map.size();
     }
 
     @Override
     public boolean isEmpty() {
-        return this.map.isEmpty();
+        return size() == 0;
     }
 
     @Override
     public Set<K> keys() {
-        return this.map.keySet();
+        return liveNodes()
+                .map(node -> node.key)
+                .collect(Collectors.toSet());
     }
 
     @Override
     public Set<V> values() {
-        return this.map.values()
-                .stream()
-                .map(CacheEntry::getValue)
+        return liveNodes()
+                .map(node -> node.value)
                 .filter(Objects::nonNull)
                 .collect(Collectors.toSet());
     }
 
     @Override
     public void clear() {
-        this.map.clear();
+        this.timerLock.lock();
+        try {
+            for (TimerNode<K, V> node : this.map.values()) {
+                if (this.map.remove(node.key, node)) {
+                    node.retire();
+                    this.stats.recordEviction(RemovalCause.EXPLICIT);
+                }
+            }
+            this.wheel.clear();
+            this.weightedSize = 0;
+        } finally {
+            this.timerLock.unlock();
+        }
+    }
+
+    /**
+     * Evicts the entries that expire the soonest until the total weight is at most the given
+     * fraction of the current weight.
+     */
+    @Override
+    public int trim(double fraction) {
+        this.timerLock.lock();
+        try {
+            expireEntries();
+            return evictEntries(Caches.trimTarget(this.weightedSize, fraction));
+        } finally {
+            this.timerLock.unlock();
+        }
+    }
+
+    @Override
+    public CacheStats stats() {
+        return this.stats.snapshot(this.weightedSize);
     }
 
     @Override
     public @NotNull Iterator<Map.Entry<K, V>> iterator() {
-        return this.map.entrySet()
-                .stream()
-                .map(e -> Map.entry(e.getKey(), e.getValue().getValue()))
-                .filter(e -> e.getValue() != null)
+        return liveNodes()
+                .filter(node -> node.value != null)
+                .<Map.Entry<K, V>>map(node -> new AbstractMap.SimpleImmutableEntry<>(node.key, node.value))
                 .collect(Collectors.toSet())
                 .iterator();
     }
 
+    private Stream<TimerNode<K, V>> liveNodes() {
+        cleanUp();
+        long now = now();
+        return this.map.values()
+                .stream()
+                .filter(node -> !node.isExpired(now));
+    }
+
+    private void descheduleRemoved(@NotNull TimerNode<K, V> node) {
+        this.timerLock.lock();
+        try {
+            node.retire();
+            deschedule(node);
+        } finally {
+            this.timerLock.unlock();
+        }
+    }
+
+    private void deschedule(@NotNull TimerNode<K, V> node) {
+        if (node.linked) {
+            this.wheel.deschedule(node);
+            this.weightedSize -= node.weight;
+        }
+    }
+
+    private void expireEntries() {
+        this.wheel.advance(now(), node -> {
+            this.weightedSize -= node.weight;
+
+            // a node that was replaced concurrently is retired by its writer
+            if (this.map.remove(node.key, node)) {
+                node.retire();
+                this.stats.recordEviction(RemovalCause.EXPIRED);
+            }
+            return true;
+        });
+    }
+
+    private int evictEntries(long maximum) {
+        int evicted = 0;
+        while (this.weightedSize > maximum) {
+            TimerNode<K, V> node = this.wheel.pollFirst();
+            if (node == null) {
+                break;
+            }
+
+            this.weightedSize -= node.weight;
+            if (this.map.remove(node.key, node)) {
+                node.retire();
+                this.stats.recordEviction(RemovalCause.SIZE);
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    long now() {
+        return this.ticker.read();
+    }
+
     @Override
     public String toString() {
         StringBuilder c = new StringBuilder("TimedCache{");
-        c.append("ttlMillis=").append(ttlMillis).append(", ");
-        for(K key : keys()) {
-            c.append(key).append("=").append(get(key)).append(", ");
+        c.append("expiry=").append(expiry).append(", ");
+        for (Map.Entry<K, V> entry : this) {
+            c.append(entry.getKey()).append("=").append(entry.getValue()).append(", ");
         }
         return c + "}";
     }
 
-}
+    /**
+     * An in-flight load, which remembers the thread running it to detect recursive loads.
+     */
+    private static final class Load<V> extends CompletableFuture<V> {
+
+        private volatile Thread owner;
+
+        private Load(@Nullable Thread owner) {
+            this.owner = owner;
+        }
 
+    }
+
+}
@@ -0,0 +1,91 @@
+package dev.spoocy.utils.common.cache;
+
+import dev.spoocy.utils.common.scheduler.Scheduler;
+import dev.spoocy.utils.common.scheduler.task.ScheduledTask;
+import dev.spoocy.utils.common.scheduler.task.Task;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * A {@link TimedCache} that loads missing values and refreshes entries ahead of their expiration.
+ * <p>
+ * Once an entry is older than the refresh interval, the next read triggers a reload on the
+ * {@link Scheduler} and returns the current value right away. As long as a key is read between
+ * its refresh and its expiration, readers never wait for a load. Failed reloads keep the current
+ * value and are recorded as load failures in the {@link CacheStats}.
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ */
+
+public class TimedLoadingCache<K, V> extends TimedCache<K, V> implements LoadingCache<K, V> {
+
+    private final Function<? super K, ? extends V> loader;
+    private final long refreshAfterMillis;
+    private final Map<K, Task<V>> refreshing = new ConcurrentHashMap<>();
+
+    TimedLoadingCache(@NotNull CacheBuilder<K, V> builder, @NotNull Function<? super K, ? extends V> loader) {
+        super(builder);
+        this.loader = loader;
+        this.refreshAfterMillis = builder.refreshAfterWriteMillis();
+    }
+
+    @Override
+    public V get(@NotNull K key) {
+        TimerNode<K, V> node = getNode(key);
+        V value = node != null ? node.value : null;
+        if (value == null) {
+            return computeIfAbsent(key, this.loader);
+        }
+
+        afterRead(node);
+        this.stats.recordHits(1);
+        if (now() - node.writeTime >= this.refreshAfterMillis) {
+            refresh(key, node);
+        }
+        return value;
+    }
+
+    @Override
+    public @Nullable V getIfPresent(@NotNull K key) {
+        return lookup(key);
+    }
+
+    @Override
+    public Task<V> refresh(@NotNull K key) {
+        return refresh(key, getNode(key));
+    }
+
+    private Task<V> refresh(@NotNull K key, @Nullable TimerNode<K, V> expected) {
+        Task<V> task = ScheduledTask.create();
+        Task<V> inFlight = this.refreshing.putIfAbsent(key, task);
+        if (inFlight != null) {
+            return inFlight;
+        }
+
+        Scheduler.runAsyncCallable(() -> {
+            V value;
+            try {
+                value = this.stats.<K, V>instrument(this.loader).apply(key);
+            } catch (Throwable ex) {
+                this.refreshing.remove(key, task);
+                task.fail(ex);
+                return null;
+            }
+
+            // an entry that was written or removed meanwhile is newer than the reloaded value
+            if (value != null) {
+                replace(key, expected, value);
+            }
+
+            this.refreshing.remove(key, task);
+            task.complete(value);
+            return value;
+        });
+        return task;
+    }
+
+}
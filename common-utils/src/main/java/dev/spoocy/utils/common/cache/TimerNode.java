@@ -0,0 +1,27 @@
+package dev.spoocy.utils.common.cache;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A {@link Node} that expires at a fixed point in time. The inherited links are used to
+ * chain the node into a bucket of the {@link TimerWheel}.
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ */
+
+class TimerNode<K, V> extends Node<K, V> {
+
+    volatile long expiresAt;
+    long writeTime;
+
+    TimerNode(@NotNull K key, @Nullable V value, long expiresAt) {
+        super(key, value);
+        this.expiresAt = expiresAt;
+    }
+
+    boolean isExpired(long now) {
+        return now >= this.expiresAt;
+    }
+
+}
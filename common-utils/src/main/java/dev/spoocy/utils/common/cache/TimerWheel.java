@@ -0,0 +1,214 @@
+package dev.spoocy.utils.common.cache;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.function.Predicate;
+
+/**
+ * A hierarchical timing wheel that expires {@link TimerNode}s in amortized O(1) time.
+ * <p>
+ * The wheel consists of levels of buckets with increasingly coarse spans: 64 buckets of 64 ms,
+ * 64 of ~4 seconds, 64 of ~4.4 minutes, 32 of ~4.7 hours and a single overflow bucket for
+ * everything further out. A node is placed in the bucket that covers its expiration time.
+ * When the wheel advances, the buckets that were passed are emptied. Expired nodes are handed
+ * to the eviction callback, nodes that are not yet due cascade down into a finer level.
+ * Not thread safe, callers guard it with a lock.
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ */
+
+class TimerWheel<K, V> {
+
+    private static final int[] BUCKETS = {64, 64, 64, 32, 1};
+    private static final int[] SHIFT = {6, 12, 18, 24, 29};
+    private static final long[] SPANS = {
+            1L << 6,    // 64 ms
+            1L << 12,   // 4.1 seconds
+            1L << 18,   // 4.4 minutes
+            1L << 24,   // 4.7 hours
+            1L << 29,   // 6.2 days
+            1L << 29
+    };
+
+    private final Sentinel<K, V>[][] wheel;
+    private long time;
+
+    TimerWheel(long now) {
+        this.time = now;
+        this.wheel = newLevels(BUCKETS.length);
+        for (int i = 0; i < BUCKETS.length; i++) {
+            this.wheel[i] = newBuckets(BUCKETS[i]);
+            for (int j = 0; j < BUCKETS[i]; j++) {
+                this.wheel[i][j] = new Sentinel<>();
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K, V> Sentinel<K, V>[][] newLevels(int length) {
+        return (Sentinel<K, V>[][]) new Sentinel<?, ?>[length][];
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K, V> Sentinel<K, V>[] newBuckets(int length) {
+        return (Sentinel<K, V>[]) new Sentinel<?, ?>[length];
+    }
+
+    /**
+     * Adds a node that is not yet part of the wheel.
+     */
+    void schedule(@NotNull TimerNode<K, V> node) {
+        Sentinel<K, V> sentinel = findBucket(node.expiresAt);
+        node.prev = sentinel.prev;
+        node.next = sentinel;
+        sentinel.prev.next = node;
+        sentinel.prev = node;
+        node.linked = true;
+    }
+
+    /**
+     * Moves a node to the bucket matching its current expiration time.
+     */
+    void reschedule(@NotNull TimerNode<K, V> node) {
+        if (node.linked) {
+            unlink(node);
+        }
+        schedule(node);
+    }
+
+    /**
+     * Removes a node from the wheel, if it is part of it.
+     */
+    void deschedule(@NotNull TimerNode<K, V> node) {
+        if (node.linked) {
+            unlink(node);
+        }
+    }
+
+    /**
+     * Advances the wheel to the given time and expires all nodes that are due.
+     *
+     * @param now   the current time in milliseconds
+     * @param evict called with every due node, returns {@code false} if the node must stay scheduled
+     */
+    void advance(long now, @NotNull Predicate<TimerNode<K, V>> evict) {
+        long previous = this.time;
+        this.time = now;
+
+        for (int i = 0; i < SHIFT.length; i++) {
+            long previousTicks = previous >>> SHIFT[i];
+            long currentTicks = now >>> SHIFT[i];
+            long delta = currentTicks - previousTicks;
+            if (delta <= 0) {
+                break;
+            }
+            expire(i, previousTicks, delta, evict);
+        }
+    }
+
+    /**
+     * Removes and returns the node that expires approximately the soonest. Buckets are scanned
+     * in the order they expire, so the result is exact up to the span of a bucket.
+     *
+     * @return the node, or {@code null} if the wheel is empty
+     */
+    @Nullable
+    TimerNode<K, V> pollFirst() {
+        for (int i = 0; i < this.wheel.length; i++) {
+            Sentinel<K, V>[] buckets = this.wheel[i];
+            int mask = buckets.length - 1;
+            int start = (int) ((this.time >>> SHIFT[i]) & mask);
+
+            for (int j = start; j < start + buckets.length; j++) {
+                Sentinel<K, V> sentinel = buckets[j & mask];
+                if (sentinel.next != sentinel) {
+                    TimerNode<K, V> node = (TimerNode<K, V>) sentinel.next;
+                    unlink(node);
+                    return node;
+                }
+            }
+        }
+        return null;
+    }
+
+    void clear() {
+        for (Sentinel<K, V>[] buckets : this.wheel) {
+            for (Sentinel<K, V> sentinel : buckets) {
+                Node<K, V> node = sentinel.next;
+                while (node != sentinel) {
+                    Node<K, V> next = node.next;
+                    node.prev = null;
+                    node.next = null;
+                    node.linked = false;
+                    node = next;
+                }
+                sentinel.prev = sentinel;
+                sentinel.next = sentinel;
+            }
+        }
+    }
+
+    private void expire(int level, long previousTicks, long delta, @NotNull Predicate<TimerNode<K, V>> evict) {
+        Sentinel<K, V>[] buckets = this.wheel[level];
+        int mask = buckets.length - 1;
+        int steps = (int) Math.min(1 + delta, buckets.length);
+        int start = (int) (previousTicks & mask);
+
+        for (int i = start; i < start + steps; i++) {
+            Sentinel<K, V> sentinel = buckets[i & mask];
+            Node<K, V> node = sentinel.next;
+            sentinel.prev = sentinel;
+            sentinel.next = sentinel;
+
+            while (node != sentinel) {
+                Node<K, V> next = node.next;
+                TimerNode<K, V> timer = (TimerNode<K, V>) node;
+                timer.prev = null;
+                timer.next = null;
+                timer.linked = false;
+
+                if (!timer.isExpired(this.time) || !evict.test(timer)) {
+                    schedule(timer);
+                }
+                node = next;
+            }
+        }
+    }
+
+    private void unlink(@NotNull TimerNode<K, V> node) {
+        node.prev.next = node.next;
+        node.next.prev = node.prev;
+        node.prev = null;
+        node.next = null;
+        node.linked = false;
+    }
+
+    private Sentinel<K, V> findBucket(long expiresAt) {
+        // nodes that are already due go into the current bucket and expire on the next tick
+        long time = Math.max(expiresAt, this.time);
+        long duration = time - this.time;
+        int length = this.wheel.length - 1;
+
+        for (int i = 0; i < length; i++) {
+            if (duration < SPANS[i + 1]) {
+                long ticks = time >>> SHIFT[i];
+                int index = (int) (ticks & (this.wheel[i].length - 1));
+                return this.wheel[i][index];
+            }
+        }
+        return this.wheel[length][0];
+    }
+
+    private static final class Sentinel<K, V> extends TimerNode<K, V> {
+
+        @SuppressWarnings("ConstantConditions")
+        Sentinel() {
+            super(null, null, Long.MAX_VALUE);
+            this.prev = this;
+            this.next = this;
+        }
+
+    }
+
+}
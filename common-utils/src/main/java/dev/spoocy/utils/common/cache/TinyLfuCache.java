@@ -0,0 +1,185 @@
+package dev.spoocy.utils.common.cache;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A size bounded cache using the Window TinyLFU eviction policy.
+ * <p>
+ * New entries enter a small LRU admission window (1% of the maximum). Once the cache is full,
+ * entries leaving the window compete for a place in the main region, a segmented LRU made of a
+ * probation and a protected segment (80% of the main region). A candidate is only admitted if
+ * a {@link FrequencySketch} estimates it to be more popular than the probation entry it would
+ * evict, which keeps one-off scans from flushing frequently used entries out of the cache.
+ * <p>
+ * With a {@link Weigher} the regions are bounded by the weight of their entries instead of
+ * their number, and the sketch grows with the number of entries.
+ * <p>
+ * Reads are lock free, see {@link AbstractBoundedCache}.
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ */
+
+public class TinyLfuCache<K, V> extends AbstractBoundedCache<K, V> {
+
+    private static final byte WINDOW = 0;
+    private static final byte PROBATION = 1;
+    private static final byte PROTECTED = 2;
+
+    private final long windowMax;
+    private final long mainMax;
+    private final long protectedMax;
+
+    private long windowWeight;
+    private long probationWeight;
+    private long protectedWeight;
+
+    private final AccessOrderDeque<K, V> window = new AccessOrderDeque<>();
+    private final AccessOrderDeque<K, V> probation = new AccessOrderDeque<>();
+    private final AccessOrderDeque<K, V> protectedDeque = new AccessOrderDeque<>();
+    private final FrequencySketch sketch;
+
+    public TinyLfuCache(int capacity) {
+        this(new CacheBuilder<K, V>().maximumSize(capacity));
+        Caches.register(this);
+    }
+
+    TinyLfuCache(@NotNull CacheBuilder<K, V> builder) {
+        super(builder);
+        this.windowMax = Math.max(1, this.maximum / 100);
+        this.mainMax = this.maximum - this.windowMax;
+        this.protectedMax = (long) (this.mainMax * 0.8);
+        // sized lazily from the number of entries, so a large maximum does not allocate upfront
+        this.sketch = new FrequencySketch(16);
+    }
+
+    @Override
+    void onAdd(@NotNull Node<K, V> node) {
+        this.sketch.ensureCapacity(this.data.size());
+
+        this.sketch.increment(node.key);
+        link(node, WINDOW);
+
+        // while the main region has room, entries leaving the window are admitted unconditionally
+        while (this.windowWeight > this.windowMax && this.probationWeight + this.protectedWeight < this.mainMax) {
+            Node<K, V> first = this.window.peekFirst();
+            unlink(first);
+            link(first, PROBATION);
+        }
+    }
+
+    @Override
+    void onAccess(@NotNull Node<K, V> node) {
+        this.sketch.increment(node.key);
+
+        switch (node.queue) {
+            case WINDOW:
+                this.window.moveToLast(node);
+                break;
+            case PROBATION:
+                unlink(node);
+                link(node, PROTECTED);
+                demoteProtected();
+                break;
+            default:
+                this.protectedDeque.moveToLast(node);
+                break;
+        }
+    }
+
+    @Override
+    void onRemove(@NotNull Node<K, V> node) {
+        unlink(node);
+    }
+
+    @Override
+    void onWeightChange(@NotNull Node<K, V> node, long delta) {
+        addWeight(node.queue, delta);
+    }
+
+    @Override
+    @Nullable Node<K, V> selectVictim() {
+        Node<K, V> victim = this.probation.isEmpty() ? this.protectedDeque.peekFirst() : this.probation.peekFirst();
+
+        if (this.windowWeight > this.windowMax) {
+            // the entry leaving the window competes with the main region's victim
+            Node<K, V> candidate = this.window.peekFirst();
+            unlink(candidate);
+
+            if (victim == null || !admit(candidate, victim)) {
+                return candidate;
+            }
+
+            link(candidate, PROBATION);
+        }
+
+        if (victim == null) {
+            victim = this.window.peekFirst();
+            if (victim == null) {
+                return null;
+            }
+        }
+
+        unlink(victim);
+        return victim;
+    }
+
+    @Override
+    void onClear() {
+        this.window.clear();
+        this.probation.clear();
+        this.protectedDeque.clear();
+        this.windowWeight = 0;
+        this.probationWeight = 0;
+        this.protectedWeight = 0;
+    }
+
+    private boolean admit(@NotNull Node<K, V> candidate, @NotNull Node<K, V> victim) {
+        return this.sketch.frequency(candidate.key) > this.sketch.frequency(victim.key);
+    }
+
+    private void demoteProtected() {
+        while (this.protectedWeight > this.protectedMax) {
+            Node<K, V> demoted = this.protectedDeque.peekFirst();
+            unlink(demoted);
+            link(demoted, PROBATION);
+        }
+    }
+
+    private void link(@NotNull Node<K, V> node, byte queue) {
+        node.queue = queue;
+        deque(node).addLast(node);
+        addWeight(queue, node.weight);
+    }
+
+    private void unlink(@NotNull Node<K, V> node) {
+        deque(node).unlink(node);
+        addWeight(node.queue, -node.weight);
+    }
+
+    private void addWeight(byte queue, long delta) {
+        switch (queue) {
+            case WINDOW:
+                this.windowWeight += delta;
+                break;
+            case PROBATION:
+                this.probationWeight += delta;
+                break;
+            default:
+                this.protectedWeight += delta;
+                break;
+        }
+    }
+
+    private AccessOrderDeque<K, V> deque(@NotNull Node<K, V> node) {
+        switch (node.queue) {
+            case WINDOW:
+                return this.window;
+            case PROBATION:
+                return this.probation;
+            default:
+                return this.protectedDeque;
+        }
+    }
+
+}
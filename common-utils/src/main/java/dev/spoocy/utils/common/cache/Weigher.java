@@ -0,0 +1,47 @@
+package dev.spoocy.utils.common.cache;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Calculates the weight of cache entries, used to bound caches by an approximate total
+ * size rather than by the number of entries.
+ *
+ * @see CacheBuilder#maximumWeight(long)
+ * @author Spoocy99 | GitHub: Spoocy99
+ */
+
+@FunctionalInterface
+public interface Weigher<K, V> {
+
+    /**
+     * Returns a weigher that weighs every entry as 1, which bounds a cache by its entry count.
+     *
+     * @return the singleton weigher
+     */
+    @SuppressWarnings("unchecked")
+    static <K, V> Weigher<K, V> singleton() {
+        return (Weigher<K, V>) Singleton.INSTANCE;
+    }
+
+    /**
+     * Returns the weight of an entry. The weight is calculated once when the entry is added
+     * or its value is replaced, it must not change while the entry is cached.
+     *
+     * @param key   the key of the entry
+     * @param value the value of the entry
+     *
+     * @return the non-negative weight of the entry
+     */
+    int weigh(@NotNull K key, @Nullable V value);
+
+    enum Singleton implements Weigher<Object, Object> {
+        INSTANCE;
+
+        @Override
+        public int weigh(@NotNull Object key, @Nullable Object value) {
+            return 1;
+        }
+    }
+
+}
@@ -5,14 +5,28 @@ import org.jetbrains.annotations.NotNull;
 
 import java.lang.reflect.Array;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BinaryOperator;
 import java.util.function.Function;
 import java.util.function.IntFunction;
 import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
 import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
+ * A mutable list wrapper with chainable operations.
+ * <p>
+ * In {@link #parallel()} mode, {@link #filter}, {@link #map}, {@link #anyMatch},
+ * {@link #allMatch}, {@link #max} and {@link #order} split lists of at least
+ * {@link #PARALLEL_THRESHOLD} elements into ranges that are processed on the common
+ * {@link ForkJoinPool}. The results are combined in encounter order, so they equal those of
+ * the sequential mode. The functions passed to these operations must then be thread safe.
+ *
  * @author Spoocy99 | GitHub: Spoocy99
  */
 
@@ -39,6 +53,9 @@ public class Collector<T> implements Iterable<T>, Cloneable {
         return new Collector<>(values);
     }
 
+    /**
+     * @see IntCollector#range(int, int) for a range that does not box the values
+     */
     public static Collector<Integer> range(int start, int end) {
         List<Integer> list = new ArrayList<>();
         for (int i = start; i < end; i++) {
@@ -47,7 +64,13 @@ public class Collector<T> implements Iterable<T>, Cloneable {
         return new Collector<>(list);
     }
 
+    /**
+     * The minimum number of elements for which operations run in parallel in parallel mode.
+     */
+    public static final int PARALLEL_THRESHOLD = 8192;
+
     private final List<T> list;
+    private boolean parallel;
 
     public Collector() {
         this.list = new ArrayList<>();
@@ -92,7 +115,41 @@ public class Collector<T> implements Iterable<T>, Cloneable {
         return this;
     }
 
+    /**
+     * Enables the parallel mode, see {@link Collector}.
+     *
+     * @return this collector
+     */
+    public Collector<T> parallel() {
+        this.parallel = true;
+        return this;
+    }
+
+    public Collector<T> sequential() {
+        this.parallel = false;
+        return this;
+    }
+
+    public boolean isParallel() {
+        return this.parallel;
+    }
+
     public Collector<T> filter(@NotNull Predicate<T> filter) {
+        if (runsParallel()) {
+            List<T> retained = reduce(0, list.size(), (from, to) -> {
+                List<T> part = new ArrayList<>();
+                for (T value : list.subList(from, to)) {
+                    if (filter.test(value)) {
+                        part.add(value);
+                    }
+                }
+                return part;
+            }, Collector::concat);
+            list.clear();
+            list.addAll(retained);
+            return this;
+        }
+
         list.removeIf(value -> !filter.test(value));
         return this;
     }
@@ -162,10 +219,22 @@ public class Collector<T> implements Iterable<T>, Cloneable {
     }
 
     public Optional<T> max(@NotNull ToIntFunction<T> function) {
-        return stream().max(Comparator.comparingInt(function));
+        return max(Comparator.comparingInt(function));
     }
 
     public Optional<T> max(@NotNull Comparator<? super T> comparator) {
+        if (runsParallel()) {
+            // of equal elements the first is kept, like Stream#max
+            BinaryOperator<T> maxBy = BinaryOperator.maxBy(comparator);
+            return Optional.of(reduce(0, list.size(), (from, to) -> {
+                T max = list.get(from);
+                for (T value : list.subList(from + 1, to)) {
+                    max = maxBy.apply(max, value);
+                }
+                return max;
+            }, maxBy));
+        }
+
         return stream().max(comparator);
     }
 
@@ -195,12 +264,40 @@ public class Collector<T> implements Iterable<T>, Cloneable {
         return order(sort, true);
     }
 
+    /**
+     * Sorts the elements by the given key. Each key is extracted once per element, see
+     * {@link KeyComparator#sort(List)}.
+     */
     public Collector<T> order(@NotNull Function<T, ? extends Comparable<?>> sort, boolean ascending) {
-        list.sort((a, b) -> {
-            Comparable<Object> v1 = (Comparable<Object>) sort.apply(a);
-            Comparable<Object> v2 = (Comparable<Object>) sort.apply(b);
-            return ascending ? v1.compareTo(v2) : v2.compareTo(v1);
-        });
+        return order(ComparisonChain.<T>comparator().comparing(sort, ascending).build());
+    }
+
+    /**
+     * Sorts the elements by the given comparator. The sort is stable, equal elements keep
+     * their order.
+     */
+    @SuppressWarnings("unchecked")
+    public Collector<T> order(@NotNull Comparator<? super T> comparator) {
+        // checked first, so the largest lists keep the cached keys as well
+        if (comparator instanceof KeyComparator) {
+            KeyComparator<T> keyComparator = (KeyComparator<T>) comparator;
+            if (runsParallel()) {
+                keyComparator.parallelSort(list);
+            } else {
+                keyComparator.sort(list);
+            }
+            return this;
+        }
+
+        if (runsParallel()) {
+            T[] array = (T[]) list.toArray();
+            Arrays.parallelSort(array, comparator);
+            list.clear();
+            list.addAll(Arrays.asList(array));
+            return this;
+        }
+
+        list.sort(comparator);
         return this;
     }
 
@@ -209,14 +306,44 @@ public class Collector<T> implements Iterable<T>, Cloneable {
     }
 
     public <R> Collector<R> map(@NotNull Function<? super T, ? extends R> mapper) {
+        if (runsParallel()) {
+            List<R> result = reduce(0, list.size(), (from, to) -> {
+                List<R> part = new ArrayList<>(to - from);
+                for (T t : list.subList(from, to)) {
+                    part.add(mapper.apply(t));
+                }
+                return part;
+            }, Collector::concat);
+            return new Collector<>(result).parallel();
+        }
+
         final List<R> result = new ArrayList<>(list.size());
         for (T t : list) {
             result.add(mapper.apply(t));
         }
-        return new Collector<>(result);
+        Collector<R> collector = new Collector<>(result);
+        collector.parallel = this.parallel;
+        return collector;
     }
 
     public boolean anyMatch(@NotNull Predicate<T> filter) {
+        if (runsParallel()) {
+            // ranges stop early once any range found a match
+            AtomicBoolean found = new AtomicBoolean();
+            return reduce(0, list.size(), (from, to) -> {
+                for (T t : list.subList(from, to)) {
+                    if (found.get()) {
+                        return true;
+                    }
+                    if (filter.test(t)) {
+                        found.set(true);
+                        return true;
+                    }
+                }
+                return false;
+            }, (a, b) -> a || b);
+        }
+
         for (T t : list) {
             if (filter.test(t)) {
                 return true;
@@ -226,7 +353,9 @@ public class Collector<T> implements Iterable<T>, Cloneable {
     }
 
     public Collector<T> clone() {
-        return new Collector<>(list);
+        Collector<T> clone = new Collector<>(list);
+        clone.parallel = this.parallel;
+        return clone;
     }
 
     @NotNull
@@ -236,6 +365,10 @@ public class Collector<T> implements Iterable<T>, Cloneable {
     }
 
     public boolean allMatch(@NotNull Function<T, Boolean> filter) {
+        if (runsParallel()) {
+            return !anyMatch(t -> !filter.apply(t));
+        }
+
         for (T t : list) {
             if (!filter.apply(t)) {
                 return false;
@@ -288,15 +421,110 @@ public class Collector<T> implements Iterable<T>, Cloneable {
     }
 
     public int[] asIntArray() {
-        return this.list.stream()
-                .mapToInt(value -> (int) value)
-                .toArray();
+        int[] array = new int[this.list.size()];
+        int index = 0;
+        for (T value : this.list) {
+            array[index++] = (int) value;
+        }
+        return array;
+    }
+
+    public IntCollector mapToInt(@NotNull ToIntFunction<? super T> mapper) {
+        IntCollector result = new IntCollector();
+        for (T value : this.list) {
+            result.add(mapper.applyAsInt(value));
+        }
+        return result;
+    }
+
+    public LongCollector mapToLong(@NotNull ToLongFunction<? super T> mapper) {
+        LongCollector result = new LongCollector();
+        for (T value : this.list) {
+            result.add(mapper.applyAsLong(value));
+        }
+        return result;
+    }
+
+    public DoubleCollector mapToDouble(@NotNull ToDoubleFunction<? super T> mapper) {
+        DoubleCollector result = new DoubleCollector();
+        for (T value : this.list) {
+            result.add(mapper.applyAsDouble(value));
+        }
+        return result;
     }
 
     public Stream<T> stream() {
         return this.list.stream();
     }
 
+    /**
+     * Returns a lazy view of this collector, whose operations are fused into a single pass
+     * that runs on a terminal operation, see {@link LazyCollector}. The elements are read when
+     * the view is evaluated, so later changes to this collector are visible.
+     *
+     * @return a lazy collector of the elements
+     */
+    public LazyCollector<T> lazy() {
+        return LazyCollector.of(this.list);
+    }
+
+    private boolean runsParallel() {
+        return this.parallel && this.list.size() >= PARALLEL_THRESHOLD;
+    }
+
+    /**
+     * Splits the range in halves on the common pool until it is small enough, computes the
+     * leaves and combines the results from left to right.
+     */
+    private static <R> R reduce(int from, int to, @NotNull RangeFunction<R> leaf, @NotNull BinaryOperator<R> combiner) {
+        int grain = Math.max(PARALLEL_THRESHOLD / 8, (to - from) / (ForkJoinPool.getCommonPoolParallelism() * 4));
+        return ForkJoinPool.commonPool().invoke(new RangeTask<>(from, to, grain, leaf, combiner));
+    }
+
+    private static <E> List<E> concat(@NotNull List<E> left, @NotNull List<E> right) {
+        left.addAll(right);
+        return left;
+    }
+
+    @FunctionalInterface
+    private interface RangeFunction<R> {
+
+        R apply(int from, int to);
+
+    }
+
+    private static final class RangeTask<R> extends RecursiveTask<R> {
+
+        private final int from;
+        private final int to;
+        private final int grain;
+        private final RangeFunction<R> leaf;
+        private final BinaryOperator<R> combiner;
+
+        private RangeTask(int from, int to, int grain, @NotNull RangeFunction<R> leaf, @NotNull BinaryOperator<R> combiner) {
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+            this.leaf = leaf;
+            this.combiner = combiner;
+        }
+
+        @Override
+        protected R compute() {
+            if (this.to - this.from <= this.grain) {
+                return this.leaf.apply(this.from, this.to);
+            }
+
+            int middle = (this.from + this.to) >>> 1;
+            RangeTask<R> left = new RangeTask<>(this.from, middle, this.grain, this.leaf, this.combiner);
+            RangeTask<R> right = new RangeTask<>(middle, this.to, this.grain, this.leaf, this.combiner);
+            right.fork();
+            R leftResult = left.compute();
+            return this.combiner.apply(leftResult, right.join());
+        }
+
+    }
+
     public static <T> Collector<T> flatten(@NotNull Collection<? extends Collection<T>> collections) {
         List<T> flatList = new ArrayList<>();
         for (Collection<T> collection : collections) {
@@ -0,0 +1,96 @@
+package dev.spoocy.utils.common.collections;
+
+import dev.spoocy.utils.common.misc.Args;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Builder for {@link KeyComparator} instances. The keys are compared in the order they were
+ * declared, the first key that differs decides.
+ *
+ * <pre>
+ * KeyComparator&lt;Version&gt; comparator = ComparisonChain.&lt;Version&gt;comparator()
+ *         .comparingInt(Version::getMajor)
+ *         .comparingInt(Version::getMinor)
+ *         .comparingInt(Version::getBuild)
+ *         .build();
+ * </pre>
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ */
+
+public final class ComparatorBuilder<T> {
+
+    private final List<KeyComparator.Key<T>> keys = new ArrayList<>();
+
+    ComparatorBuilder() { }
+
+    public ComparatorBuilder<T> comparingInt(@NotNull ToIntFunction<? super T> key) {
+        return comparingInt(key, true);
+    }
+
+    public ComparatorBuilder<T> comparingInt(@NotNull ToIntFunction<? super T> key, boolean ascending) {
+        this.keys.add(new KeyComparator.IntKey<>(key, ascending));
+        return this;
+    }
+
+    public ComparatorBuilder<T> comparingLong(@NotNull ToLongFunction<? super T> key) {
+        return comparingLong(key, true);
+    }
+
+    public ComparatorBuilder<T> comparingLong(@NotNull ToLongFunction<? super T> key, boolean ascending) {
+        this.keys.add(new KeyComparator.LongKey<>(key, ascending));
+        return this;
+    }
+
+    public ComparatorBuilder<T> comparingDouble(@NotNull ToDoubleFunction<? super T> key) {
+        return comparingDouble(key, true);
+    }
+
+    public ComparatorBuilder<T> comparingDouble(@NotNull ToDoubleFunction<? super T> key, boolean ascending) {
+        this.keys.add(new KeyComparator.DoubleKey<>(key, ascending));
+        return this;
+    }
+
+    /**
+     * Compares the keys by their natural order.
+     */
+    public ComparatorBuilder<T> comparing(@NotNull Function<? super T, ? extends Comparable<?>> key) {
+        return comparing(key, true);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public ComparatorBuilder<T> comparing(@NotNull Function<? super T, ? extends Comparable<?>> key, boolean ascending) {
+        Comparator<Comparable<?>> order = (Comparator) (ascending ? Comparator.naturalOrder() : Comparator.reverseOrder());
+        return comparing(key, order);
+    }
+
+    public <U> ComparatorBuilder<T> comparing(@NotNull Function<? super T, ? extends U> key, @NotNull Comparator<? super U> comparator) {
+        this.keys.add(new KeyComparator.ObjectKey<>(key, comparator));
+        return this;
+    }
+
+    /**
+     * Compares the elements themselves by the given comparator.
+     */
+    public ComparatorBuilder<T> thenComparing(@NotNull Comparator<? super T> comparator) {
+        return comparing(Function.identity(), comparator);
+    }
+
+    /**
+     * @throws IllegalArgumentException if no key was declared
+     */
+    @SuppressWarnings("unchecked")
+    public KeyComparator<T> build() {
+        Args.require(!this.keys.isEmpty(), "At least one key must be declared");
+        return new KeyComparator<>(this.keys.toArray(new KeyComparator.Key[0]));
+    }
+
+}
@@ -20,6 +20,18 @@ public abstract class ComparisonChain {
         return ACTIVE;
     }
 
+    /**
+     * Starts a builder for a comparator that compares a fixed list of keys, the compiled
+     * equivalent of a comparison chain that is repeated for every comparison.
+     *
+     * @param <T> the type of the objects being compared
+     *
+     * @return A new ComparatorBuilder instance.
+     */
+    public static <T> ComparatorBuilder<T> comparator() {
+        return new ComparatorBuilder<>();
+    }
+
     /**
      * Compares two comparable objects as specified by {@link Comparable#compareTo}, <i>if</i> the
      * result of this comparison chain has not already been determined.
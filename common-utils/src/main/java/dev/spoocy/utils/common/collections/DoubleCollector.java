@@ -0,0 +1,262 @@
+package dev.spoocy.utils.common.collections;
+
+import dev.spoocy.utils.common.misc.SeededRandom;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.OptionalDouble;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleFunction;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleUnaryOperator;
+import java.util.stream.DoubleStream;
+
+/**
+ * A {@link Collector} of {@code double} values. The values are stored in a growable
+ * {@code double} array, so none of the operations box them: {@link #filter} compacts the array
+ * in place, {@link #order} sorts it in place and {@link #map} and {@link #slice} copy it
+ * into a single new array.
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ */
+
+public class DoubleCollector implements Cloneable {
+
+    private static final int DEFAULT_CAPACITY = 10;
+
+    public static DoubleCollector of(double... values) {
+        return new DoubleCollector(values.clone(), values.length);
+    }
+
+    private double[] values;
+    private int size;
+
+    public DoubleCollector() {
+        this(new double[DEFAULT_CAPACITY], 0);
+    }
+
+    private DoubleCollector(double[] values, int size) {
+        this.values = values;
+        this.size = size;
+    }
+
+    public DoubleCollector add(double value) {
+        ensureCapacity(this.size + 1);
+        this.values[this.size++] = value;
+        return this;
+    }
+
+    public DoubleCollector add(double... values) {
+        ensureCapacity(this.size + values.length);
+        System.arraycopy(values, 0, this.values, this.size, values.length);
+        this.size += values.length;
+        return this;
+    }
+
+    public DoubleCollector add(@NotNull DoubleCollector collector) {
+        ensureCapacity(this.size + collector.size);
+        System.arraycopy(collector.values, 0, this.values, this.size, collector.size);
+        this.size += collector.size;
+        return this;
+    }
+
+    public DoubleCollector remove(int index) {
+        checkIndex(index);
+        System.arraycopy(this.values, index + 1, this.values, index, this.size - index - 1);
+        this.size--;
+        return this;
+    }
+
+    /**
+     * Removes all values that do not match the filter.
+     */
+    public DoubleCollector filter(@NotNull DoublePredicate filter) {
+        int retained = 0;
+        for (int i = 0; i < this.size; i++) {
+            double value = this.values[i];
+            if (filter.test(value)) {
+                this.values[retained++] = value;
+            }
+        }
+        this.size = retained;
+        return this;
+    }
+
+    public DoubleCollector map(@NotNull DoubleUnaryOperator mapper) {
+        double[] result = new double[this.size];
+        for (int i = 0; i < this.size; i++) {
+            result[i] = mapper.applyAsDouble(this.values[i]);
+        }
+        return new DoubleCollector(result, this.size);
+    }
+
+    public <R> Collector<R> mapToObj(@NotNull DoubleFunction<? extends R> mapper) {
+        Collector<R> result = new Collector<>();
+        for (int i = 0; i < this.size; i++) {
+            result.add(mapper.apply(this.values[i]));
+        }
+        return result;
+    }
+
+    /**
+     * Sorts the values in ascending order.
+     */
+    public DoubleCollector order() {
+        return order(true);
+    }
+
+    public DoubleCollector order(boolean ascending) {
+        Arrays.sort(this.values, 0, this.size);
+        if (!ascending) {
+            for (int i = 0, j = this.size - 1; i < j; i++, j--) {
+                double value = this.values[i];
+                this.values[i] = this.values[j];
+                this.values[j] = value;
+            }
+        }
+        return this;
+    }
+
+    /**
+     * @return a collector of the values from index {@code from}, inclusive, to {@code to},
+     *         exclusive, which is capped at the number of values
+     *
+     * @throws IndexOutOfBoundsException if {@code from} is negative or greater than the capped {@code to}
+     */
+    public DoubleCollector slice(int from, int to) {
+        int end = Math.min(to, this.size);
+        Objects.checkFromToIndex(from, end, this.size);
+        return new DoubleCollector(Arrays.copyOfRange(this.values, from, end), end - from);
+    }
+
+    public double get(int index) {
+        checkIndex(index);
+        return this.values[index];
+    }
+
+    public double first() {
+        return get(0);
+    }
+
+    public double last() {
+        return get(this.size - 1);
+    }
+
+    public OptionalDouble findFirst() {
+        return this.size == 0 ? OptionalDouble.empty() : OptionalDouble.of(this.values[0]);
+    }
+
+    public OptionalDouble max() {
+        if (this.size == 0) {
+            return OptionalDouble.empty();
+        }
+
+        double max = this.values[0];
+        for (int i = 1; i < this.size; i++) {
+            max = Math.max(max, this.values[i]);
+        }
+        return OptionalDouble.of(max);
+    }
+
+    public OptionalDouble min() {
+        if (this.size == 0) {
+            return OptionalDouble.empty();
+        }
+
+        double min = this.values[0];
+        for (int i = 1; i < this.size; i++) {
+            min = Math.min(min, this.values[i]);
+        }
+        return OptionalDouble.of(min);
+    }
+
+    public double sum() {
+        double sum = 0;
+        for (int i = 0; i < this.size; i++) {
+            sum += this.values[i];
+        }
+        return sum;
+    }
+
+    public double random() {
+        return get((int) (Math.random() * this.size));
+    }
+
+    public double random(@NotNull SeededRandom random) {
+        return get(random.nextInt(this.size));
+    }
+
+    public boolean anyMatch(@NotNull DoublePredicate filter) {
+        for (int i = 0; i < this.size; i++) {
+            if (filter.test(this.values[i])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean allMatch(@NotNull DoublePredicate filter) {
+        for (int i = 0; i < this.size; i++) {
+            if (!filter.test(this.values[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void forEach(@NotNull DoubleConsumer action) {
+        for (int i = 0; i < this.size; i++) {
+            action.accept(this.values[i]);
+        }
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    public int count() {
+        return this.size;
+    }
+
+    public DoubleCollector clear() {
+        this.size = 0;
+        return this;
+    }
+
+    public double[] asArray() {
+        return Arrays.copyOf(this.values, this.size);
+    }
+
+    public Collector<Double> boxed() {
+        return mapToObj(Double::valueOf);
+    }
+
+    public DoubleStream stream() {
+        return Arrays.stream(this.values, 0, this.size);
+    }
+
+    @Override
+    public DoubleCollector clone() {
+        return new DoubleCollector(asArray(), this.size);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(asArray());
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + this.size);
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > this.values.length) {
+            int grown = this.values.length + (this.values.length >> 1);
+            this.values = Arrays.copyOf(this.values, Math.max(capacity, grown));
+        }
+    }
+
+}
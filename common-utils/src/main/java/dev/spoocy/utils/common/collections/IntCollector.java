@@ -0,0 +1,280 @@
+package dev.spoocy.utils.common.collections;
+
+import dev.spoocy.utils.common.misc.Args;
+import dev.spoocy.utils.common.misc.SeededRandom;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.OptionalInt;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.IntStream;
+
+/**
+ * A {@link Collector} of {@code int} values. The values are stored in a growable
+ * {@code int} array, so none of the operations box them: {@link #filter} compacts the array
+ * in place, {@link #order} sorts it in place and {@link #map} and {@link #slice} copy it
+ * into a single new array.
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ */
+
+public class IntCollector implements Cloneable {
+
+    private static final int DEFAULT_CAPACITY = 10;
+
+    public static IntCollector of(int... values) {
+        return new IntCollector(values.clone(), values.length);
+    }
+
+    /**
+     * @return a collector of the values from {@code start}, inclusive, to {@code end},
+     *         exclusive, which is empty if {@code end <= start}
+     *
+     * @throws IllegalArgumentException if the range holds more than {@link Integer#MAX_VALUE} values
+     */
+    public static IntCollector range(int start, int end) {
+        long length = (long) end - start;
+        Args.require(length <= Integer.MAX_VALUE, "Range [%s, %s) holds %s values, at most %s are supported", start, end, length, Integer.MAX_VALUE);
+
+        int[] values = new int[(int) Math.max(length, 0)];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = start + i;
+        }
+        return new IntCollector(values, values.length);
+    }
+
+    private int[] values;
+    private int size;
+
+    public IntCollector() {
+        this(new int[DEFAULT_CAPACITY], 0);
+    }
+
+    private IntCollector(int[] values, int size) {
+        this.values = values;
+        this.size = size;
+    }
+
+    public IntCollector add(int value) {
+        ensureCapacity(this.size + 1);
+        this.values[this.size++] = value;
+        return this;
+    }
+
+    public IntCollector add(int... values) {
+        ensureCapacity(this.size + values.length);
+        System.arraycopy(values, 0, this.values, this.size, values.length);
+        this.size += values.length;
+        return this;
+    }
+
+    public IntCollector add(@NotNull IntCollector collector) {
+        ensureCapacity(this.size + collector.size);
+        System.arraycopy(collector.values, 0, this.values, this.size, collector.size);
+        this.size += collector.size;
+        return this;
+    }
+
+    public IntCollector remove(int index) {
+        checkIndex(index);
+        System.arraycopy(this.values, index + 1, this.values, index, this.size - index - 1);
+        this.size--;
+        return this;
+    }
+
+    /**
+     * Removes all values that do not match the filter.
+     */
+    public IntCollector filter(@NotNull IntPredicate filter) {
+        int retained = 0;
+        for (int i = 0; i < this.size; i++) {
+            int value = this.values[i];
+            if (filter.test(value)) {
+                this.values[retained++] = value;
+            }
+        }
+        this.size = retained;
+        return this;
+    }
+
+    public IntCollector map(@NotNull IntUnaryOperator mapper) {
+        int[] result = new int[this.size];
+        for (int i = 0; i < this.size; i++) {
+            result[i] = mapper.applyAsInt(this.values[i]);
+        }
+        return new IntCollector(result, this.size);
+    }
+
+    public <R> Collector<R> mapToObj(@NotNull IntFunction<? extends R> mapper) {
+        Collector<R> result = new Collector<>();
+        for (int i = 0; i < this.size; i++) {
+            result.add(mapper.apply(this.values[i]));
+        }
+        return result;
+    }
+
+    /**
+     * Sorts the values in ascending order.
+     */
+    public IntCollector order() {
+        return order(true);
+    }
+
+    public IntCollector order(boolean ascending) {
+        Arrays.sort(this.values, 0, this.size);
+        if (!ascending) {
+            for (int i = 0, j = this.size - 1; i < j; i++, j--) {
+                int value = this.values[i];
+                this.values[i] = this.values[j];
+                this.values[j] = value;
+            }
+        }
+        return this;
+    }
+
+    /**
+     * @return a collector of the values from index {@code from}, inclusive, to {@code to},
+     *         exclusive, which is capped at the number of values
+     *
+     * @throws IndexOutOfBoundsException if {@code from} is negative or greater than the capped {@code to}
+     */
+    public IntCollector slice(int from, int to) {
+        int end = Math.min(to, this.size);
+        Objects.checkFromToIndex(from, end, this.size);
+        return new IntCollector(Arrays.copyOfRange(this.values, from, end), end - from);
+    }
+
+    public int get(int index) {
+        checkIndex(index);
+        return this.values[index];
+    }
+
+    public int first() {
+        return get(0);
+    }
+
+    public int last() {
+        return get(this.size - 1);
+    }
+
+    public OptionalInt findFirst() {
+        return this.size == 0 ? OptionalInt.empty() : OptionalInt.of(this.values[0]);
+    }
+
+    public OptionalInt max() {
+        if (this.size == 0) {
+            return OptionalInt.empty();
+        }
+
+        int max = this.values[0];
+        for (int i = 1; i < this.size; i++) {
+            max = Math.max(max, this.values[i]);
+        }
+        return OptionalInt.of(max);
+    }
+
+    public OptionalInt min() {
+        if (this.size == 0) {
+            return OptionalInt.empty();
+        }
+
+        int min = this.values[0];
+        for (int i = 1; i < this.size; i++) {
+            min = Math.min(min, this.values[i]);
+        }
+        return OptionalInt.of(min);
+    }
+
+    public long sum() {
+        long sum = 0;
+        for (int i = 0; i < this.size; i++) {
+            sum += this.values[i];
+        }
+        return sum;
+    }
+
+    public int random() {
+        return get((int) (Math.random() * this.size));
+    }
+
+    public int random(@NotNull SeededRandom random) {
+        return get(random.nextInt(this.size));
+    }
+
+    public boolean anyMatch(@NotNull IntPredicate filter) {
+        for (int i = 0; i < this.size; i++) {
+            if (filter.test(this.values[i])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean allMatch(@NotNull IntPredicate filter) {
+        for (int i = 0; i < this.size; i++) {
+            if (!filter.test(this.values[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void forEach(@NotNull IntConsumer action) {
+        for (int i = 0; i < this.size; i++) {
+            action.accept(this.values[i]);
+        }
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    public int count() {
+        return this.size;
+    }
+
+    public IntCollector clear() {
+        this.size = 0;
+        return this;
+    }
+
+    public int[] asArray() {
+        return Arrays.copyOf(this.values, this.size);
+    }
+
+    public Collector<Integer> boxed() {
+        return mapToObj(Integer::valueOf);
+    }
+
+    public IntStream stream() {
+        return Arrays.stream(this.values, 0, this.size);
+    }
+
+    @Override
+    public IntCollector clone() {
+        return new IntCollector(asArray(), this.size);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(asArray());
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + this.size);
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > this.values.length) {
+            int grown = this.values.length + (this.values.length >> 1);
+            this.values = Arrays.copyOf(this.values, Math.max(capacity, grown));
+        }
+    }
+
+}
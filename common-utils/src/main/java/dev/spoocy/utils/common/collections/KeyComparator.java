@@ -0,0 +1,335 @@
+package dev.spoocy.utils.common.collections;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * A comparator compiled from a list of sort keys by a {@link ComparatorBuilder}. Elements are
+ * compared key by key until a key differs, like a {@link ComparisonChain}, but without
+ * building a chain per comparison. Primitive keys are compared without boxing.
+ * <p>
+ * {@link #sort(List)} and {@link #parallelSort(List)} extract every key once per element
+ * before sorting, so the key extractors run n times instead of O(n log n) times.
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ */
+
+public final class KeyComparator<T> implements Comparator<T> {
+
+    /**
+     * The minimum size of a list for which {@link #sort(List)} caches the keys.
+     */
+    public static final int CACHED_KEYS_THRESHOLD = 64;
+
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+    private static final int PARALLEL_SORT_GRAIN = 1 << 13;
+
+    private final Key<T>[] keys;
+
+    KeyComparator(@NotNull Key<T>[] keys) {
+        this.keys = keys;
+    }
+
+    @Override
+    public int compare(T left, T right) {
+        for (Key<T> key : this.keys) {
+            int result = key.compare(left, right);
+            if (result != 0) {
+                return result;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Sorts the list by this comparator. The sort is stable, equal elements keep their order.
+     * For lists of at least {@link #CACHED_KEYS_THRESHOLD} elements the keys are extracted
+     * once per element into arrays, and the sort compares those.
+     *
+     * @param list the list to sort, which must be modifiable
+     */
+    public void sort(@NotNull List<T> list) {
+        sort(list, false);
+    }
+
+    /**
+     * Sorts the list like {@link #sort(List)}, but merges the sorted halves of large lists on
+     * the common {@link ForkJoinPool}. The keys are still extracted once per element, on the
+     * calling thread.
+     *
+     * @param list the list to sort, which must be modifiable
+     */
+    public void parallelSort(@NotNull List<T> list) {
+        sort(list, true);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void sort(List<T> list, boolean parallel) {
+        int size = list.size();
+        if (size < CACHED_KEYS_THRESHOLD) {
+            list.sort(this);
+            return;
+        }
+
+        Object[] elements = list.toArray();
+        Column[] columns = new Column[this.keys.length];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = this.keys[i].extract(elements);
+        }
+
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        if (parallel && size > PARALLEL_SORT_GRAIN) {
+            ForkJoinPool.commonPool().invoke(new SortTask(order, new int[size], 0, size, columns));
+        } else {
+            sort(order, new int[size], 0, size, columns);
+        }
+
+        ListIterator<T> iterator = list.listIterator();
+        for (int index : order) {
+            iterator.next();
+            iterator.set((T) elements[index]);
+        }
+    }
+
+    /**
+     * Stable merge sort of the element indices by their cached keys.
+     */
+    private static void sort(int[] order, int[] buffer, int from, int to, Column[] columns) {
+        if (to - from <= INSERTION_SORT_THRESHOLD) {
+            for (int i = from + 1; i < to; i++) {
+                int index = order[i];
+                int j = i - 1;
+                while (j >= from && compare(columns, order[j], index) > 0) {
+                    order[j + 1] = order[j];
+                    j--;
+                }
+                order[j + 1] = index;
+            }
+            return;
+        }
+
+        int middle = (from + to) >>> 1;
+        sort(order, buffer, from, middle, columns);
+        sort(order, buffer, middle, to, columns);
+        merge(order, buffer, from, middle, to, columns);
+    }
+
+    /**
+     * Merges the sorted ranges {@code [from, middle)} and {@code [middle, to)}, taking the left
+     * element first on ties.
+     */
+    private static void merge(int[] order, int[] buffer, int from, int middle, int to, Column[] columns) {
+        if (compare(columns, order[middle - 1], order[middle]) <= 0) {
+            return;
+        }
+
+        System.arraycopy(order, from, buffer, from, to - from);
+        int i = from;
+        int j = middle;
+        int k = from;
+        while (i < middle && j < to) {
+            order[k++] = compare(columns, buffer[j], buffer[i]) < 0 ? buffer[j++] : buffer[i++];
+        }
+        System.arraycopy(buffer, i, order, k, middle - i);
+        k += middle - i;
+        System.arraycopy(buffer, j, order, k, to - j);
+    }
+
+    private static int compare(Column[] columns, int left, int right) {
+        for (Column column : columns) {
+            int result = column.compare(left, right);
+            if (result != 0) {
+                return result;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Sorts the halves of a range in parallel and merges them. The halves write disjoint
+     * ranges of the shared arrays.
+     */
+    private static final class SortTask extends RecursiveAction {
+
+        private final int[] order;
+        private final int[] buffer;
+        private final int from;
+        private final int to;
+        private final Column[] columns;
+
+        SortTask(int[] order, int[] buffer, int from, int to, Column[] columns) {
+            this.order = order;
+            this.buffer = buffer;
+            this.from = from;
+            this.to = to;
+            this.columns = columns;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.to - this.from <= PARALLEL_SORT_GRAIN) {
+                sort(this.order, this.buffer, this.from, this.to, this.columns);
+                return;
+            }
+
+            int middle = (this.from + this.to) >>> 1;
+            invokeAll(
+                    new SortTask(this.order, this.buffer, this.from, middle, this.columns),
+                    new SortTask(this.order, this.buffer, middle, this.to, this.columns)
+            );
+            merge(this.order, this.buffer, this.from, middle, this.to, this.columns);
+        }
+
+    }
+
+    /**
+     * A sort key that can compare two elements directly or extract its values for all
+     * elements of a sort.
+     */
+    abstract static class Key<T> {
+
+        abstract int compare(T left, T right);
+
+        abstract Column extract(Object[] elements);
+
+    }
+
+    /**
+     * The extracted values of a key, compared by element index.
+     */
+    private interface Column {
+
+        int compare(int left, int right);
+
+    }
+
+    static final class IntKey<T> extends Key<T> {
+
+        private final ToIntFunction<? super T> extractor;
+        private final boolean ascending;
+
+        IntKey(@NotNull ToIntFunction<? super T> extractor, boolean ascending) {
+            this.extractor = extractor;
+            this.ascending = ascending;
+        }
+
+        @Override
+        int compare(T left, T right) {
+            int result = Integer.compare(this.extractor.applyAsInt(left), this.extractor.applyAsInt(right));
+            return this.ascending ? result : -result;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        Column extract(Object[] elements) {
+            int[] values = new int[elements.length];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = this.extractor.applyAsInt((T) elements[i]);
+            }
+            return this.ascending
+                    ? (left, right) -> Integer.compare(values[left], values[right])
+                    : (left, right) -> Integer.compare(values[right], values[left]);
+        }
+
+    }
+
+    static final class LongKey<T> extends Key<T> {
+
+        private final ToLongFunction<? super T> extractor;
+        private final boolean ascending;
+
+        LongKey(@NotNull ToLongFunction<? super T> extractor, boolean ascending) {
+            this.extractor = extractor;
+            this.ascending = ascending;
+        }
+
+        @Override
+        int compare(T left, T right) {
+            int result = Long.compare(this.extractor.applyAsLong(left), this.extractor.applyAsLong(right));
+            return this.ascending ? result : -result;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        Column extract(Object[] elements) {
+            long[] values = new long[elements.length];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = this.extractor.applyAsLong((T) elements[i]);
+            }
+            return this.ascending
+                    ? (left, right) -> Long.compare(values[left], values[right])
+                    : (left, right) -> Long.compare(values[right], values[left]);
+        }
+
+    }
+
+    static final class DoubleKey<T> extends Key<T> {
+
+        private final ToDoubleFunction<? super T> extractor;
+        private final boolean ascending;
+
+        DoubleKey(@NotNull ToDoubleFunction<? super T> extractor, boolean ascending) {
+            this.extractor = extractor;
+            this.ascending = ascending;
+        }
+
+        @Override
+        int compare(T left, T right) {
+            int result = Double.compare(this.extractor.applyAsDouble(left), this.extractor.applyAsDouble(right));
+            return this.ascending ? result : -result;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        Column extract(Object[] elements) {
+            double[] values = new double[elements.length];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = this.extractor.applyAsDouble((T) elements[i]);
+            }
+            return this.ascending
+                    ? (left, right) -> Double.compare(values[left], values[right])
+                    : (left, right) -> Double.compare(values[right], values[left]);
+        }
+
+    }
+
+    static final class ObjectKey<T, U> extends Key<T> {
+
+        private final Function<? super T, ? extends U> extractor;
+        private final Comparator<? super U> comparator;
+
+        ObjectKey(@NotNull Function<? super T, ? extends U> extractor, @NotNull Comparator<? super U> comparator) {
+            this.extractor = extractor;
+            this.comparator = comparator;
+        }
+
+        @Override
+        int compare(T left, T right) {
+            return this.comparator.compare(this.extractor.apply(left), this.extractor.apply(right));
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        Column extract(Object[] elements) {
+            Object[] values = new Object[elements.length];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = this.extractor.apply((T) elements[i]);
+            }
+            return (left, right) -> this.comparator.compare((U) values[left], (U) values[right]);
+        }
+
+    }
+
+}
@@ -0,0 +1,308 @@
+package dev.spoocy.utils.common.collections;
+
+import dev.spoocy.utils.common.misc.Args;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * A lazy variant of {@link Collector}. Operations like {@link #filter}, {@link #map} and
+ * {@link #slice} do not copy the elements but are fused into a single pass over the source,
+ * which runs only when a terminal operation like {@link #asList()}, {@link #asSet()},
+ * {@link #first()} or {@link #count()} is called. {@link #findFirst()}, {@link #anyMatch}
+ * and {@link #allMatch} stop the pass as soon as their result is known.
+ * <p>
+ * Every operation returns a new collector and leaves this one unchanged, so a pipeline can be
+ * evaluated multiple times, each time reading the source again. Only {@link #order} needs all
+ * elements at once and buffers them while the pipeline is evaluated.
+ *
+ * <pre>
+ * Set&lt;String&gt; names = LazyCollector.of(clazz.getDeclaredMethods())
+ *         .filter(method -&gt; Modifier.isPublic(method.getModifiers()))
+ *         .map(Method::getName)
+ *         .asSet();
+ * </pre>
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ */
+
+public final class LazyCollector<T> implements Iterable<T> {
+
+    public static <T> LazyCollector<T> of(@NotNull Iterable<T> iterable) {
+        return new LazyCollector<>(sink -> {
+            for (T value : iterable) {
+                if (!sink.accept(value)) {
+                    return;
+                }
+            }
+        });
+    }
+
+    @SafeVarargs
+    public static <T> LazyCollector<T> of(T... values) {
+        return new LazyCollector<>(sink -> {
+            for (T value : values) {
+                if (!sink.accept(value)) {
+                    return;
+                }
+            }
+        });
+    }
+
+    /**
+     * The stream is consumed by the first evaluation, so the collector can be evaluated once.
+     */
+    public static <T> LazyCollector<T> of(@NotNull Stream<T> stream) {
+        return of(stream.iterator());
+    }
+
+    /**
+     * The iterator is consumed by the first evaluation, so the collector can be evaluated once.
+     */
+    public static <T> LazyCollector<T> of(@NotNull Iterator<T> values) {
+        return new LazyCollector<>(sink -> {
+            while (values.hasNext()) {
+                if (!sink.accept(values.next())) {
+                    return;
+                }
+            }
+        });
+    }
+
+    private final Source<T> source;
+
+    private LazyCollector(@NotNull Source<T> source) {
+        this.source = source;
+    }
+
+    public LazyCollector<T> filter(@NotNull Predicate<? super T> filter) {
+        return new LazyCollector<>(sink -> this.source.forEach(value -> !filter.test(value) || sink.accept(value)));
+    }
+
+    public <R> LazyCollector<R> map(@NotNull Function<? super T, ? extends R> mapper) {
+        return new LazyCollector<>(sink -> this.source.forEach(value -> sink.accept(mapper.apply(value))));
+    }
+
+    /**
+     * @return a collector of the elements that are instances of the type, cast to it
+     */
+    public <R> LazyCollector<R> cast(@NotNull Class<R> type) {
+        return filter(type::isInstance).map(type::cast);
+    }
+
+    /**
+     * Keeps the elements from index {@code from}, inclusive, to {@code to}, exclusive.
+     * The pass stops once the last element of the slice was passed on.
+     */
+    public LazyCollector<T> slice(int from, int to) {
+        Args.notNegative(from, "from");
+        Args.require(from <= to, "from must not be greater than to, got %s and %s", from, to);
+
+        return new LazyCollector<>(sink -> {
+            if (from == to) {
+                return;
+            }
+
+            int[] index = new int[1];
+            this.source.forEach(value -> {
+                int current = index[0]++;
+                if (current < from) {
+                    return true;
+                }
+                return sink.accept(value) && current + 1 < to;
+            });
+        });
+    }
+
+    public LazyCollector<T> limit(int count) {
+        return slice(0, count);
+    }
+
+    public LazyCollector<T> skip(int count) {
+        return slice(count, Integer.MAX_VALUE);
+    }
+
+    public LazyCollector<T> order(@NotNull Comparator<? super T> comparator) {
+        return new LazyCollector<>(sink -> {
+            List<T> buffer = asList();
+            buffer.sort(comparator);
+            for (T value : buffer) {
+                if (!sink.accept(value)) {
+                    return;
+                }
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    public LazyCollector<T> order(@NotNull Function<T, ? extends Comparable<?>> sort, boolean ascending) {
+        Comparator<T> comparator = Comparator.comparing(value -> (Comparable<Object>) sort.apply(value));
+        return order(ascending ? comparator : comparator.reversed());
+    }
+
+    public LazyCollector<T> order(@NotNull Function<T, ? extends Comparable<?>> sort) {
+        return order(sort, true);
+    }
+
+    /**
+     * @return a collector that passes each element on only once
+     */
+    public LazyCollector<T> distinct() {
+        return new LazyCollector<>(sink -> {
+            Set<T> seen = new HashSet<>();
+            this.source.forEach(value -> !seen.add(value) || sink.accept(value));
+        });
+    }
+
+    /**
+     * @return the first element, which may be {@code null} if the source contains null
+     *
+     * @throws NoSuchElementException if there is no element
+     */
+    @SuppressWarnings("unchecked")
+    public T first() {
+        Object[] first = new Object[1];
+        boolean[] found = new boolean[1];
+        this.source.forEach(value -> {
+            first[0] = value;
+            found[0] = true;
+            return false;
+        });
+
+        if (!found[0]) {
+            throw new NoSuchElementException();
+        }
+        return (T) first[0];
+    }
+
+    /**
+     * Like {@link java.util.stream.Stream#findFirst()}, an empty optional means that there
+     * is no element.
+     *
+     * @throws NullPointerException if the first element is {@code null}
+     */
+    public Optional<T> findFirst() {
+        List<T> result = new ArrayList<>(1);
+        this.source.forEach(value -> {
+            result.add(value);
+            return false;
+        });
+        return result.isEmpty() ? Optional.empty() : Optional.of(result.get(0));
+    }
+
+    /**
+     * @throws NullPointerException if the first matching element is {@code null}
+     */
+    public Optional<T> first(@NotNull Predicate<? super T> filter) {
+        return filter(filter).findFirst();
+    }
+
+    public boolean anyMatch(@NotNull Predicate<? super T> filter) {
+        return !filter(filter).isEmpty();
+    }
+
+    public boolean allMatch(@NotNull Predicate<? super T> filter) {
+        return !anyMatch(filter.negate());
+    }
+
+    public boolean noneMatch(@NotNull Predicate<? super T> filter) {
+        return !anyMatch(filter);
+    }
+
+    public boolean isEmpty() {
+        boolean[] found = new boolean[1];
+        this.source.forEach(value -> {
+            found[0] = true;
+            return false;
+        });
+        return !found[0];
+    }
+
+    public int count() {
+        int[] count = new int[1];
+        this.source.forEach(value -> {
+            count[0]++;
+            return true;
+        });
+        return count[0];
+    }
+
+    @Override
+    public void forEach(@NotNull Consumer<? super T> action) {
+        this.source.forEach(value -> {
+            action.accept(value);
+            return true;
+        });
+    }
+
+    /**
+     * Evaluates the pipeline and iterates over the result.
+     */
+    @NotNull
+    @Override
+    public Iterator<T> iterator() {
+        return asList().iterator();
+    }
+
+    public List<T> asList() {
+        return collect(new ArrayList<>());
+    }
+
+    public Set<T> asSet() {
+        return collect(new HashSet<>());
+    }
+
+    public Set<T> asLinkedSet() {
+        return collect(new LinkedHashSet<>());
+    }
+
+    public T[] asArray(@NotNull IntFunction<T[]> generator) {
+        return asList().toArray(generator);
+    }
+
+    /**
+     * Adds the elements to the given collection.
+     *
+     * @return the collection
+     */
+    public <C extends Collection<? super T>> C collect(@NotNull C collection) {
+        forEach(collection::add);
+        return collection;
+    }
+
+    /**
+     * @return an eager {@link Collector} of the elements
+     */
+    public Collector<T> eager() {
+        return new Collector<>(asList());
+    }
+
+    /**
+     * Receives the elements of a pass.
+     */
+    @FunctionalInterface
+    private interface Sink<T> {
+
+        /**
+         * @return whether the pass should continue
+         */
+        boolean accept(T value);
+
+    }
+
+    /**
+     * Pushes its elements into a sink until the sink declines further elements.
+     */
+    @FunctionalInterface
+    private interface Source<T> {
+
+        void forEach(@NotNull Sink<? super T> sink);
+
+    }
+
+}
@@ -0,0 +1,289 @@
+package dev.spoocy.utils.common.collections;
+
+import dev.spoocy.utils.common.misc.Args;
+import dev.spoocy.utils.common.misc.SeededRandom;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.OptionalLong;
+import java.util.function.LongConsumer;
+import java.util.function.LongFunction;
+import java.util.function.LongPredicate;
+import java.util.function.LongUnaryOperator;
+import java.util.stream.LongStream;
+
+/**
+ * A {@link Collector} of {@code long} values. The values are stored in a growable
+ * {@code long} array, so none of the operations box them: {@link #filter} compacts the array
+ * in place, {@link #order} sorts it in place and {@link #map} and {@link #slice} copy it
+ * into a single new array.
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ */
+
+public class LongCollector implements Cloneable {
+
+    private static final int DEFAULT_CAPACITY = 10;
+
+    public static LongCollector of(long... values) {
+        return new LongCollector(values.clone(), values.length);
+    }
+
+    /**
+     * @return a collector of the values from {@code start}, inclusive, to {@code end},
+     *         exclusive, which is empty if {@code end <= start}
+     *
+     * @throws IllegalArgumentException if the range holds more than {@link Integer#MAX_VALUE} values
+     */
+    public static LongCollector range(long start, long end) {
+        if (end <= start) {
+            return new LongCollector();
+        }
+
+        long length;
+        try {
+            length = Math.subtractExact(end, start);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException(String.format("Range [%s, %s) is too large", start, end), e);
+        }
+        Args.require(length <= Integer.MAX_VALUE, "Range [%s, %s) holds %s values, at most %s are supported", start, end, length, Integer.MAX_VALUE);
+
+        long[] values = new long[(int) length];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = start + i;
+        }
+        return new LongCollector(values, values.length);
+    }
+
+    private long[] values;
+    private int size;
+
+    public LongCollector() {
+        this(new long[DEFAULT_CAPACITY], 0);
+    }
+
+    private LongCollector(long[] values, int size) {
+        this.values = values;
+        this.size = size;
+    }
+
+    public LongCollector add(long value) {
+        ensureCapacity(this.size + 1);
+        this.values[this.size++] = value;
+        return this;
+    }
+
+    public LongCollector add(long... values) {
+        ensureCapacity(this.size + values.length);
+        System.arraycopy(values, 0, this.values, this.size, values.length);
+        this.size += values.length;
+        return this;
+    }
+
+    public LongCollector add(@NotNull LongCollector collector) {
+        ensureCapacity(this.size + collector.size);
+        System.arraycopy(collector.values, 0, this.values, this.size, collector.size);
+        this.size += collector.size;
+        return this;
+    }
+
+    public LongCollector remove(int index) {
+        checkIndex(index);
+        System.arraycopy(this.values, index + 1, this.values, index, this.size - index - 1);
+        this.size--;
+        return this;
+    }
+
+    /**
+     * Removes all values that do not match the filter.
+     */
+    public LongCollector filter(@NotNull LongPredicate filter) {
+        int retained = 0;
+        for (int i = 0; i < this.size; i++) {
+            long value = this.values[i];
+            if (filter.test(value)) {
+                this.values[retained++] = value;
+            }
+        }
+        this.size = retained;
+        return this;
+    }
+
+    public LongCollector map(@NotNull LongUnaryOperator mapper) {
+        long[] result = new long[this.size];
+        for (int i = 0; i < this.size; i++) {
+            result[i] = mapper.applyAsLong(this.values[i]);
+        }
+        return new LongCollector(result, this.size);
+    }
+
+    public <R> Collector<R> mapToObj(@NotNull LongFunction<? extends R> mapper) {
+        Collector<R> result = new Collector<>();
+        for (int i = 0; i < this.size; i++) {
+            result.add(mapper.apply(this.values[i]));
+        }
+        return result;
+    }
+
+    /**
+     * Sorts the values in ascending order.
+     */
+    public LongCollector order() {
+        return order(true);
+    }
+
+    public LongCollector order(boolean ascending) {
+        Arrays.sort(this.values, 0, this.size);
+        if (!ascending) {
+            for (int i = 0, j = this.size - 1; i < j; i++, j--) {
+                long value = this.values[i];
+                this.values[i] = this.values[j];
+                this.values[j] = value;
+            }
+        }
+        return this;
+    }
+
+    /**
+     * @return a collector of the values from index {@code from}, inclusive, to {@code to},
+     *         exclusive, which is capped at the number of values
+     *
+     * @throws IndexOutOfBoundsException if {@code from} is negative or greater than the capped {@code to}
+     */
+    public LongCollector slice(int from, int to) {
+        int end = Math.min(to, this.size);
+        Objects.checkFromToIndex(from, end, this.size);
+        return new LongCollector(Arrays.copyOfRange(this.values, from, end), end - from);
+    }
+
+    public long get(int index) {
+        checkIndex(index);
+        return this.values[index];
+    }
+
+    public long first() {
+        return get(0);
+    }
+
+    public long last() {
+        return get(this.size - 1);
+    }
+
+    public OptionalLong findFirst() {
+        return this.size == 0 ? OptionalLong.empty() : OptionalLong.of(this.values[0]);
+    }
+
+    public OptionalLong max() {
+        if (this.size == 0) {
+            return OptionalLong.empty();
+        }
+
+        long max = this.values[0];
+        for (int i = 1; i < this.size; i++) {
+            max = Math.max(max, this.values[i]);
+        }
+        return OptionalLong.of(max);
+    }
+
+    public OptionalLong min() {
+        if (this.size == 0) {
+            return OptionalLong.empty();
+        }
+
+        long min = this.values[0];
+        for (int i = 1; i < this.size; i++) {
+            min = Math.min(min, this.values[i]);
+        }
+        return OptionalLong.of(min);
+    }
+
+    public long sum() {
+        long sum = 0;
+        for (int i = 0; i < this.size; i++) {
+            sum += this.values[i];
+        }
+        return sum;
+    }
+
+    public long random() {
+        return get((int) (Math.random() * this.size));
+    }
+
+    public long random(@NotNull SeededRandom random) {
+        return get(random.nextInt(this.size));
+    }
+
+    public boolean anyMatch(@NotNull LongPredicate filter) {
+        for (int i = 0; i < this.size; i++) {
+            if (filter.test(this.values[i])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean allMatch(@NotNull LongPredicate filter) {
+        for (int i = 0; i < this.size; i++) {
+            if (!filter.test(this.values[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void forEach(@NotNull LongConsumer action) {
+        for (int i = 0; i < this.size; i++) {
+            action.accept(this.values[i]);
+        }
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    public int count() {
+        return this.size;
+    }
+
+    public LongCollector clear() {
+        this.size = 0;
+        return this;
+    }
+
+    public long[] asArray() {
+        return Arrays.copyOf(this.values, this.size);
+    }
+
+    public Collector<Long> boxed() {
+        return mapToObj(Long::valueOf);
+    }
+
+    public LongStream stream() {
+        return Arrays.stream(this.values, 0, this.size);
+    }
+
+    @Override
+    public LongCollector clone() {
+        return new LongCollector(asArray(), this.size);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(asArray());
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + this.size);
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > this.values.length) {
+            int grown = this.values.length + (this.values.length >> 1);
+            this.values = Arrays.copyOf(this.values, Math.max(capacity, grown));
+        }
+    }
+
+}
@@ -1,159 +1,435 @@
 package dev.spoocy.utils.common.collections;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
-import java.util.Objects;
+import java.util.function.Predicate;
 
 /**
+ * A collection that keeps its elements sorted by their natural order. Equal elements keep
+ * the order in which they were added.
+ * <p>
+ * The elements are stored in an immutable AVL tree that records the size of every subtree.
+ * Writers copy only the path from the root to the changed node and publish the new root,
+ * so adding and removing elements and accessing them by index take O(log n), and lookups
+ * are binary searches. Writers synchronize on the collection, readers never lock: iterators
+ * and bulk reads work on the tree that was current when they started and are not affected
+ * by later changes.
+ *
  * @author Spoocy99 | GitHub: Spoocy99
  */
 
 public class SortedArray<T extends Comparable<T>> implements Collection<T> {
 
-	private volatile List<T> list;
+    private volatile Node<T> root;
 
-	public SortedArray() {
-		this.list = new ArrayList<>();
-	}
+    public SortedArray() {
+        this.root = null;
+    }
 
-	public SortedArray(@NotNull Collection<T> wrapped) {
-		this.list = new ArrayList<>(wrapped);
-		Collections.sort(list);
-	}
+    public SortedArray(@NotNull Collection<T> wrapped) {
+        List<T> sorted = new ArrayList<>(wrapped);
+        Collections.sort(sorted);
+        this.root = build(sorted, 0, sorted.size());
+    }
 
+    @Override
     public int size() {
-		return list.size();
-	}
+        return size(this.root);
+    }
 
     @Override
-	public boolean isEmpty() {
-		return list.isEmpty();
-	}
+    public boolean isEmpty() {
+        return this.root == null;
+    }
 
+    /**
+     * Returns an iterator over the elements at the time of the call, in ascending order.
+     * The iterator does not support {@link Iterator#remove()}.
+     */
     @Override
-	public Iterator<T> iterator() {
-        return list.iterator();
-	}
+    public Iterator<T> iterator() {
+        return new SnapshotIterator<>(this.root);
+    }
 
     @Override
-	public boolean contains(@NotNull Object value) {
-		return list.contains(value);
-	}
-
-	@Override
-	public synchronized boolean add(@NotNull T value) {
-		List<T> copy = new ArrayList<>();
-		boolean inserted = false;
-
-		for (T element : list) {
-			if (!inserted && value.compareTo(element) < 0) {
-				copy.add(value);
-				inserted = true;
-			}
-			copy.add(element);
-		}
-
-		if (!inserted) {
-			copy.add(value);
-		}
-
-		list = copy;
-		return true;
-	}
-
-	@Override
-	public synchronized boolean remove(@NotNull Object value) {
-		List<T> copy = new ArrayList<>();
-		boolean result = false;
-
-		for (T element : list) {
-			if (!Objects.equals(value, element)) {
-				copy.add(element);
-			} else {
-				result = true;
-			}
-		}
-
-		list = copy;
-		return result;
-	}
+    public boolean contains(@NotNull Object value) {
+        return indexOf(this.root, value, 0) >= 0;
+    }
 
     @Override
-	public boolean containsAll(@NotNull Collection<?> values) {
-		return new HashSet<>(list).containsAll(values);
-	}
+    public synchronized boolean add(@NotNull T value) {
+        this.root = insert(this.root, value);
+        return true;
+    }
 
+    /**
+     * Removes all elements equal to the given value.
+     *
+     * @return whether an element was removed
+     */
     @Override
-	public synchronized boolean addAll(@NotNull Collection<? extends T> values) {
-
-		if (values.isEmpty()) {
-			return false;
-		}
-
-		List<T> copy = new ArrayList<>(list);
-
-		copy.addAll(values);
-		Collections.sort(copy);
-
-		list = copy;
-		return true;
-	}
-
-	@Override
-	public boolean removeAll(@NotNull Collection<?> values) {
-		if (values.isEmpty()) {
-			return false;
-		}
+    public synchronized boolean remove(@NotNull Object value) {
+        Node<T> root = this.root;
+        boolean result = false;
+
+        int index;
+        while ((index = indexOf(root, value, 0)) >= 0) {
+            root = removeAt(root, index);
+            result = true;
+        }
+
+        this.root = root;
+        return result;
+    }
 
-		List<T> copy = new ArrayList<>(list);
-		copy.removeAll(values);
+    @Override
+    public boolean containsAll(@NotNull Collection<?> values) {
+        Node<T> root = this.root;
+        for (Object value : values) {
+            if (indexOf(root, value, 0) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
 
-		list = copy;
-		return true;
-	}
+    /**
+     * Adds all values and publishes the result at once. A small batch is inserted element by
+     * element. A large one is sorted on its own and merged with the current elements, and the
+     * tree is rebuilt from the merged sequence, which takes O(n + m log m) for m values.
+     */
+    @Override
+    public synchronized boolean addAll(@NotNull Collection<? extends T> values) {
+
+        if (values.isEmpty()) {
+            return false;
+        }
+
+        Node<T> root = this.root;
+        int size = size(root);
+        if ((long) values.size() * (32 - Integer.numberOfLeadingZeros(size)) < size) {
+            for (T value : values) {
+                root = insert(root, value);
+            }
+            this.root = root;
+            return true;
+        }
+
+        List<T> batch = new ArrayList<>(values);
+        Collections.sort(batch);
+        List<T> merged = merge(toList(root), batch);
+
+        this.root = build(merged, 0, merged.size());
+        return true;
+    }
 
-	@Override
-	public boolean retainAll(@NotNull Collection<?> values) {
-		if (values.isEmpty()) return false;
+    /**
+     * Removes all elements contained in the given collection in one pass. Unless the
+     * collection is a set, it is copied into a hash set first, so that the pass takes
+     * O(n + m) instead of O(n m).
+     */
+    @Override
+    public boolean removeAll(@NotNull Collection<?> values) {
+        if (values.isEmpty()) {
+            return false;
+        }
+        Set<?> set = asSet(values);
+        return removeIf(set::contains);
+    }
 
-		List<T> copy = new ArrayList<>(list);
-		copy.removeAll(values);
+    /**
+     * Retains only the elements contained in the given collection, see {@link #removeAll}.
+     */
+    @Override
+    public boolean retainAll(@NotNull Collection<?> values) {
+        Set<?> set = asSet(values);
+        return removeIf(value -> !set.contains(value));
+    }
 
-		list = copy;
-		return true;
-	}
+    /**
+     * Removes all elements matching the filter in one pass and publishes the result at once.
+     */
+    @Override
+    public synchronized boolean removeIf(@NotNull Predicate<? super T> filter) {
+        Node<T> root = this.root;
+        List<T> retained = new ArrayList<>(size(root));
+        Iterator<T> iterator = new SnapshotIterator<>(root);
+        while (iterator.hasNext()) {
+            T value = iterator.next();
+            if (!filter.test(value)) {
+                retained.add(value);
+            }
+        }
+
+        if (retained.size() == size(root)) {
+            return false;
+        }
+
+        this.root = build(retained, 0, retained.size());
+        return true;
+    }
 
-	@Override
-	public void clear() {
-		list = new ArrayList<>();
-	}
+    @Override
+    public synchronized void clear() {
+        this.root = null;
+    }
 
-	@Override
-	public Object[] toArray() {
-		return list.toArray();
-	}
+    @Override
+    public Object[] toArray() {
+        return toList(this.root).toArray();
+    }
 
     @NotNull
     @Override
     public <T1> T1[] toArray(@NotNull T1[] a) {
-        return list.toArray(a);
+        return toList(this.root).toArray(a);
     }
 
     @Override
-	public String toString() {
-		return list.toString();
-	}
+    public String toString() {
+        return toList(this.root).toString();
+    }
 
+    /**
+     * @param index the position of the element in the sorted order
+     *
+     * @return the element at the index
+     *
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
     public T get(int index) {
-		return list.get(index);
-	}
+        Node<T> node = this.root;
+        Objects.checkIndex(index, size(node));
+
+        while (true) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index > leftSize) {
+                index -= leftSize + 1;
+                node = node.right;
+            } else {
+                return node.value;
+            }
+        }
+    }
 
     public synchronized void remove(int index) {
-		List<T> copy = new ArrayList<>(this.list);
+        Objects.checkIndex(index, size(this.root));
+        this.root = removeAt(this.root, index);
+    }
+
+    private static Set<?> asSet(@NotNull Collection<?> values) {
+        return values instanceof Set ? (Set<?>) values : new HashSet<>(values);
+    }
+
+    private static int size(@Nullable Node<?> node) {
+        return node != null ? node.size : 0;
+    }
+
+    private static int height(@Nullable Node<?> node) {
+        return node != null ? node.height : 0;
+    }
 
-		copy.remove(index);
-		list = copy;
-	}
+    /**
+     * Inserts the value after all elements that are equal to it.
+     */
+    private static <T extends Comparable<T>> Node<T> insert(@Nullable Node<T> node, @NotNull T value) {
+        if (node == null) {
+            return new Node<>(value, null, null);
+        }
+
+        if (value.compareTo(node.value) < 0) {
+            return balance(node.value, insert(node.left, value), node.right);
+        }
+        return balance(node.value, node.left, insert(node.right, value));
+    }
+
+    /**
+     * Finds an element equal to the value by binary search. Elements that compare as equal
+     * but are not equal may lie on both sides, so both subtrees are searched for those.
+     *
+     * @return the index of an equal element, or -1
+     */
+    @SuppressWarnings("unchecked")
+    private static <T extends Comparable<T>> int indexOf(@Nullable Node<T> node, @NotNull Object value, int offset) {
+        while (node != null) {
+            int comparison;
+            try {
+                comparison = ((T) value).compareTo(node.value);
+            } catch (ClassCastException e) {
+                return -1;
+            }
+
+            if (comparison < 0) {
+                node = node.left;
+            } else if (comparison > 0) {
+                offset += size(node.left) + 1;
+                node = node.right;
+            } else {
+                if (value.equals(node.value)) {
+                    return offset + size(node.left);
+                }
+
+                int index = indexOf(node.left, value, offset);
+                if (index >= 0) {
+                    return index;
+                }
+                offset += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return -1;
+    }
+
+    private static <T> Node<T> removeAt(@NotNull Node<T> node, int index) {
+        int leftSize = size(node.left);
+        if (index < leftSize) {
+            return balance(node.value, removeAt(node.left, index), node.right);
+        }
+        if (index > leftSize) {
+            return balance(node.value, node.left, removeAt(node.right, index - leftSize - 1));
+        }
+
+        if (node.left == null) {
+            return node.right;
+        }
+        if (node.right == null) {
+            return node.left;
+        }
+
+        Node<T> successor = node.right;
+        while (successor.left != null) {
+            successor = successor.left;
+        }
+        return balance(successor.value, node.left, removeAt(node.right, 0));
+    }
+
+    /**
+     * Creates a node from the value and subtrees, whose heights differ by at most two, and
+     * rotates it if necessary to restore the AVL balance.
+     */
+    private static <T> Node<T> balance(T value, @Nullable Node<T> left, @Nullable Node<T> right) {
+        int leftHeight = height(left);
+        int rightHeight = height(right);
+
+        if (leftHeight > rightHeight + 1) {
+            if (height(left.left) >= height(left.right)) {
+                return new Node<>(left.value, left.left, new Node<>(value, left.right, right));
+            }
+            Node<T> pivot = left.right;
+            return new Node<>(pivot.value, new Node<>(left.value, left.left, pivot.left), new Node<>(value, pivot.right, right));
+        }
+
+        if (rightHeight > leftHeight + 1) {
+            if (height(right.right) >= height(right.left)) {
+                return new Node<>(right.value, new Node<>(value, left, right.left), right.right);
+            }
+            Node<T> pivot = right.left;
+            return new Node<>(pivot.value, new Node<>(value, left, pivot.left), new Node<>(right.value, pivot.right, right.right));
+        }
+
+        return new Node<>(value, left, right);
+    }
+
+    /**
+     * Merges two sorted lists. Of equal elements, those of the current list come first.
+     */
+    private static <T extends Comparable<T>> List<T> merge(@NotNull List<T> current, @NotNull List<T> batch) {
+        List<T> merged = new ArrayList<>(current.size() + batch.size());
+        int i = 0;
+        int j = 0;
+        while (i < current.size() && j < batch.size()) {
+            if (batch.get(j).compareTo(current.get(i)) < 0) {
+                merged.add(batch.get(j++));
+            } else {
+                merged.add(current.get(i++));
+            }
+        }
+        merged.addAll(current.subList(i, current.size()));
+        merged.addAll(batch.subList(j, batch.size()));
+        return merged;
+    }
+
+    /**
+     * Builds a balanced tree from a sorted range in linear time.
+     */
+    @Nullable
+    private static <T> Node<T> build(@NotNull List<T> sorted, int from, int to) {
+        if (from >= to) {
+            return null;
+        }
+
+        int middle = (from + to) >>> 1;
+        return new Node<>(sorted.get(middle), build(sorted, from, middle), build(sorted, middle + 1, to));
+    }
+
+    private static <T> List<T> toList(@Nullable Node<T> root) {
+        List<T> list = new ArrayList<>(size(root));
+        Iterator<T> iterator = new SnapshotIterator<>(root);
+        while (iterator.hasNext()) {
+            list.add(iterator.next());
+        }
+        return list;
+    }
+
+    private static final class Node<T> {
+
+        final T value;
+        final Node<T> left;
+        final Node<T> right;
+        final int size;
+        final int height;
+
+        Node(T value, @Nullable Node<T> left, @Nullable Node<T> right) {
+            this.value = value;
+            this.left = left;
+            this.right = right;
+            this.size = size(left) + size(right) + 1;
+            this.height = Math.max(height(left), height(right)) + 1;
+        }
+
+    }
+
+    /**
+     * In-order iterator over an immutable tree, keeping the path to the next node on a stack.
+     */
+    private static final class SnapshotIterator<T> implements Iterator<T> {
+
+        private final Node<T>[] stack;
+        private int depth;
+
+        @SuppressWarnings("unchecked")
+        SnapshotIterator(@Nullable Node<T> root) {
+            this.stack = new Node[height(root)];
+            pushLeft(root);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.depth > 0;
+        }
+
+        @Override
+        public T next() {
+            if (this.depth == 0) {
+                throw new NoSuchElementException();
+            }
+
+            Node<T> node = this.stack[--this.depth];
+            pushLeft(node.right);
+            return node.value;
+        }
+
+        private void pushLeft(@Nullable Node<T> node) {
+            while (node != null) {
+                this.stack[this.depth++] = node;
+                node = node.left;
+            }
+        }
+
+    }
 
 }
@@ -1,5 +1,6 @@
 package dev.spoocy.utils.common.misc;
 
+import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 /**
@@ -8,6 +9,8 @@ import org.jetbrains.annotations.Nullable;
 
 public final class NumberConversion {
 
+    private static final ThreadLocal<NumberParser.Result> RESULT = ThreadLocal.withInitial(NumberParser.Result::new);
+
     private NumberConversion() { }
 
     public static int toInt(@Nullable Object object) {
@@ -15,10 +18,8 @@ public final class NumberConversion {
             return ((Number) object).intValue();
         }
 
-        try {
-            return Integer.parseInt(object.toString());
-        } catch (NumberFormatException | NullPointerException ignored) { }
-        return 0;
+        NumberParser.Result result = RESULT.get();
+        return object != null && NumberParser.parseInt(text(object), result) ? result.intValue() : 0;
     }
 
     public static float toFloat(@Nullable Object object) {
@@ -26,53 +27,55 @@ public final class NumberConversion {
             return ((Number) object).floatValue();
         }
 
-        try {
-            return Float.parseFloat(object.toString());
-        } catch (NumberFormatException | NullPointerException ignored) { }
-        return 0.0F;
+        NumberParser.Result result = RESULT.get();
+        return object != null && NumberParser.parseFloat(text(object), result) ? result.floatValue() : 0.0F;
     }
 
     public static double toDouble(@Nullable Object object) {
         if (object instanceof Number) {
-            return ((Number)object).doubleValue();
+            return ((Number) object).doubleValue();
         }
 
-        try {
-            return Double.parseDouble(object.toString());
-        } catch (NumberFormatException | NullPointerException ignored) { }
-        return 0.0;
+        NumberParser.Result result = RESULT.get();
+        return object != null && NumberParser.parseDouble(text(object), result) ? result.doubleValue() : 0.0;
     }
 
     public static long toLong(@Nullable Object object) {
         if (object instanceof Number) {
-            return ((Number)object).longValue();
+            return ((Number) object).longValue();
         }
 
-        try {
-            return Long.parseLong(object.toString());
-        } catch (NumberFormatException | NullPointerException ignored) { }
-        return 0L;
+        NumberParser.Result result = RESULT.get();
+        return object != null && NumberParser.parseLong(text(object), result) ? result.longValue() : 0L;
     }
 
     public static short toShort(@Nullable Object object) {
         if (object instanceof Number) {
-            return ((Number)object).shortValue();
+            return ((Number) object).shortValue();
         }
 
-        try {
-            return Short.parseShort(object.toString());
-        } catch (NumberFormatException | NullPointerException ignored) { }
+        NumberParser.Result result = RESULT.get();
+        if (object != null) {
+            CharSequence text = text(object);
+            if (NumberParser.parseLong(text, 0, text.length(), Short.MIN_VALUE, Short.MAX_VALUE, result)) {
+                return (short) result.longValue();
+            }
+        }
         return 0;
     }
 
     public static byte toByte(@Nullable Object object) {
         if (object instanceof Number) {
-            return ((Number)object).byteValue();
+            return ((Number) object).byteValue();
         }
 
-        try {
-            return Byte.parseByte(object.toString());
-        } catch (NumberFormatException | NullPointerException ignored) { }
+        NumberParser.Result result = RESULT.get();
+        if (object != null) {
+            CharSequence text = text(object);
+            if (NumberParser.parseLong(text, 0, text.length(), Byte.MIN_VALUE, Byte.MAX_VALUE, result)) {
+                return (byte) result.longValue();
+            }
+        }
         return 0;
     }
 
@@ -121,6 +124,13 @@ public final class NumberConversion {
         return null;
     }
 
+    /**
+     * Strings and other character sequences are parsed as they are, without a copy.
+     */
+    private static CharSequence text(@NotNull Object object) {
+        return object instanceof CharSequence ? (CharSequence) object : object.toString();
+    }
+
     public static boolean isFinite(double d) {
         return Math.abs(d) <= Double.MAX_VALUE;
     }
@@ -0,0 +1,357 @@
+package dev.spoocy.utils.common.misc;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+
+/**
+ * Parses numbers directly from a range of a {@link CharSequence}, without creating
+ * intermediate strings and without throwing on invalid input. Every method reports whether
+ * the range holds a valid number and stores the value in a reusable {@link Result}.
+ *
+ * <pre>
+ * NumberParser.Result result = new NumberParser.Result();
+ * if (NumberParser.parseInt(line, start, end, result)) {
+ *     int value = result.intValue();
+ * }
+ * </pre>
+ *
+ * Integers are parsed like {@link Long#parseLong(String)}, but only ASCII digits are
+ * accepted. Decimals are parsed like {@link Double#parseDouble(String)} except for
+ * hexadecimal notation. Decimals in the usual JSON form with at most 15 significant digits
+ * and an exponent of at most 22 are converted exactly with a single multiplication or
+ * division, as shown by Clinger. Only other decimals fall back to the JDK.
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ */
+
+public final class NumberParser {
+
+    private static final double[] DOUBLE_POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private static final float[] FLOAT_POWERS_OF_TEN = {
+            1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f
+    };
+
+    private static final int MAX_EXACT_DOUBLE_DIGITS = 15;
+    private static final int MAX_EXACT_FLOAT_DIGITS = 7;
+    private static final int MAX_SIGNIFICANT_DIGITS = 19;
+
+    private NumberParser() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    public static boolean parseInt(@NotNull CharSequence text, @NotNull Result result) {
+        return parseInt(text, 0, text.length(), result);
+    }
+
+    /**
+     * Parses the range from {@code from}, inclusive, to {@code to}, exclusive, as an
+     * {@code int}.
+     *
+     * @return whether the range holds a valid {@code int}
+     */
+    public static boolean parseInt(@NotNull CharSequence text, int from, int to, @NotNull Result result) {
+        return parseLong(text, from, to, Integer.MIN_VALUE, Integer.MAX_VALUE, result);
+    }
+
+    public static boolean parseLong(@NotNull CharSequence text, @NotNull Result result) {
+        return parseLong(text, 0, text.length(), result);
+    }
+
+    /**
+     * Parses the range from {@code from}, inclusive, to {@code to}, exclusive, as a
+     * {@code long}.
+     *
+     * @return whether the range holds a valid {@code long}
+     */
+    public static boolean parseLong(@NotNull CharSequence text, int from, int to, @NotNull Result result) {
+        return parseLong(text, from, to, Long.MIN_VALUE, Long.MAX_VALUE, result);
+    }
+
+    /**
+     * Parses the range as a {@code long} between the given bounds, both inclusive.
+     *
+     * @return whether the range holds a valid number within the bounds
+     */
+    public static boolean parseLong(@NotNull CharSequence text, int from, int to, long min, long max, @NotNull Result result) {
+        Objects.checkFromToIndex(from, to, text.length());
+        result.fail();
+
+        if (from == to) {
+            return false;
+        }
+
+        // accumulate negatively, as the negative range is larger
+        boolean negative = false;
+        long limit = -Long.MAX_VALUE;
+        int index = from;
+
+        char first = text.charAt(index);
+        if (first == '-' || first == '+') {
+            if (first == '-') {
+                negative = true;
+                limit = Long.MIN_VALUE;
+            }
+            if (++index == to) {
+                return false;
+            }
+        }
+
+        long multiplyLimit = limit / 10;
+        long value = 0;
+        for (; index < to; index++) {
+            int digit = text.charAt(index) - '0';
+            if (digit < 0 || digit > 9 || value < multiplyLimit) {
+                return false;
+            }
+            value *= 10;
+            if (value < limit + digit) {
+                return false;
+            }
+            value -= digit;
+        }
+
+        value = negative ? value : -value;
+        if (value < min || value > max) {
+            return false;
+        }
+        return result.succeed(value, value);
+    }
+
+    public static boolean parseDouble(@NotNull CharSequence text, @NotNull Result result) {
+        return parseDouble(text, 0, text.length(), result);
+    }
+
+    /**
+     * Parses the range from {@code from}, inclusive, to {@code to}, exclusive, as a
+     * {@code double}. Leading and trailing whitespace is ignored.
+     *
+     * @return whether the range holds a valid decimal
+     */
+    public static boolean parseDouble(@NotNull CharSequence text, int from, int to, @NotNull Result result) {
+        return parseDecimal(text, from, to, false, result);
+    }
+
+    public static boolean parseFloat(@NotNull CharSequence text, @NotNull Result result) {
+        return parseFloat(text, 0, text.length(), result);
+    }
+
+    /**
+     * Parses the range from {@code from}, inclusive, to {@code to}, exclusive, as a
+     * {@code float}. Leading and trailing whitespace is ignored.
+     *
+     * @return whether the range holds a valid decimal
+     */
+    public static boolean parseFloat(@NotNull CharSequence text, int from, int to, @NotNull Result result) {
+        return parseDecimal(text, from, to, true, result);
+    }
+
+    private static boolean parseDecimal(CharSequence text, int from, int to, boolean single, Result result) {
+        Objects.checkFromToIndex(from, to, text.length());
+        result.fail();
+
+        while (from < to && text.charAt(from) <= ' ') {
+            from++;
+        }
+        while (to > from && text.charAt(to - 1) <= ' ') {
+            to--;
+        }
+        if (from == to) {
+            return false;
+        }
+
+        int start = from;
+        int index = from;
+        boolean negative = false;
+        char first = text.charAt(index);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            index++;
+        }
+
+        if (matches(text, index, to, "NaN")) {
+            return result.succeed(0, Double.NaN);
+        }
+        if (matches(text, index, to, "Infinity")) {
+            return result.succeed(negative ? Long.MIN_VALUE : Long.MAX_VALUE, negative ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY);
+        }
+
+        long mantissa = 0;
+        int digits = 0;
+        int significantDigits = 0;
+        int exponent = 0;
+        boolean truncated = false;
+
+        for (; index < to; index++) {
+            int digit = text.charAt(index) - '0';
+            if (digit < 0 || digit > 9) {
+                break;
+            }
+            digits++;
+            if (significantDigits < MAX_SIGNIFICANT_DIGITS) {
+                mantissa = mantissa * 10 + digit;
+                if (mantissa != 0) {
+                    significantDigits++;
+                }
+            } else {
+                truncated |= digit != 0;
+                exponent++;
+            }
+        }
+
+        if (index < to && text.charAt(index) == '.') {
+            for (index++; index < to; index++) {
+                int digit = text.charAt(index) - '0';
+                if (digit < 0 || digit > 9) {
+                    break;
+                }
+                digits++;
+                if (significantDigits < MAX_SIGNIFICANT_DIGITS) {
+                    mantissa = mantissa * 10 + digit;
+                    if (mantissa != 0) {
+                        significantDigits++;
+                    }
+                    exponent--;
+                } else {
+                    truncated |= digit != 0;
+                }
+            }
+        }
+
+        if (digits == 0) {
+            return false;
+        }
+
+        if (index < to && (text.charAt(index) == 'e' || text.charAt(index) == 'E')) {
+            index++;
+            boolean negativeExponent = false;
+            if (index < to && (text.charAt(index) == '-' || text.charAt(index) == '+')) {
+                negativeExponent = text.charAt(index) == '-';
+                index++;
+            }
+
+            int exponentDigits = 0;
+            int explicitExponent = 0;
+            for (; index < to; index++) {
+                int digit = text.charAt(index) - '0';
+                if (digit < 0 || digit > 9) {
+                    break;
+                }
+                exponentDigits++;
+                // larger exponents overflow or underflow anyway
+                if (explicitExponent < 100_000) {
+                    explicitExponent = explicitExponent * 10 + digit;
+                }
+            }
+
+            if (exponentDigits == 0) {
+                return false;
+            }
+            exponent += negativeExponent ? -explicitExponent : explicitExponent;
+        }
+
+        if (index < to && "fFdD".indexOf(text.charAt(index)) >= 0) {
+            index++;
+        }
+        if (index != to) {
+            return false;
+        }
+
+        if (!truncated) {
+            if (mantissa == 0) {
+                return result.succeed(0, negative ? -0.0 : 0.0);
+            }
+
+            if (single && significantDigits <= MAX_EXACT_FLOAT_DIGITS && Math.abs(exponent) < FLOAT_POWERS_OF_TEN.length) {
+                float value = exponent < 0 ? mantissa / FLOAT_POWERS_OF_TEN[-exponent] : mantissa * FLOAT_POWERS_OF_TEN[exponent];
+                return result.succeedDecimal(negative ? -value : value);
+            }
+
+            if (!single && significantDigits <= MAX_EXACT_DOUBLE_DIGITS && Math.abs(exponent) < DOUBLE_POWERS_OF_TEN.length) {
+                double value = exponent < 0 ? mantissa / DOUBLE_POWERS_OF_TEN[-exponent] : mantissa * DOUBLE_POWERS_OF_TEN[exponent];
+                return result.succeedDecimal(negative ? -value : value);
+            }
+        }
+
+        // the syntax is valid, so the JDK will not throw
+        String number = text.subSequence(start, to).toString();
+        return result.succeedDecimal(single ? Float.parseFloat(number) : Double.parseDouble(number));
+    }
+
+    private static boolean matches(CharSequence text, int from, int to, String expected) {
+        if (to - from != expected.length()) {
+            return false;
+        }
+        for (int i = 0; i < expected.length(); i++) {
+            if (text.charAt(from + i) != expected.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The outcome of a parse, reused across calls to avoid allocations. After a failed parse,
+     * the values are zero.
+     */
+    public static final class Result {
+
+        private boolean success;
+        private long longValue;
+        private double doubleValue;
+
+        public boolean isSuccess() {
+            return this.success;
+        }
+
+        public int intValue() {
+            return (int) this.longValue;
+        }
+
+        public long longValue() {
+            return this.longValue;
+        }
+
+        public float floatValue() {
+            return (float) this.doubleValue;
+        }
+
+        public double doubleValue() {
+            return this.doubleValue;
+        }
+
+        private void fail() {
+            this.success = false;
+            this.longValue = 0;
+            this.doubleValue = 0;
+        }
+
+        private boolean succeed(long longValue, double doubleValue) {
+            this.success = true;
+            this.longValue = longValue;
+            this.doubleValue = doubleValue;
+            return true;
+        }
+
+        /**
+         * Stores a decimal, whose {@code long} value is truncated like a cast.
+         */
+        private boolean succeedDecimal(double value) {
+            return succeed((long) value, value);
+        }
+
+        @Override
+        public String toString() {
+            return "Result{" +
+                    "success=" + success +
+                    ", longValue=" + longValue +
+                    ", doubleValue=" + doubleValue +
+                    '}';
+        }
+    }
+
+}
@@ -0,0 +1,126 @@
+package dev.spoocy.utils.common.misc;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Base class for fast {@link SeededRandom} generators that derive all values from
+ * {@link #nextLong()}. Unlike {@link java.util.Random}, the state is not kept in an
+ * {@link java.util.concurrent.atomic.AtomicLong}, so generating a value needs no atomic
+ * update. Instances are therefore not thread safe: every thread should use its own generator,
+ * obtained by {@link #split()}.
+ * <p>
+ * The values are a function of the seed and the order of the calls only, so a generator and
+ * the generators split from it produce the same values for the same seed.
+ * <p>
+ * Implementations initialize their state in {@link #setSeed(long)}, which
+ * {@link java.util.Random} calls from its constructor. Their state fields must therefore not
+ * declare initializers, which would run afterwards and overwrite the state.
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ */
+
+public abstract class SplittableSeededRandom extends SeededRandom {
+
+    protected SplittableSeededRandom() {
+        super();
+    }
+
+    protected SplittableSeededRandom(long seed) {
+        super(seed);
+    }
+
+    @Override
+    public abstract long nextLong();
+
+    /**
+     * Creates a new generator whose seed is taken from this generator. The new generator is
+     * independent of this one and can be handed to another thread. Its {@link #getSeed()}
+     * alone does not necessarily reproduce its values, see the implementations.
+     *
+     * @return the new generator
+     */
+    public abstract SplittableSeededRandom split();
+
+    @Override
+    protected int next(int bits) {
+        return (int) (nextLong() >>> (64 - bits));
+    }
+
+    @Override
+    public int nextInt() {
+        return (int) (nextLong() >>> 32);
+    }
+
+    @Override
+    public int nextInt(int bound) {
+        Args.positive(bound, "bound");
+
+        // Lemire's multiply-shift method, which rejects only the biased low products
+        long product = (nextLong() >>> 32) * bound;
+        long low = product & 0xFFFFFFFFL;
+        if (low < bound) {
+            long threshold = ((1L << 32) - bound) % bound;
+            while (low < threshold) {
+                product = (nextLong() >>> 32) * bound;
+                low = product & 0xFFFFFFFFL;
+            }
+        }
+        return (int) (product >>> 32);
+    }
+
+    @Override
+    public boolean nextBoolean() {
+        return nextLong() < 0;
+    }
+
+    @Override
+    public float nextFloat() {
+        return (nextLong() >>> 40) * 0x1.0p-24f;
+    }
+
+    @Override
+    public double nextDouble() {
+        return (nextLong() >>> 11) * 0x1.0p-53;
+    }
+
+    /**
+     * Fills the array with random values, two per call to {@link #nextLong()}.
+     */
+    public void fill(@NotNull int[] array) {
+        int i = 0;
+        for (; i + 1 < array.length; i += 2) {
+            long value = nextLong();
+            array[i] = (int) value;
+            array[i + 1] = (int) (value >>> 32);
+        }
+        if (i < array.length) {
+            array[i] = nextInt();
+        }
+    }
+
+    /**
+     * Fills the array with random values between zero, inclusive, and the bound, exclusive.
+     */
+    public void fill(@NotNull int[] array, int bound) {
+        Args.positive(bound, "bound");
+        for (int i = 0; i < array.length; i++) {
+            array[i] = nextInt(bound);
+        }
+    }
+
+    public void fill(@NotNull long[] array) {
+        for (int i = 0; i < array.length; i++) {
+            array[i] = nextLong();
+        }
+    }
+
+    /**
+     * Fills the array with random values between zero, inclusive, and one, exclusive.
+     */
+    public void fill(@NotNull double[] array) {
+        for (int i = 0; i < array.length; i++) {
+            array[i] = nextDouble();
+        }
+    }
+
+}
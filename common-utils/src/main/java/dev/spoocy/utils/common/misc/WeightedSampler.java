@@ -0,0 +1,363 @@
+package dev.spoocy.utils.common.misc;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Draws values at random with a probability proportional to their weight.
+ * <p>
+ * Sampling uses an alias table built with Vose's method, so a draw takes O(1) regardless of
+ * the number of values. Changing a weight only discards the table, it is rebuilt in O(n) by
+ * the next draw, so several changes between draws cost a single rebuild. Writers
+ * synchronize on the sampler and the table is immutable once built, so multiple threads can
+ * draw at the same time, each with its own {@link SeededRandom}. For the same random and
+ * the same weights, the draws are reproducible.
+ *
+ * <pre>
+ * WeightedSampler&lt;Material&gt; loot = new WeightedSampler&lt;Material&gt;()
+ *         .add(Material.COAL, 60)
+ *         .add(Material.IRON_INGOT, 30)
+ *         .add(Material.DIAMOND, 1);
+ *
+ * Material material = loot.sample(random);
+ * </pre>
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ */
+
+public class WeightedSampler<T> {
+
+    private final Map<T, Integer> indices = new HashMap<>();
+    private Object[] values = new Object[8];
+    private double[] weights = new double[8];
+    private int size;
+    private double totalWeight;
+
+    private volatile AliasTable table;
+
+    /**
+     * Adds the weight to the value, which is added if it is not present yet.
+     *
+     * @return this sampler for chaining
+     *
+     * @throws IllegalArgumentException if the weight is negative or not finite
+     */
+    public synchronized WeightedSampler<T> add(@NotNull T value, double weight) {
+        requireWeight(weight);
+
+        Integer index = this.indices.get(value);
+        return set(value, index != null ? this.weights[index] + weight : weight);
+    }
+
+    /**
+     * Sets the weight of the value, which is added if it is not present yet. A value with a
+     * weight of zero is kept but never drawn.
+     *
+     * @return this sampler for chaining
+     *
+     * @throws IllegalArgumentException if the weight is negative or not finite
+     */
+    public synchronized WeightedSampler<T> set(@NotNull T value, double weight) {
+        requireWeight(weight);
+
+        Integer index = this.indices.get(value);
+        if (index == null) {
+            if (this.size == this.values.length) {
+                this.values = Arrays.copyOf(this.values, this.size * 2);
+                this.weights = Arrays.copyOf(this.weights, this.size * 2);
+            }
+            index = this.size++;
+            this.indices.put(value, index);
+            this.values[index] = value;
+            this.weights[index] = 0;
+        }
+
+        this.totalWeight += weight - this.weights[index];
+        this.weights[index] = weight;
+        this.table = null;
+        return this;
+    }
+
+    /**
+     * @return whether the value was present
+     */
+    public synchronized boolean remove(@NotNull T value) {
+        Integer index = this.indices.remove(value);
+        if (index == null) {
+            return false;
+        }
+
+        this.totalWeight -= this.weights[index];
+        int last = --this.size;
+        if (index != last) {
+            this.values[index] = this.values[last];
+            this.weights[index] = this.weights[last];
+            this.indices.put(value(index), index);
+        }
+        this.values[last] = null;
+        this.table = null;
+        return true;
+    }
+
+    public synchronized void clear() {
+        this.indices.clear();
+        Arrays.fill(this.values, 0, this.size, null);
+        this.size = 0;
+        this.totalWeight = 0;
+        this.table = null;
+    }
+
+    /**
+     * @return the weight of the value, or zero if it is not present
+     */
+    public synchronized double weight(@NotNull T value) {
+        Integer index = this.indices.get(value);
+        return index != null ? this.weights[index] : 0;
+    }
+
+    public synchronized double totalWeight() {
+        return this.totalWeight;
+    }
+
+    public synchronized int size() {
+        return this.size;
+    }
+
+    public synchronized boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Draws a value in O(1).
+     *
+     * @return the value, or {@code null} if no value has a positive weight
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public T sample(@NotNull SeededRandom random) {
+        AliasTable table = table();
+        if (table.values.length == 0) {
+            return null;
+        }
+
+        int index = random.nextInt(table.values.length);
+        if (random.nextDouble() >= table.probability[index]) {
+            index = table.alias[index];
+        }
+        return (T) table.values[index];
+    }
+
+    /**
+     * Draws the given number of values with replacement, so a value can be drawn repeatedly.
+     *
+     * @return the values, empty if no value has a positive weight
+     */
+    public List<T> sample(@NotNull SeededRandom random, int count) {
+        Args.notNegative(count, "count");
+
+        List<T> result = new ArrayList<>(count);
+        if (table().values.length == 0) {
+            return result;
+        }
+        for (int i = 0; i < count; i++) {
+            result.add(sample(random));
+        }
+        return result;
+    }
+
+    /**
+     * Draws the given number of distinct values without replacement, in the order in which
+     * successive weighted draws would pick them. Uses the method of Efraimidis and Spirakis,
+     * which assigns every value the key {@code u^(1/weight)} for a uniform {@code u} and keeps
+     * the values with the largest keys, taking O(n log count).
+     *
+     * @return the values, fewer than requested if fewer values have a positive weight
+     */
+    @SuppressWarnings("unchecked")
+    public List<T> sampleDistinct(@NotNull SeededRandom random, int count) {
+        Args.notNegative(count, "count");
+
+        Object[] values;
+        double[] weights;
+        synchronized (this) {
+            values = Arrays.copyOf(this.values, this.size);
+            weights = Arrays.copyOf(this.weights, this.size);
+        }
+
+        // min-heap of the largest keys, compared as log(u) / weight to avoid underflow
+        double[] keys = new double[Math.min(count, values.length)];
+        int[] heap = new int[keys.length];
+        int heapSize = 0;
+
+        for (int i = 0; i < values.length; i++) {
+            if (weights[i] <= 0) {
+                continue;
+            }
+
+            double key = Math.log(1 - random.nextDouble()) / weights[i];
+            if (heapSize < keys.length) {
+                siftUp(keys, heap, heapSize++, key, i);
+            } else if (heapSize > 0 && key > keys[0]) {
+                siftDown(keys, heap, heapSize, key, i);
+            }
+        }
+
+        T[] result = (T[]) new Object[heapSize];
+        while (heapSize > 0) {
+            result[heapSize - 1] = (T) values[heap[0]];
+            heapSize--;
+            siftDown(keys, heap, heapSize, keys[heapSize], heap[heapSize]);
+        }
+        return new ArrayList<>(Arrays.asList(result));
+    }
+
+    private static void requireWeight(double weight) {
+        Args.require(weight >= 0 && Double.isFinite(weight), "weight must be finite and not negative, got %s", weight);
+    }
+
+    @SuppressWarnings("unchecked")
+    private T value(int index) {
+        return (T) this.values[index];
+    }
+
+    private AliasTable table() {
+        AliasTable table = this.table;
+        if (table != null) {
+            return table;
+        }
+
+        synchronized (this) {
+            if (this.table == null) {
+                // drop the rounding errors accumulated by the updates
+                this.totalWeight = sum(this.weights, this.size);
+                this.table = AliasTable.build(this.values, this.weights, this.size, this.totalWeight);
+            }
+            return this.table;
+        }
+    }
+
+    private static double sum(double[] weights, int size) {
+        double sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += weights[i];
+        }
+        return sum;
+    }
+
+    private static void siftUp(double[] keys, int[] heap, int position, double key, int index) {
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (keys[parent] <= key) {
+                break;
+            }
+            keys[position] = keys[parent];
+            heap[position] = heap[parent];
+            position = parent;
+        }
+        keys[position] = key;
+        heap[position] = index;
+    }
+
+    /**
+     * Replaces the root of the heap with the entry and restores the heap order.
+     */
+    private static void siftDown(double[] keys, int[] heap, int size, double key, int index) {
+        int position = 0;
+        while (true) {
+            int child = 2 * position + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && keys[child + 1] < keys[child]) {
+                child++;
+            }
+            if (key <= keys[child]) {
+                break;
+            }
+            keys[position] = keys[child];
+            heap[position] = heap[child];
+            position = child;
+        }
+        if (size > 0) {
+            keys[position] = key;
+            heap[position] = index;
+        }
+    }
+
+    /**
+     * The alias table of the values with a positive weight. Every column holds the
+     * probability of drawing its own value and the value drawn otherwise.
+     */
+    private static final class AliasTable {
+
+        private final Object[] values;
+        private final double[] probability;
+        private final int[] alias;
+
+        private AliasTable(Object[] values, double[] probability, int[] alias) {
+            this.values = values;
+            this.probability = probability;
+            this.alias = alias;
+        }
+
+        /**
+         * Builds the table with Vose's method in O(n).
+         */
+        static AliasTable build(Object[] allValues, double[] allWeights, int size, double totalWeight) {
+            int n = 0;
+            for (int i = 0; i < size; i++) {
+                if (allWeights[i] > 0) {
+                    n++;
+                }
+            }
+
+            Object[] values = new Object[n];
+            double[] probability = new double[n];
+            int[] alias = new int[n];
+            int[] small = new int[n];
+            int[] large = new int[n];
+            int smallSize = 0;
+            int largeSize = 0;
+
+            for (int i = 0, j = 0; i < size; i++) {
+                if (allWeights[i] > 0) {
+                    values[j] = allValues[i];
+                    probability[j] = allWeights[i] * n / totalWeight;
+                    if (probability[j] < 1) {
+                        small[smallSize++] = j;
+                    } else {
+                        large[largeSize++] = j;
+                    }
+                    j++;
+                }
+            }
+
+            while (smallSize > 0 && largeSize > 0) {
+                int less = small[--smallSize];
+                int more = large[--largeSize];
+
+                alias[less] = more;
+                probability[more] = probability[more] + probability[less] - 1;
+                if (probability[more] < 1) {
+                    small[smallSize++] = more;
+                } else {
+                    large[largeSize++] = more;
+                }
+            }
+
+            // the rest are 1 up to rounding errors
+            while (largeSize > 0) {
+                probability[large[--largeSize]] = 1;
+            }
+            while (smallSize > 0) {
+                probability[small[--smallSize]] = 1;
+            }
+
+            return new AliasTable(values, probability, alias);
+        }
+
+    }
+
+}
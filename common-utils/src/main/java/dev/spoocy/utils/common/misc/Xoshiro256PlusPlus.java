@@ -0,0 +1,120 @@
+package dev.spoocy.utils.common.misc;
+
+/**
+ * The xoshiro256++ generator by Blackman and Vigna, with 256 bits of state and a period of
+ * 2<sup>256</sup> - 1. The state is expanded from the seed with {@link SplitMix64}.
+ * <p>
+ * {@link #jump()} advances the generator by 2<sup>128</sup> values, so generators created by
+ * copying the state and jumping produce sequences that are guaranteed not to overlap.
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ */
+
+public class Xoshiro256PlusPlus extends SplittableSeededRandom {
+
+    private static final long[] JUMP = {
+            0x180EC6D33CFD0ABAL, 0xD5A61266F0C9392CL, 0xA9582618E03FC9AAL, 0x39ABDC4529B1661CL
+    };
+
+    private long s0;
+    private long s1;
+    private long s2;
+    private long s3;
+
+    public Xoshiro256PlusPlus() {
+        super();
+    }
+
+    public Xoshiro256PlusPlus(long seed) {
+        super(seed);
+    }
+
+    private Xoshiro256PlusPlus(long seed, long s0, long s1, long s2, long s3) {
+        super(seed);
+        this.s0 = s0;
+        this.s1 = s1;
+        this.s2 = s2;
+        this.s3 = s3;
+    }
+
+    @Override
+    public void setSeed(long seed) {
+        super.setSeed(seed);
+
+        long state = seed;
+        this.s0 = SplitMix64.mix(state += 0x9E3779B97F4A7C15L);
+        this.s1 = SplitMix64.mix(state += 0x9E3779B97F4A7C15L);
+        this.s2 = SplitMix64.mix(state += 0x9E3779B97F4A7C15L);
+        this.s3 = SplitMix64.mix(state + 0x9E3779B97F4A7C15L);
+    }
+
+    @Override
+    public long nextLong() {
+        long s0 = this.s0;
+        long s1 = this.s1;
+        long s2 = this.s2;
+        long s3 = this.s3;
+
+        long result = Long.rotateLeft(s0 + s3, 23) + s0;
+        long t = s1 << 17;
+
+        s2 ^= s0;
+        s3 ^= s1;
+        this.s1 = s1 ^ s2;
+        this.s0 = s0 ^ s3;
+        this.s2 = s2 ^ t;
+        this.s3 = Long.rotateLeft(s3, 45);
+        return result;
+    }
+
+    /**
+     * Returns a generator that continues from the current state, and advances this generator
+     * by 2<sup>128</sup> values, so that the two sequences do not overlap.
+     * <p>
+     * The state of the new generator cannot be derived from a single seed, so its
+     * {@link #getSeed()} returns the seed of the generator it was split from. Seeding either
+     * generator with that seed restarts it at the beginning of the original sequence.
+     *
+     * @return the new generator
+     */
+    @Override
+    public Xoshiro256PlusPlus split() {
+        Xoshiro256PlusPlus split = new Xoshiro256PlusPlus(getSeed(), this.s0, this.s1, this.s2, this.s3);
+        jump();
+        return split;
+    }
+
+    /**
+     * Advances the generator by 2<sup>128</sup> values.
+     */
+    public void jump() {
+        long s0 = 0;
+        long s1 = 0;
+        long s2 = 0;
+        long s3 = 0;
+
+        for (long jump : JUMP) {
+            for (int bit = 0; bit < 64; bit++) {
+                if ((jump & (1L << bit)) != 0) {
+                    s0 ^= this.s0;
+                    s1 ^= this.s1;
+                    s2 ^= this.s2;
+                    s3 ^= this.s3;
+                }
+                nextLong();
+            }
+        }
+
+        this.s0 = s0;
+        this.s1 = s1;
+        this.s2 = s2;
+        this.s3 = s3;
+    }
+
+    @Override
+    public String toString() {
+        return "Xoshiro256PlusPlus{" +
+                "seed=" + getSeed() +
+                '}';
+    }
+}
@@ -1,6 +1,7 @@
 package dev.spoocy.utils.common.version;
 
 import dev.spoocy.utils.common.collections.ComparisonChain;
+import dev.spoocy.utils.common.collections.KeyComparator;
 import dev.spoocy.utils.common.text.StringUtils;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -15,6 +16,15 @@ import java.util.regex.Pattern;
 
 public interface Version extends Comparable<Version>, Serializable {
 
+    /**
+     * Orders versions by their major, minor and build version.
+     */
+    KeyComparator<Version> COMPARATOR = ComparisonChain.<Version>comparator()
+            .comparingInt(Version::getMajor)
+            .comparingInt(Version::getMinor)
+            .comparingInt(Version::getBuild)
+            .build();
+
     /**
      * @return The major version
      */
@@ -172,11 +182,7 @@ public interface Version extends Comparable<Version>, Serializable {
 
     @Override
     default int compareTo(@NotNull Version o) {
-        return ComparisonChain.start()
-                .compare(this.getMajor(), o.getMajor())
-                .compare(this.getMinor(), o.getMinor())
-                .compare(this.getBuild(), o.getBuild())
-                .result();
+        return COMPARATOR.compare(this, o);
     }
 
     int hashCode();
@@ -6,6 +6,7 @@ module dev.spoocy.utils.common {
     requires org.jetbrains.annotations;
     requires org.slf4j;
     requires java.logging;
+    requires java.management;
 
     exports dev.spoocy.utils.common.cache;
     exports dev.spoocy.utils.common.collections;
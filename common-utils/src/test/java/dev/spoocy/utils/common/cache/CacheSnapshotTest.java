@@ -0,0 +1,181 @@
+package dev.spoocy.utils.common.cache;
+
+import dev.spoocy.utils.common.scheduler.task.ScheduledTask;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CacheSnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testWriteAndRestore() throws IOException {
+        Path file = this.directory.resolve("profiles.snapshot");
+        Cache<UUID, String> cache = Caches.createLRUCache(10_000);
+        for (int i = 0; i < 5000; i++) {
+            cache.add(new UUID(i, i), "player-" + i);
+        }
+
+        assertEquals(5000, CacheSnapshot.write(cache, file, CacheCodec.uuid(), CacheCodec.string()));
+
+        Cache<UUID, String> restored = Caches.createLRUCache(10_000);
+        restored.add(new UUID(0, 0), "fresh");
+        assertEquals(4999, CacheSnapshot.restore(restored, file, CacheCodec.uuid(), CacheCodec.string()));
+
+        assertEquals(5000, restored.size());
+        assertEquals("fresh", restored.get(new UUID(0, 0)));
+        assertEquals("player-4999", restored.get(new UUID(4999, 4999)));
+    }
+
+    @Test
+    public void testKeepsNullValues() throws IOException {
+        Path file = this.directory.resolve("nulls.snapshot");
+        Cache<String, String> cache = new LRUCache<>(16);
+        cache.add("present", "value");
+        cache.add("absent", null);
+
+        assertEquals(2, CacheSnapshot.write(cache, file, CacheCodec.string(), CacheCodec.string()));
+
+        Cache<String, String> restored = new LRUCache<>(16);
+        assertEquals(2, CacheSnapshot.restore(restored, file, CacheCodec.string(), CacheCodec.string()));
+        assertEquals("value", restored.get("present"));
+        assertTrue(restored.contains("absent"));
+        assertNull(restored.get("absent"));
+    }
+
+    @Test
+    public void testRestoreKeepsConcurrentWrites() throws IOException {
+        Path file = this.directory.resolve("racing.snapshot");
+        Cache<String, String> cache = Caches.createCache();
+        cache.add("a", "stale");
+        CacheSnapshot.write(cache, file, CacheCodec.string(), CacheCodec.string());
+
+        // writes the key right before the restore looks at it, like another thread would
+        Cache<String, String> restored = new NormalCache<String, String>() {
+            private boolean raced;
+
+            private void race() {
+                if (!this.raced) {
+                    this.raced = true;
+                    add("a", "fresh");
+                }
+            }
+
+            @Override
+            public boolean contains(@NotNull String key) {
+                race();
+                return super.contains(key);
+            }
+
+            @Override
+            public String computeIfAbsent(String key, Function<? super String, ? extends String> mappingFunction) {
+                race();
+                return super.computeIfAbsent(key, mappingFunction);
+            }
+        };
+
+        assertEquals(0, CacheSnapshot.restore(restored, file, CacheCodec.string(), CacheCodec.string()));
+        assertEquals("fresh", restored.get("a"));
+    }
+
+    @Test
+    public void testLargeValuesSpanBuffers() throws IOException {
+        Path file = this.directory.resolve("large.snapshot");
+        byte[] large = new byte[200_000];
+        Arrays.fill(large, (byte) 7);
+
+        Cache<String, byte[]> cache = Caches.createCache();
+        cache.add("large", large);
+        cache.add("small", new byte[] {1, 2, 3});
+        CacheSnapshot.write(cache, file, CacheCodec.string(), CacheCodec.bytes());
+
+        Cache<String, byte[]> restored = new OffHeapCache<>(4 * 1024 * 1024);
+        assertEquals(2, CacheSnapshot.restore(restored, file, CacheCodec.string(), CacheCodec.bytes()));
+        assertArrayEquals(large, restored.get("large"));
+        assertArrayEquals(new byte[] {1, 2, 3}, restored.get("small"));
+    }
+
+    @Test
+    public void testKeepsRemainingTimeToLive() throws IOException {
+        Path file = this.directory.resolve("timed.snapshot");
+        TimedCache<String, String> cache = (TimedCache<String, String>) Caches.builder()
+                .expireAfterWrite(1, TimeUnit.HOURS)
+                .<String, String>build();
+        cache.add("a", "b");
+        long expiresAt = cache.getNode("a").expiresAt;
+        CacheSnapshot.write(cache, file, CacheCodec.string(), CacheCodec.string());
+
+        TimedCache<String, String> restored = new TimedCache<>(TimeUnit.HOURS.toMillis(1));
+        assertEquals(1, CacheSnapshot.restore(restored, file, CacheCodec.string(), CacheCodec.string()));
+        assertEquals(expiresAt, restored.getNode("a").expiresAt);
+
+        TimedCache<String, String> shorter = new TimedCache<>(TimeUnit.MINUTES.toMillis(1));
+        assertEquals(1, CacheSnapshot.restore(shorter, file, CacheCodec.string(), CacheCodec.string()));
+        assertTrue(shorter.getNode("a").expiresAt <= shorter.now() + TimeUnit.MINUTES.toMillis(1));
+    }
+
+    @Test
+    public void testSkipsExpiredEntries() throws IOException {
+        Path file = this.directory.resolve("expired.snapshot");
+        AtomicLong time = new AtomicLong(System.currentTimeMillis());
+        Cache<String, String> cache = Caches.builder()
+                .expireAfterWrite(50, TimeUnit.MILLISECONDS)
+                .ticker(time::get)
+                .build();
+        cache.add("a", "b");
+        CacheSnapshot.write(cache, file, CacheCodec.string(), CacheCodec.string());
+        time.addAndGet(100);
+
+        Cache<String, String> restored = Caches.builder()
+                .expireAfterWrite(50, TimeUnit.MILLISECONDS)
+                .ticker(time::get)
+                .build();
+        assertEquals(0, CacheSnapshot.restore(restored, file, CacheCodec.string(), CacheCodec.string()));
+        assertTrue(restored.isEmpty());
+    }
+
+    @Test
+    public void testRestoreAsync() throws Exception {
+        Path file = this.directory.resolve("async.snapshot");
+        Cache<String, String> cache = Caches.createCache();
+        cache.add("a", "b");
+        CacheSnapshot.write(cache, file, CacheCodec.string(), CacheCodec.string());
+
+        Cache<String, String> restored = Caches.createCache();
+        ScheduledTask<Integer> task = (ScheduledTask<Integer>) CacheSnapshot.restoreAsync(restored, file, CacheCodec.string(), CacheCodec.string());
+        assertEquals(1, task.get(5, TimeUnit.SECONDS));
+        assertEquals("b", restored.get("a"));
+
+        assertEquals(0, CacheSnapshot.restore(restored, this.directory.resolve("missing"), CacheCodec.string(), CacheCodec.string()));
+    }
+
+    @Test
+    public void testRejectsCorruptFiles() throws IOException {
+        Path file = this.directory.resolve("corrupt.snapshot");
+        Cache<String, String> cache = Caches.createCache();
+        cache.add("a", "b");
+        CacheSnapshot.write(cache, file, CacheCodec.string(), CacheCodec.string());
+
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 3));
+        assertThrows(IOException.class, () -> CacheSnapshot.restore(Caches.createCache(), file, CacheCodec.string(), CacheCodec.string()));
+
+        Files.write(file, new byte[] {1, 2, 3, 4, 5, 6});
+        assertThrows(StreamCorruptedException.class, () -> CacheSnapshot.restore(Caches.createCache(), file, CacheCodec.string(), CacheCodec.string()));
+    }
+
+}
@@ -0,0 +1,116 @@
+package dev.spoocy.utils.common.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CacheStatsTest {
+
+    @Test
+    public void testRecordsHitsMissesAndLoads() {
+        Cache<String, Integer> cache = Caches.builder()
+                .maximumSize(2)
+                .recordStats()
+                .build();
+
+        cache.add("a", 1);
+        cache.get("a");
+        cache.get("b");
+        cache.computeIfAbsent("c", key -> 3);
+        assertThrows(IllegalStateException.class, () -> cache.computeIfAbsent("d", key -> {
+            throw new IllegalStateException();
+        }));
+
+        CacheStats stats = cache.stats();
+        assertEquals(1, stats.hitCount());
+        assertEquals(3, stats.missCount());
+        assertEquals(1, stats.loadSuccessCount());
+        assertEquals(1, stats.loadFailureCount());
+        assertEquals(0.25, stats.hitRate());
+        assertEquals(2, stats.estimatedWeight());
+    }
+
+    @Test
+    public void testRecordsEvictionsByCause() {
+        Cache<Integer, Integer> cache = Caches.builder()
+                .maximumSize(10)
+                .recordStats()
+                .build();
+
+        for (int i = 0; i < 25; i++) {
+            cache.add(i, i);
+        }
+
+        CacheStats stats = cache.stats();
+        assertEquals(15, stats.evictionCount());
+        assertEquals(15, stats.evictionCount(RemovalCause.SIZE));
+        assertEquals(0, stats.evictionCount(RemovalCause.EXPIRED));
+    }
+
+    @Test
+    public void testDisabledByDefault() {
+        Cache<String, String> cache = Caches.createTimedCache(1000);
+        cache.add("a", "b");
+        cache.get("a");
+
+        assertEquals(CacheStats.empty(), cache.stats());
+    }
+
+    @Test
+    public void testStatsAggregate() {
+        Cache<String, String> first = Caches.builder().recordStats().build();
+        Cache<String, String> second = Caches.builder().recordStats().build();
+        first.get("x");
+        second.get("y");
+        second.add("y", "z");
+        second.get("y");
+
+        CacheStats combined = first.stats().plus(second.stats());
+        assertEquals(1, combined.hitCount());
+        assertEquals(2, combined.missCount());
+        assertTrue(Caches.stats().requestCount() >= combined.requestCount());
+    }
+
+    @Test
+    public void testRecordsExplicitRemovalsAndReplacements() {
+        List<Cache<Integer, Integer>> caches = List.of(
+                Caches.builder().recordStats().build(),
+                Caches.builder().maximumSize(100).recordStats().build(),
+                Caches.builder().expireAfterWrite(1, TimeUnit.HOURS).recordStats().build(),
+                new LRUCache<>(Caches.builder().maximumSize(100).recordStats())
+        );
+
+        for (Cache<Integer, Integer> cache : caches) {
+            cache.add(1, 1);
+            cache.add(1, 2);
+            cache.add(2, 2);
+            cache.add(3, 3);
+            cache.remove(2);
+            cache.remove(4);
+            cache.clear();
+
+            CacheStats stats = cache.stats();
+            assertEquals(1, stats.evictionCount(RemovalCause.REPLACED), cache.getClass().getSimpleName());
+            assertEquals(3, stats.evictionCount(RemovalCause.EXPLICIT), cache.getClass().getSimpleName());
+            assertEquals(0, stats.evictionCount(), cache.getClass().getSimpleName());
+        }
+
+        Int2ObjectCache<String> primitive = new Int2ObjectCache<>(100, Long.MAX_VALUE, true);
+        primitive.add(1, "a");
+        primitive.add(1, "b");
+        primitive.remove(1);
+        assertEquals(1, primitive.stats().evictionCount(RemovalCause.REPLACED));
+        assertEquals(1, primitive.stats().evictionCount(RemovalCause.EXPLICIT));
+    }
+
+    @Test
+    public void testPrimitiveCacheSkipsLoadTimingWhenDisabled() {
+        Int2ObjectCache<String> cache = new Int2ObjectCache<>(100);
+        assertEquals("1", cache.computeIfAbsent(1, String::valueOf));
+        assertEquals(CacheStats.empty(), cache.stats());
+    }
+
+}
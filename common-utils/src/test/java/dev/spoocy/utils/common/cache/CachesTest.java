@@ -0,0 +1,111 @@
+package dev.spoocy.utils.common.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CachesTest {
+
+    @Test
+    public void testEnumeratesNamedCaches() {
+        Cache<Integer, Integer> cache = Caches.builder()
+                .name("caches-test.enumerate")
+                .maximumSize(100)
+                .recordStats()
+                .build();
+        cache.add(1, 1);
+        cache.get(1);
+
+        CacheInfo info = Caches.caches()
+                .stream()
+                .filter(candidate -> "caches-test.enumerate".equals(candidate.name()))
+                .findFirst()
+                .orElseThrow();
+
+        assertEquals("ConcurrentLRUCache", info.type());
+        assertEquals(1, info.size());
+        assertTrue(info.estimatedMemory() > 0);
+        assertEquals(1, info.stats().hitCount());
+    }
+
+    @Test
+    public void testClearByName() {
+        Cache<String, String> first = Caches.builder().name("caches-test.clear.first").build();
+        Cache<String, String> second = Caches.builder().name("caches-test.clear.second").build();
+        Cache<String, String> other = Caches.builder().name("caches-test.keep").build();
+        first.add("a", "b");
+        second.add("a", "b");
+        other.add("a", "b");
+
+        assertEquals(2, Caches.clearByName("caches-test\\.clear\\..*"));
+        assertTrue(first.isEmpty());
+        assertTrue(second.isEmpty());
+        assertEquals(1, other.size());
+    }
+
+    @Test
+    public void testTrimKeepsFraction() {
+        Cache<Integer, Integer> lru = Caches.builder().maximumSize(100).build();
+        Cache<Integer, Integer> timed = Caches.builder().expireAfterWrite(1, TimeUnit.MINUTES).build();
+        Cache<Integer, Integer> normal = Caches.createCache();
+        for (int i = 0; i < 100; i++) {
+            lru.add(i, i);
+            timed.add(i, i);
+            normal.add(i, i);
+        }
+
+        assertEquals(75, lru.trim(0.25));
+        assertEquals(25, lru.size());
+        assertTrue(lru.contains(99));
+        assertFalse(lru.contains(0));
+
+        assertEquals(50, timed.trim(0.5));
+        assertEquals(50, timed.size());
+        assertTrue(timed.contains(99));
+
+        assertEquals(100, normal.trim(0));
+        assertTrue(normal.isEmpty());
+
+        assertThrows(IllegalArgumentException.class, () -> lru.trim(1.5));
+    }
+
+    @Test
+    public void testPrimitiveCachesAreRegistered() {
+        Int2ObjectCache<String> ints = Caches.createIntCache(1000);
+        Long2ObjectCache<String> longs = Caches.createLongCache(1000);
+        for (int i = 0; i < 100; i++) {
+            ints.add(i, "int-" + i);
+            longs.add(i, "long-" + i);
+        }
+
+        assertTrue(Caches.caches().stream().anyMatch(info -> "Int2ObjectCache".equals(info.type()) && info.size() == 100));
+        assertTrue(Caches.caches().stream().anyMatch(info -> "Long2ObjectCache".equals(info.type()) && info.size() == 100));
+
+        assertTrue(Caches.trimAll(0.5) >= 100);
+        assertEquals(50, ints.size());
+        assertEquals(50, longs.size());
+        assertEquals("int-99", ints.get(99));
+
+        Caches.clearAll();
+        assertTrue(ints.isEmpty());
+        assertTrue(longs.isEmpty());
+    }
+
+    @Test
+    public void testUnusedCachesAreCollected() throws InterruptedException {
+        WeakReference<Cache<String, String>> reference = new WeakReference<>(Caches.builder().name("caches-test.collected").build());
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (reference.get() != null && System.currentTimeMillis() < deadline) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        assertNull(reference.get());
+        assertTrue(Caches.caches().stream().noneMatch(info -> "caches-test.collected".equals(info.name())));
+    }
+
+}
@@ -0,0 +1,84 @@
+package dev.spoocy.utils.common.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConcurrentLRUCacheTest {
+
+    @Test
+    public void testEvictsLeastRecentlyUsed() {
+        ConcurrentLRUCache<Integer, String> cache = new ConcurrentLRUCache<>(3);
+        cache.add(1, "a");
+        cache.add(2, "b");
+        cache.add(3, "c");
+
+        // reads are buffered, a write drains them before evicting
+        assertEquals("a", cache.get(1));
+        cache.add(4, "d");
+
+        assertEquals(3, cache.size());
+        assertTrue(cache.contains(1));
+        assertFalse(cache.contains(2));
+        assertTrue(cache.contains(3));
+        assertTrue(cache.contains(4));
+    }
+
+    @Test
+    public void testReplaceAndRemove() {
+        ConcurrentLRUCache<String, Integer> cache = new ConcurrentLRUCache<>(2);
+        cache.add("a", 1);
+        cache.add("a", 2);
+        assertEquals(1, cache.size());
+        assertEquals(2, cache.get("a"));
+
+        cache.remove("a");
+        assertNull(cache.get("a"));
+        assertTrue(cache.isEmpty());
+
+        assertEquals(5, cache.computeIfAbsent("b", k -> 5));
+        assertEquals(5, cache.computeIfAbsent("b", k -> 6));
+        assertNull(cache.computeIfAbsent("c", k -> null));
+        assertFalse(cache.contains("c"));
+    }
+
+    @Test
+    public void testBoundHoldsUnderConcurrentAccess() throws InterruptedException {
+        int capacity = 64;
+        ConcurrentLRUCache<Integer, Integer> cache = new ConcurrentLRUCache<>(capacity);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+
+        for (int t = 0; t < 8; t++) {
+            int offset = t * 1000;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < 5000; i++) {
+                    int key = offset + (i % 500);
+                    cache.computeIfAbsent(key, k -> k);
+                    cache.get(key - 1);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertTrue(cache.size() <= capacity, "size " + cache.size() + " exceeds " + capacity);
+        cache.clear();
+        assertTrue(cache.isEmpty());
+    }
+
+}
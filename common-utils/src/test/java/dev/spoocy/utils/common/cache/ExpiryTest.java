@@ -0,0 +1,102 @@
+package dev.spoocy.utils.common.cache;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExpiryTest {
+
+    @Test
+    public void testTimeToLivePerEntry() {
+        AtomicLong time = new AtomicLong();
+        Cache<String, String> cache = Caches.builder()
+                .expireAfter(Expiry.writing((String key, String value) -> value.isEmpty() ? 50 : 60_000))
+                .ticker(time::get)
+                .build();
+
+        cache.add("missing", "");
+        cache.add("found", "profile");
+        time.addAndGet(50);
+
+        assertFalse(cache.contains("missing"));
+        assertEquals("profile", cache.get("found"));
+    }
+
+    @Test
+    public void testUpdateAndReadAdjustExpiration() {
+        AtomicLong time = new AtomicLong(1000);
+        TimedCache<String, String> cache = (TimedCache<String, String>) Caches.builder()
+                .expireAfter(new Expiry<String, String>() {
+                    @Override
+                    public long expireAfterCreate(@NotNull String key, @Nullable String value, long currentTime) {
+                        return 1000;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(@NotNull String key, @Nullable String value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(@NotNull String key, @Nullable String value, long currentTime, long currentDuration) {
+                        return 60_000;
+                    }
+                })
+                .ticker(time::get)
+                .<String, String>build();
+
+        cache.add("a", "b");
+        assertEquals(2000, cache.getNode("a").expiresAt);
+
+        time.addAndGet(500);
+        cache.add("a", "c");
+        assertEquals(2000, cache.getNode("a").expiresAt);
+
+        assertEquals("c", cache.get("a"));
+        assertEquals(61_500, cache.getNode("a").expiresAt);
+    }
+
+    @Test
+    public void testReadExtendsScheduledEntry() {
+        AtomicLong time = new AtomicLong();
+        Cache<String, String> cache = Caches.builder()
+                .expireAfter(new Expiry<String, String>() {
+                    @Override
+                    public long expireAfterCreate(@NotNull String key, @Nullable String value, long currentTime) {
+                        return 100;
+                    }
+
+                    @Override
+                    public long expireAfterRead(@NotNull String key, @Nullable String value, long currentTime, long currentDuration) {
+                        return 60_000;
+                    }
+                })
+                .ticker(time::get)
+                .build();
+
+        cache.add("a", "b");
+        assertEquals("b", cache.get("a"));
+        time.addAndGet(200);
+
+        // advances the wheel past the original expiration
+        cache.add("c", "d");
+        assertEquals("b", cache.get("a"));
+    }
+
+    @Test
+    public void testBuilderValidation() {
+        assertThrows(IllegalArgumentException.class, () -> Caches.builder()
+                .expireAfterWrite(1, TimeUnit.MINUTES)
+                .expireAfter(Expiry.afterWrite(1, TimeUnit.MINUTES)));
+        assertThrows(IllegalArgumentException.class, () -> Caches.builder()
+                .expireAfter(Expiry.afterWrite(1, TimeUnit.MINUTES))
+                .weakKeys()
+                .build());
+    }
+
+}
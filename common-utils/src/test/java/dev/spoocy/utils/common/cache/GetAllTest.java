@@ -0,0 +1,106 @@
+package dev.spoocy.utils.common.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GetAllTest {
+
+    @Test
+    public void testLoadsMissingKeysInOneCall() {
+        List<Cache<Integer, String>> caches = List.of(
+                new LRUCache<>(Caches.builder().maximumSize(100).recordStats()),
+                new TimedCache<>(60_000),
+                Caches.createCache(),
+                Caches.createLRUCache(100),
+                Caches.builder().maximumSize(100).frequencyBiased().build()
+        );
+
+        for (Cache<Integer, String> cache : caches) {
+            cache.add(1, "one");
+
+            AtomicInteger calls = new AtomicInteger();
+            Function<Set<Integer>, Map<Integer, String>> loader = keys -> {
+                calls.incrementAndGet();
+                assertEquals(Set.of(2, 3, 4), keys);
+
+                Map<Integer, String> loaded = new HashMap<>();
+                loaded.put(2, "two");
+                loaded.put(3, null);
+                loaded.put(5, "five");
+                return loaded;
+            };
+
+            Map<Integer, String> result = cache.getAll(List.of(1, 2, 3, 4), loader);
+
+            String name = cache.getClass().getSimpleName();
+            assertEquals(1, calls.get(), name);
+            assertEquals(Map.of(1, "one", 2, "two"), result, name);
+            assertEquals("two", cache.get(2), name);
+            assertEquals("five", cache.get(5), name);
+            assertFalse(cache.contains(3), name);
+
+            assertEquals(Map.of(1, "one", 2, "two"), cache.getAll(List.of(1, 2), keys -> fail("nothing to load")), name);
+        }
+    }
+
+    @Test
+    public void testRecordsBatchStats() {
+        LRUCache<Integer, Integer> cache = new LRUCache<>(Caches.builder().maximumSize(100).recordStats());
+        cache.add(1, 1);
+        cache.getAll(List.of(1, 2, 3), keys -> Map.of(2, 2, 3, 3));
+
+        CacheStats stats = cache.stats();
+        assertEquals(1, stats.hitCount());
+        assertEquals(2, stats.missCount());
+        assertEquals(1, stats.loadSuccessCount());
+    }
+
+    @Test
+    public void testBoundedAddAllEvictsBatch() {
+        AbstractBoundedCache<Integer, String> cache = (AbstractBoundedCache<Integer, String>) Caches.builder()
+                .maximumWeight(50)
+                .<Integer, String>weigher((key, value) -> value.length())
+                .recordStats()
+                .<Integer, String>build();
+        Map<Integer, String> values = new HashMap<>();
+        for (int i = 0; i < 100; i++) {
+            values.put(i, "x");
+        }
+
+        cache.addAll(values);
+        assertEquals(50, cache.size());
+        assertEquals(50, cache.getWeightedSize());
+        assertEquals(50, cache.stats().evictionCount(RemovalCause.SIZE));
+
+        Integer present = cache.keys().iterator().next();
+        cache.addAll(Map.of(present, "xxxxxxxxxx"));
+        assertEquals("xxxxxxxxxx", cache.get(present));
+        assertEquals(1, cache.stats().evictionCount(RemovalCause.REPLACED));
+        assertTrue(cache.getWeightedSize() <= 50);
+    }
+
+    @Test
+    public void testTimedAddAllSchedulesBatch() {
+        TimedCache<Integer, Integer> cache = new TimedCache<>(60_000);
+        Map<Integer, Integer> values = new HashMap<>();
+        for (int i = 0; i < 100; i++) {
+            values.put(i, i);
+        }
+
+        cache.addAll(values);
+        cache.addAll(Map.of(0, 42));
+
+        assertEquals(100, cache.size());
+        assertEquals(42, cache.get(0));
+        assertEquals(100, cache.trim(0));
+    }
+
+}
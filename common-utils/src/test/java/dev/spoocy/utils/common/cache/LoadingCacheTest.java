@@ -0,0 +1,87 @@
+package dev.spoocy.utils.common.cache;
+
+import dev.spoocy.utils.common.scheduler.task.ScheduledTask;
+import dev.spoocy.utils.common.scheduler.task.Task;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LoadingCacheTest {
+
+    @Test
+    public void testLoadsMissingValues() {
+        AtomicInteger loads = new AtomicInteger();
+        LoadingCache<String, Integer> cache = Caches.builder()
+                .expireAfterWrite(1, TimeUnit.MINUTES)
+                .build(key -> {
+                    loads.incrementAndGet();
+                    return key.length();
+                });
+
+        assertNull(cache.getIfPresent("abc"));
+        assertEquals(3, cache.get("abc"));
+        assertEquals(3, cache.get("abc"));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void testServesStaleValueWhileRefreshing() throws InterruptedException {
+        AtomicInteger version = new AtomicInteger();
+        LoadingCache<String, Integer> cache = Caches.builder()
+                .expireAfterWrite(1, TimeUnit.MINUTES)
+                .refreshAfterWrite(50, TimeUnit.MILLISECONDS)
+                .build(key -> version.incrementAndGet());
+
+        assertEquals(1, cache.get("a"));
+        Thread.sleep(80);
+
+        // the read that finds the entry due returns the stale value and triggers the reload
+        assertEquals(1, cache.get("a"));
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (cache.getIfPresent("a") == 1 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(2, cache.getIfPresent("a"));
+    }
+
+    @Test
+    public void testFailedRefreshKeepsValue() throws InterruptedException {
+        AtomicInteger calls = new AtomicInteger();
+        LoadingCache<String, String> cache = Caches.builder()
+                .expireAfterWrite(1, TimeUnit.MINUTES)
+                .recordStats()
+                .build(key -> {
+                    if (calls.incrementAndGet() > 1) {
+                        throw new IllegalStateException("backend down");
+                    }
+                    return "value";
+                });
+
+        assertEquals("value", cache.get("a"));
+
+        Task<String> task = cache.refresh("a");
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> ((ScheduledTask<String>) task).get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, ex.getCause());
+
+        assertEquals("value", cache.getIfPresent("a"));
+        assertEquals(1, cache.stats().loadSuccessCount());
+        assertEquals(1, cache.stats().loadFailureCount());
+    }
+
+    @Test
+    public void testRefreshRequiresLoader() {
+        assertThrows(IllegalArgumentException.class, () -> Caches.builder()
+                .refreshAfterWrite(1, TimeUnit.SECONDS)
+                .build());
+        assertThrows(IllegalArgumentException.class, () -> Caches.builder()
+                .expireAfterWrite(1, TimeUnit.SECONDS)
+                .refreshAfterWrite(2, TimeUnit.SECONDS)
+                .build(key -> key));
+    }
+
+}
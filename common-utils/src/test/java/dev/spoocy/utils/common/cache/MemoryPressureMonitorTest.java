@@ -0,0 +1,81 @@
+package dev.spoocy.utils.common.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MemoryPressureMonitorTest {
+
+    @Test
+    public void testRetainedFractionBetweenWatermarks() {
+        MemoryPressureMonitor monitor = new MemoryPressureMonitor(0.6, 0.8, 0.2);
+
+        assertEquals(1, monitor.retainedFraction(0.5));
+        assertEquals(1, monitor.retainedFraction(0.6));
+        assertEquals(0.6, monitor.retainedFraction(0.7), 1e-9);
+        assertEquals(0.2, monitor.retainedFraction(0.8));
+        assertEquals(0.2, monitor.retainedFraction(0.95));
+    }
+
+    @Test
+    public void testTrimsCachesUnderPressure() {
+        Cache<Integer, Integer> cache = Caches.builder().maximumSize(1000).build();
+        for (int i = 0; i < 1000; i++) {
+            cache.add(i, i);
+        }
+
+        MemoryPressureMonitor monitor = new MemoryPressureMonitor(0.6, 0.8, 0.2);
+        assertEquals(0, monitor.trim(0.5));
+        assertEquals(1000, cache.size());
+
+        assertTrue(monitor.trim(0.7) >= 400);
+        assertEquals(600, cache.size());
+        assertTrue(cache.contains(999));
+
+        // trims are rate limited
+        assertEquals(0, monitor.trim(0.9));
+        assertEquals(600, cache.size());
+    }
+
+    @Test
+    public void testStopRestoresThresholds() {
+        List<MemoryPoolMXBean> pools = new ArrayList<>();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.isValid() && pool.isCollectionUsageThresholdSupported()) {
+                pools.add(pool);
+            }
+        }
+        long[] before = new long[pools.size()];
+        for (int i = 0; i < before.length; i++) {
+            before[i] = pools.get(i).getCollectionUsageThreshold();
+        }
+
+        MemoryPressureMonitor monitor = new MemoryPressureMonitor(0.95, 0.99, 0.5);
+        monitor.start();
+        monitor.stop();
+
+        for (int i = 0; i < before.length; i++) {
+            assertEquals(before[i], pools.get(i).getCollectionUsageThreshold(), pools.get(i).getName());
+        }
+    }
+
+    @Test
+    public void testStartAndStop() {
+        MemoryPressureMonitor monitor = new MemoryPressureMonitor(0.95, 0.99, 0.5);
+        monitor.start();
+        monitor.start();
+        System.gc();
+        assertTrue(monitor.occupancy() >= 0 && monitor.occupancy() <= 1);
+        monitor.stop();
+
+        assertThrows(IllegalArgumentException.class, () -> new MemoryPressureMonitor(0.8, 0.6, 0.5));
+        assertThrows(IllegalArgumentException.class, () -> new MemoryPressureMonitor(0.6, 0.8, 1.5));
+    }
+
+}
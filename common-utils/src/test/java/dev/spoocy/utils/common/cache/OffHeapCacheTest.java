@@ -0,0 +1,102 @@
+package dev.spoocy.utils.common.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OffHeapCacheTest {
+
+    @Test
+    public void testStoresCopies() {
+        OffHeapCache<String> cache = Caches.createOffHeapCache(1 << 16);
+        byte[] value = "payload".getBytes(StandardCharsets.UTF_8);
+
+        cache.add("a", value);
+        value[0] = 'X';
+
+        assertArrayEquals("payload".getBytes(StandardCharsets.UTF_8), cache.get("a"));
+        assertEquals(7, cache.getUsedBytes());
+
+        cache.add("a", new byte[0]);
+        assertArrayEquals(new byte[0], cache.get("a"));
+
+        cache.remove("a");
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.getUsedBytes());
+    }
+
+    @Test
+    public void testZeroCopyViews() {
+        OffHeapCache<String> cache = Caches.createOffHeapCache(1 << 16);
+        cache.add("a", new byte[]{1, 2, 3});
+
+        ByteBuffer view = cache.getBuffer("a");
+        assertNotNull(view);
+        assertTrue(view.isReadOnly());
+        assertTrue(view.isDirect());
+        assertEquals(3, view.remaining());
+        assertEquals(2, view.get(1));
+
+        assertEquals(Integer.valueOf(6), cache.read("a", buffer -> buffer.get(0) + buffer.get(1) + buffer.get(2)));
+        assertNull(cache.read("b", ByteBuffer::remaining));
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsedWithinBound() {
+        // two slabs of 1 KiB, each holds four 256 byte chunks
+        OffHeapCache<Integer> cache = new OffHeapCache<>(2048, 1024, true);
+        for (int i = 0; i < 8; i++) {
+            cache.add(i, filled(200, i));
+        }
+        cache.get(0);
+        cache.add(8, filled(200, 8));
+
+        assertEquals(8, cache.size());
+        assertTrue(cache.contains(0));
+        assertFalse(cache.contains(1));
+        assertArrayEquals(filled(200, 8), cache.get(8));
+        assertEquals(1, cache.stats().evictionCount(RemovalCause.SIZE));
+        assertTrue(cache.getUsedBytes() <= cache.getMaximumBytes());
+    }
+
+    @Test
+    public void testRejectsBoundBelowSmallestChunk() {
+        assertThrows(IllegalArgumentException.class, () -> new OffHeapCache<>(63, 1024, false));
+
+        OffHeapCache<Integer> cache = new OffHeapCache<>(100, 1024, false);
+        assertEquals(64, cache.getMaximumBytes());
+    }
+
+    @Test
+    public void testReassignsSlabsBetweenSizeClasses() {
+        OffHeapCache<Integer> cache = new OffHeapCache<>(2048, 1024, false);
+        for (int i = 0; i < 32; i++) {
+            cache.add(i, filled(64, i));
+        }
+        assertEquals(32, cache.size());
+
+        // both slabs hold small chunks, a large value takes one over
+        cache.add(100, filled(1000, 7));
+        assertArrayEquals(filled(1000, 7), cache.get(100));
+        assertEquals(17, cache.size());
+
+        for (Integer key : cache.keys()) {
+            if (key != 100) {
+                assertArrayEquals(filled(64, key), cache.get(key));
+            }
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> cache.add(200, new byte[1025]));
+    }
+
+    private static byte[] filled(int length, int value) {
+        byte[] bytes = new byte[length];
+        Arrays.fill(bytes, (byte) value);
+        return bytes;
+    }
+
+}
@@ -0,0 +1,102 @@
+package dev.spoocy.utils.common.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PrimitiveCacheTest {
+
+    @Test
+    public void testMatchesLinkedHashMapModel() {
+        int maximum = 200;
+        Long2ObjectCache<Long> cache = new Long2ObjectCache<>(maximum);
+        Map<Long, Long> model = new LinkedHashMap<>(16, 0.75f, true);
+        Random random = new Random(42);
+
+        for (int i = 0; i < 200_000; i++) {
+            // a small key range with colliding multiples provokes long probe sequences
+            long key = random.nextInt(400) * 1024L;
+            int operation = random.nextInt(10);
+
+            if (operation < 5) {
+                cache.add(key, key + i);
+                model.put(key, key + i);
+                if (model.size() > maximum) {
+                    model.remove(model.keySet().iterator().next());
+                }
+            } else if (operation < 8) {
+                assertEquals(model.get(key), cache.get(key));
+            } else {
+                cache.remove(key);
+                model.remove(key);
+            }
+        }
+
+        assertEquals(model.size(), cache.size());
+        List<Long> keys = new ArrayList<>();
+        for (long key : cache.keys()) {
+            keys.add(key);
+        }
+        assertEquals(new ArrayList<>(model.keySet()), keys);
+        assertEquals(new ArrayList<>(model.values()), cache.values());
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsed() {
+        Int2ObjectCache<String> cache = Caches.createIntCache(3);
+        cache.add(1, "a");
+        cache.add(2, "b");
+        cache.add(3, "c");
+        cache.get(1);
+        cache.add(4, "d");
+
+        assertFalse(cache.contains(2));
+        assertArrayEquals(new int[] {3, 1, 4}, cache.keys());
+
+        cache.add(4, null);
+        assertFalse(cache.contains(4));
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testExpiresAfterWrite() throws InterruptedException {
+        Int2ObjectCache<String> cache = new Int2ObjectCache<>(Integer.MAX_VALUE, 50, true);
+        for (int i = 0; i < 1000; i++) {
+            cache.add(i, "value-" + i);
+        }
+        assertEquals("value-999", cache.get(999));
+
+        Thread.sleep(100);
+        cache.add(-1, "fresh");
+
+        assertEquals(1, cache.size());
+        assertNull(cache.get(0));
+        assertEquals("fresh", cache.get(-1));
+        assertEquals(1000, cache.stats().evictionCount());
+    }
+
+    @Test
+    public void testComputeAndTrim() {
+        Long2ObjectCache<String> cache = new Long2ObjectCache<>(1000, Long.MAX_VALUE, true);
+        for (long i = 0; i < 100; i++) {
+            assertEquals("v" + i, cache.computeIfAbsent(i, key -> "v" + key));
+        }
+        assertEquals("v5", cache.computeIfAbsent(5, key -> fail("cached")));
+
+        assertEquals(75, cache.trim(0.25));
+        assertEquals(25, cache.size());
+        assertTrue(cache.contains(99));
+        assertEquals(100, cache.stats().loadSuccessCount());
+
+        cache.clear();
+        assertTrue(cache.isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> new Long2ObjectCache<>(0));
+    }
+
+}
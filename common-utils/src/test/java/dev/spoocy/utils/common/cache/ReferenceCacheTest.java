@@ -0,0 +1,84 @@
+package dev.spoocy.utils.common.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReferenceCacheTest {
+
+    @Test
+    public void testWeakKeysUseIdentity() {
+        Cache<String, Integer> cache = Caches.createWeakKeyCache();
+        String key = new String("key");
+
+        cache.add(key, 1);
+        assertEquals(1, cache.get(key));
+        assertNull(cache.get(new String("key")));
+        assertEquals(1, cache.computeIfAbsent(key, k -> 2));
+
+        cache.remove(key);
+        assertFalse(cache.contains(key));
+    }
+
+    @Test
+    public void testCollectedKeysAreRemoved() throws InterruptedException {
+        Cache<Object, String> cache = Caches.builder().weakKeys().recordStats().build();
+        Object retained = new Object();
+        cache.add(retained, "retained");
+        for (int i = 0; i < 100; i++) {
+            cache.add(new Object(), "garbage");
+        }
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (cache.size() > 1 && System.currentTimeMillis() < deadline) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        assertEquals(1, cache.size());
+        assertEquals("retained", cache.get(retained));
+        assertEquals(100, cache.stats().evictionCount(RemovalCause.COLLECTED));
+    }
+
+    @Test
+    public void testLookupsDoNotRetainKeys() throws InterruptedException {
+        Cache<Object, String> cache = Caches.builder().weakKeys().build();
+        Object key = new Object();
+        cache.add(key, "value");
+        assertEquals("value", cache.get(key));
+        assertNull(cache.get(new Object()));
+
+        WeakReference<Object> reference = new WeakReference<>(key);
+        key = null;
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (reference.get() != null && System.currentTimeMillis() < deadline) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        assertNull(reference.get());
+    }
+
+    @Test
+    public void testSoftValues() {
+        Cache<Class<?>, String> cache = Caches.createClassCache();
+        assertEquals("String", cache.computeIfAbsent(String.class, Class::getSimpleName));
+        assertEquals("String", cache.get(String.class));
+        assertEquals(1, cache.keys().size());
+        assertEquals(1, cache.values().size());
+
+        cache.clear();
+        assertTrue(cache.isEmpty());
+    }
+
+    @Test
+    public void testCannotBeBounded() {
+        assertThrows(IllegalArgumentException.class, () -> Caches.builder().weakKeys().maximumSize(10).build());
+        assertThrows(IllegalArgumentException.class, () -> Caches.builder().softValues().expireAfterWrite(1, TimeUnit.SECONDS).build());
+    }
+
+}
@@ -0,0 +1,184 @@
+package dev.spoocy.utils.common.cache;
+
+import dev.spoocy.utils.common.scheduler.task.ScheduledTask;
+import dev.spoocy.utils.common.scheduler.task.Task;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TimedCacheTest {
+
+    @Test
+    public void testEntriesExpireWithoutBeingRead() {
+        AtomicLong time = new AtomicLong();
+        TimedCache<Integer, String> cache = timedCache(50, time);
+        for (int i = 0; i < 1000; i++) {
+            cache.add(i, "value-" + i);
+        }
+        assertEquals(1000, cache.size());
+
+        time.addAndGet(250);
+
+        // the next write advances the timer wheel and releases all dead entries
+        cache.add(-1, "fresh");
+        assertEquals(1, cache.size());
+        assertEquals(1, cache.keys().size());
+        assertTrue(cache.contains(-1));
+    }
+
+    @Test
+    public void testExpiredEntriesAreNotReported() {
+        AtomicLong time = new AtomicLong();
+        TimedCache<String, String> cache = timedCache(50, time);
+        cache.add("a", "1");
+        cache.add("b", "2");
+        assertEquals("1", cache.get("a"));
+
+        time.addAndGet(50);
+
+        assertFalse(cache.contains("a"));
+        assertNull(cache.get("b"));
+        assertTrue(cache.isEmpty());
+        assertFalse(cache.iterator().hasNext());
+    }
+
+    @Test
+    public void testReplaceResetsTimeToLive() {
+        AtomicLong time = new AtomicLong();
+        TimedCache<String, String> cache = timedCache(300, time);
+        cache.add("a", "1");
+        time.addAndGet(200);
+        cache.add("a", "2");
+        time.addAndGet(200);
+
+        assertEquals("2", cache.get("a"));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testConcurrentMissesLoadOnce() throws InterruptedException {
+        TimedCache<String, Integer> cache = new TimedCache<>(10_000);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        AtomicInteger results = new AtomicInteger();
+
+        for (int i = 0; i < 8; i++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                results.addAndGet(cache.computeIfAbsent("profile", key -> {
+                    loads.incrementAndGet();
+                    sleep(100);
+                    return 42;
+                }));
+            });
+            threads.add(thread);
+            thread.start();
+        }
+
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(1, loads.get());
+        assertEquals(8 * 42, results.get());
+    }
+
+    @Test
+    public void testAsyncLoadIsSharedAndFailuresPropagate() throws Exception {
+        TimedCache<String, Integer> cache = new TimedCache<>(10_000);
+        AtomicInteger loads = new AtomicInteger();
+
+        Task<Integer> first = cache.computeIfAbsentAsync("a", key -> {
+            loads.incrementAndGet();
+            sleep(100);
+            return 7;
+        });
+        Task<Integer> second = cache.computeIfAbsentAsync("a", key -> {
+            loads.incrementAndGet();
+            return 8;
+        });
+
+        assertEquals(7, ((ScheduledTask<Integer>) first).get(5, TimeUnit.SECONDS));
+        assertEquals(7, ((ScheduledTask<Integer>) second).get(5, TimeUnit.SECONDS));
+        assertEquals(1, loads.get());
+
+        CountDownLatch failed = new CountDownLatch(1);
+        cache.computeIfAbsentAsync("b", key -> {
+            throw new IllegalStateException("backend down");
+        }).onException(ex -> {
+            if (ex instanceof IllegalStateException) {
+                failed.countDown();
+            }
+        });
+        assertTrue(failed.await(5, TimeUnit.SECONDS));
+        assertFalse(cache.contains("b"));
+    }
+
+    @Test
+    public void testConcurrentAsyncLoadsAlwaysComplete() throws Exception {
+        TimedCache<Integer, Integer> cache = new TimedCache<>(10_000);
+        List<Task<Integer>> tasks = new ArrayList<>();
+        for (int round = 0; round < 500; round++) {
+            for (int i = 0; i < 8; i++) {
+                tasks.add(cache.computeIfAbsentAsync(round, key -> key * 2));
+            }
+        }
+
+        for (int i = 0; i < tasks.size(); i++) {
+            assertEquals(i / 8 * 2, ((ScheduledTask<Integer>) tasks.get(i)).get(5, TimeUnit.SECONDS));
+        }
+
+        // no load is left in flight, so later loads of the same keys do not hang
+        cache.clear();
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            for (int round = 0; round < 500; round++) {
+                assertEquals(round * 3, cache.computeIfAbsent(round, key -> key * 3));
+            }
+        });
+    }
+
+    @Test
+    public void testRecursiveLoadFailsInsteadOfDeadlocking() {
+        TimedCache<String, Integer> cache = new TimedCache<>(10_000);
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            IllegalStateException ex = assertThrows(IllegalStateException.class,
+                    () -> cache.computeIfAbsent("a", key -> cache.computeIfAbsent("a", inner -> 1)));
+            assertEquals("Recursive update", ex.getMessage());
+        });
+
+        assertFalse(cache.contains("a"));
+        assertEquals(2, cache.computeIfAbsent("a", key -> 2));
+        assertEquals(3, cache.computeIfAbsent("b", key -> cache.computeIfAbsent("c", inner -> 3)));
+    }
+
+    private static <K, V> TimedCache<K, V> timedCache(long ttlMillis, AtomicLong time) {
+        return (TimedCache<K, V>) Caches.builder()
+                .expireAfterWrite(ttlMillis, TimeUnit.MILLISECONDS)
+                .ticker(time::get)
+                .<K, V>build();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
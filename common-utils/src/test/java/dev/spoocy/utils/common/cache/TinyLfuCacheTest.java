@@ -0,0 +1,118 @@
+package dev.spoocy.utils.common.cache;
+
+import dev.spoocy.utils.common.misc.SeededRandom;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Replays synthetic access traces against the LRU and the TinyLFU cache and compares their hit rates.
+ */
+public class TinyLfuCacheTest {
+
+    private static final int CAPACITY = 500;
+    private static final int KEY_SPACE = 50_000;
+    private static final int OPERATIONS = 500_000;
+
+    @Test
+    public void testBasicOperations() {
+        TinyLfuCache<String, Integer> cache = new TinyLfuCache<>(2);
+        cache.add("a", 1);
+        cache.add("b", 2);
+        cache.add("c", 3);
+
+        assertEquals(2, cache.size());
+        cache.remove("c");
+        assertFalse(cache.contains("c"));
+        assertEquals(7, cache.computeIfAbsent("d", k -> 7));
+        cache.clear();
+        assertTrue(cache.isEmpty());
+    }
+
+    @Test
+    public void testLargeMaximumDoesNotAllocateUpfront() {
+        TinyLfuCache<Integer, Integer> cache = new TinyLfuCache<>(Integer.MAX_VALUE);
+        for (int i = 0; i < 10_000; i++) {
+            cache.add(i, i);
+        }
+
+        assertEquals(10_000, cache.size());
+        assertEquals(42, cache.get(42));
+    }
+
+    @Test
+    public void testSketchKeepsHistoryWhenGrowing() {
+        FrequencySketch sketch = new FrequencySketch(16);
+        for (int i = 0; i < 5; i++) {
+            sketch.increment("hot");
+        }
+        sketch.increment("warm");
+        int hot = sketch.frequency("hot");
+        int warm = sketch.frequency("warm");
+
+        sketch.ensureCapacity(1 << 12);
+        assertEquals(hot, sketch.frequency("hot"));
+        assertEquals(warm, sketch.frequency("warm"));
+        assertTrue(sketch.frequency("hot") >= 5);
+    }
+
+    @Test
+    public void testHitRateOnZipfianTrace() {
+        int[] trace = zipfian(new SeededRandom(42), OPERATIONS);
+
+        double lru = hitRate(new ConcurrentLRUCache<>(CAPACITY), trace);
+        double tinyLfu = hitRate(new TinyLfuCache<>(CAPACITY), trace);
+
+        assertTrue(tinyLfu > lru, "TinyLFU " + tinyLfu + " should beat LRU " + lru);
+    }
+
+    @Test
+    public void testHitRateOnScanMixedTrace() {
+        SeededRandom random = new SeededRandom(7);
+        int[] trace = zipfian(random, OPERATIONS);
+
+        // every few thousand requests a sweep touches a run of fresh keys exactly once
+        int scanKey = KEY_SPACE;
+        for (int start = 0; start + 1_000 < trace.length; start += 5_000) {
+            for (int i = start; i < start + 1_000; i++) {
+                trace[i] = scanKey++;
+            }
+        }
+
+        double lru = hitRate(new ConcurrentLRUCache<>(CAPACITY), trace);
+        double tinyLfu = hitRate(new TinyLfuCache<>(CAPACITY), trace);
+
+        assertTrue(tinyLfu > lru * 1.2, "TinyLFU " + tinyLfu + " should clearly beat LRU " + lru);
+    }
+
+    private static double hitRate(Cache<Integer, Integer> cache, int[] trace) {
+        int hits = 0;
+        for (int key : trace) {
+            if (cache.get(key) != null) {
+                hits++;
+            } else {
+                cache.add(key, key);
+            }
+        }
+        return (double) hits / trace.length;
+    }
+
+    private static int[] zipfian(SeededRandom random, int length) {
+        double[] cdf = new double[KEY_SPACE];
+        double sum = 0;
+        for (int i = 0; i < KEY_SPACE; i++) {
+            sum += 1.0 / Math.pow(i + 1, 0.9);
+            cdf[i] = sum;
+        }
+
+        int[] trace = new int[length];
+        for (int i = 0; i < length; i++) {
+            int index = Arrays.binarySearch(cdf, random.nextDouble() * sum);
+            trace[i] = index >= 0 ? index : -index - 1;
+        }
+        return trace;
+    }
+
+}
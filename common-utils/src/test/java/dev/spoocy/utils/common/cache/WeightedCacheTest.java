@@ -0,0 +1,88 @@
+package dev.spoocy.utils.common.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WeightedCacheTest {
+
+    @Test
+    public void testEvictsByWeight() {
+        AbstractBoundedCache<String, String> cache = (AbstractBoundedCache<String, String>) Caches.builder()
+                .maximumWeight(10)
+                .weigher((String key, String value) -> value.length())
+                .<String, String>build();
+
+        cache.add("a", "aaaa");
+        cache.add("b", "bbbb");
+        assertEquals(8, cache.getWeightedSize());
+
+        cache.add("c", "ccc");
+        assertFalse(cache.contains("a"));
+        assertEquals(7, cache.getWeightedSize());
+
+        // replacing a value re-weighs the entry
+        cache.add("b", "b");
+        assertEquals(4, cache.getWeightedSize());
+        cache.add("c", "cccccccccc");
+        assertFalse(cache.contains("b"));
+        assertEquals(10, cache.getWeightedSize());
+
+        cache.remove("c");
+        assertEquals(0, cache.getWeightedSize());
+    }
+
+    @Test
+    public void testTinyLfuStaysWithinWeight() {
+        AbstractBoundedCache<Integer, int[]> cache = (AbstractBoundedCache<Integer, int[]>) Caches.builder()
+                .maximumWeight(1_000)
+                .weigher((Integer key, int[] value) -> value.length)
+                .frequencyBiased()
+                .<Integer, int[]>build();
+
+        for (int i = 0; i < 5_000; i++) {
+            cache.add(i % 700, new int[1 + i % 13]);
+            cache.get(i % 50);
+            assertTrue(cache.getWeightedSize() <= 1_000);
+        }
+
+        long total = 0;
+        for (int key : cache.keys()) {
+            total += cache.get(key).length;
+        }
+        assertEquals(total, cache.getWeightedSize());
+    }
+
+    @Test
+    public void testTimedCacheEvictsSoonestExpiring() {
+        Cache<String, Integer> cache = Caches.builder()
+                .expireAfterWrite(1, TimeUnit.MINUTES)
+                .maximumSize(2)
+                .recordStats()
+                .build();
+
+        cache.add("a", 1);
+        cache.add("b", 2);
+        cache.add("c", 3);
+
+        assertEquals(2, cache.size());
+        assertFalse(cache.contains("a"));
+        assertEquals(1, cache.stats().evictionCount(RemovalCause.SIZE));
+    }
+
+    @Test
+    public void testBuilderValidation() {
+        assertThrows(IllegalArgumentException.class, () -> Caches.builder().maximumWeight(10).build());
+        assertThrows(IllegalArgumentException.class, () -> Caches.builder().weigher((k, v) -> 1).build());
+        assertThrows(IllegalArgumentException.class, () -> Caches.builder().maximumSize(10).maximumWeight(10));
+
+        Cache<String, String> cache = Caches.builder()
+                .maximumWeight(10)
+                .weigher((k, v) -> -1)
+                .build();
+        assertThrows(IllegalArgumentException.class, () -> cache.add("a", "b"));
+    }
+
+}
@@ -0,0 +1,55 @@
+package dev.spoocy.utils.common.collections;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CollectorTest {
+
+    private static final int SIZE = 100_000;
+
+    @Test
+    public void testParallelMatchesSequential() {
+        Collector<Integer> sequential = Collector.range(0, SIZE).map(value -> (value * 7919) % 1000);
+        Collector<Integer> parallel = sequential.clone().parallel();
+
+        assertEquals(
+                sequential.clone().filter(value -> value % 3 == 0).map(value -> value * 2).asList(),
+                parallel.clone().filter(value -> value % 3 == 0).map(value -> value * 2).asList()
+        );
+        assertEquals(sequential.clone().order(value -> value).asList(), parallel.clone().order(value -> value).asList());
+        assertEquals(sequential.clone().order(value -> value, false).asList(), parallel.clone().order(value -> value, false).asList());
+        assertEquals(sequential.anyMatch(value -> value == 999), parallel.anyMatch(value -> value == 999));
+        assertFalse(parallel.anyMatch(value -> value < 0));
+        assertTrue(parallel.allMatch(value -> value < 1000));
+        assertFalse(parallel.allMatch(value -> value < 999));
+    }
+
+    @Test
+    public void testParallelKeepsEncounterOrder() {
+        Collector<int[]> pairs = Collector.range(0, SIZE).map(value -> new int[] {value % 10, value}).parallel();
+
+        List<int[]> ordered = pairs.clone().order(pair -> pair[0]).asList();
+        for (int i = 1; i < ordered.size(); i++) {
+            int[] previous = ordered.get(i - 1);
+            int[] current = ordered.get(i);
+            assertTrue(previous[0] < current[0] || previous[0] == current[0] && previous[1] < current[1]);
+        }
+
+        Optional<int[]> max = pairs.max(pair -> pair[0]);
+        assertEquals(9, max.orElseThrow()[1]);
+    }
+
+    @Test
+    public void testStaysSequentialBelowThreshold() {
+        Set<Thread> small = ConcurrentHashMap.newKeySet();
+        Collector.range(0, 100).parallel().filter(value -> small.add(Thread.currentThread()) || true);
+        assertEquals(Set.of(Thread.currentThread()), small);
+    }
+
+}
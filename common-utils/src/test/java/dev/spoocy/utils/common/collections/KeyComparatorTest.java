@@ -0,0 +1,108 @@
+package dev.spoocy.utils.common.collections;
+
+import dev.spoocy.utils.common.version.Version;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class KeyComparatorTest {
+
+    private static final Comparator<int[]> REFERENCE = Comparator.<int[]>comparingInt(value -> value[0])
+            .thenComparing(Comparator.<int[]>comparingLong(value -> value[1]).reversed())
+            .thenComparing(value -> Integer.toString(value[2]));
+
+    private static final KeyComparator<int[]> COMPILED = ComparisonChain.<int[]>comparator()
+            .comparingInt(value -> value[0])
+            .comparingLong(value -> value[1], false)
+            .comparing(value -> Integer.toString(value[2]))
+            .build();
+
+    @Test
+    public void testMatchesReferenceComparator() {
+        Random random = new Random(3);
+        for (int i = 0; i < 10_000; i++) {
+            int[] left = {random.nextInt(3), random.nextInt(3), random.nextInt(3)};
+            int[] right = {random.nextInt(3), random.nextInt(3), random.nextInt(3)};
+            assertEquals(Integer.signum(REFERENCE.compare(left, right)), Integer.signum(COMPILED.compare(left, right)));
+        }
+    }
+
+    @Test
+    public void testSortWithCachedKeysIsStable() {
+        Random random = new Random(5);
+        List<int[]> list = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            list.add(new int[] {random.nextInt(20), random.nextInt(20), random.nextInt(20), i});
+        }
+
+        List<int[]> expected = new ArrayList<>(list);
+        expected.sort(REFERENCE);
+        COMPILED.sort(list);
+
+        for (int i = 0; i < list.size(); i++) {
+            assertSame(expected.get(i), list.get(i));
+        }
+    }
+
+    @Test
+    public void testSortExtractsKeysOnce() {
+        AtomicInteger calls = new AtomicInteger();
+        Collector<String> collector = Collector.of(new ArrayList<>(List.of("ccc", "a", "bb", "dddd")));
+        for (int i = 0; i < 1000; i++) {
+            collector.add("x".repeat(i % 4));
+        }
+
+        collector.order(value -> {
+            calls.incrementAndGet();
+            return value.length();
+        }, false);
+
+        assertEquals(1004, calls.get());
+        assertEquals("dddd", collector.first());
+        assertEquals("", collector.last());
+    }
+
+    @Test
+    public void testParallelSortExtractsKeysOnce() {
+        Random random = new Random(7);
+        List<int[]> values = new ArrayList<>();
+        for (int i = 0; i < 4 * Collector.PARALLEL_THRESHOLD; i++) {
+            values.add(new int[] {random.nextInt(100), i});
+        }
+        List<int[]> expected = new ArrayList<>(values);
+        expected.sort(Comparator.comparingInt(value -> value[0]));
+
+        AtomicInteger calls = new AtomicInteger();
+        Collector<int[]> collector = Collector.of(values).parallel();
+        collector.order(ComparisonChain.<int[]>comparator()
+                .comparingInt(value -> {
+                    calls.incrementAndGet();
+                    return value[0];
+                })
+                .build());
+
+        assertEquals(values.size(), calls.get());
+        List<int[]> sorted = collector.asList();
+        for (int i = 0; i < sorted.size(); i++) {
+            assertSame(expected.get(i), sorted.get(i));
+        }
+    }
+
+    @Test
+    public void testVersionOrder() {
+        List<Version> versions = new ArrayList<>(List.of(Version.parse("1.10.0"), Version.parse("1.2.3"), Version.parse("0.9")));
+        versions.sort(Version.COMPARATOR);
+
+        assertEquals("0.9.0", versions.get(0).toString());
+        assertEquals("1.10.0", versions.get(2).toString());
+        assertTrue(Version.parse("2.0").isNewerThan(Version.parse("1.99.99")));
+        assertThrows(IllegalArgumentException.class, () -> ComparisonChain.comparator().build());
+    }
+
+}
@@ -0,0 +1,90 @@
+package dev.spoocy.utils.common.collections;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LazyCollectorTest {
+
+    @Test
+    public void testFusesOperationsIntoOnePass() {
+        List<String> trace = new ArrayList<>();
+        LazyCollector<Integer> pipeline = LazyCollector.of(1, 2, 3, 4, 5, 6)
+                .filter(value -> {
+                    trace.add("filter " + value);
+                    return value % 2 == 0;
+                })
+                .map(value -> {
+                    trace.add("map " + value);
+                    return value * 10;
+                });
+
+        assertTrue(trace.isEmpty());
+        assertEquals(List.of(20, 40, 60), pipeline.asList());
+        assertEquals(List.of("filter 1", "filter 2", "map 2", "filter 3", "filter 4", "map 4", "filter 5", "filter 6", "map 6"), trace);
+
+        // evaluating again reads the source again
+        assertEquals(Set.of(20, 40, 60), pipeline.asSet());
+    }
+
+    @Test
+    public void testShortCircuits() {
+        AtomicInteger visited = new AtomicInteger();
+        LazyCollector<Integer> pipeline = LazyCollector.of(Collector.range(0, 1000))
+                .filter(value -> visited.incrementAndGet() > 0);
+
+        assertEquals(0, pipeline.first());
+        assertEquals(1, visited.get());
+
+        visited.set(0);
+        assertTrue(pipeline.anyMatch(value -> value == 10));
+        assertEquals(11, visited.get());
+
+        visited.set(0);
+        assertFalse(pipeline.allMatch(value -> value < 5));
+        assertEquals(6, visited.get());
+
+        visited.set(0);
+        assertEquals(List.of(3, 4, 5), pipeline.slice(3, 6).asList());
+        assertEquals(6, visited.get());
+    }
+
+    @Test
+    public void testTerminalOperations() {
+        Collector<String> collector = Collector.of("b", "a", "c", "a");
+
+        assertEquals(4, collector.lazy().count());
+        assertEquals(List.of("a", "b", "c"), collector.lazy().distinct().order(value -> value).asList());
+        assertEquals(List.of("c", "b", "a", "a"), collector.lazy().order(value -> value, false).asList());
+        assertEquals(List.of("a", "c"), collector.lazy().skip(1).limit(2).order(value -> value).asList());
+        assertEquals(List.of(1, 1, 1, 1), collector.lazy().map(String::length).eager().asList());
+
+        assertEquals(List.of("x"), LazyCollector.of(Stream.<Object>of(1, "x", 2.0)).cast(String.class).asList());
+        assertThrows(NoSuchElementException.class, () -> LazyCollector.of(List.of()).first());
+        assertTrue(LazyCollector.of().isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> collector.lazy().slice(2, 1));
+    }
+
+    @Test
+    public void testNullElements() {
+        assertFalse(LazyCollector.of("a", null).allMatch(Objects::nonNull));
+        assertTrue(LazyCollector.of("a", null).anyMatch(Objects::isNull));
+        assertFalse(LazyCollector.of("a", null).noneMatch(Objects::isNull));
+        assertFalse(LazyCollector.of((String) null).isEmpty());
+        assertNull(LazyCollector.of((String) null).first());
+        assertEquals(2, LazyCollector.of(null, "b").count());
+
+        assertThrows(NullPointerException.class, () -> LazyCollector.of((String) null).findFirst());
+        assertEquals("b", LazyCollector.of(null, "b").first(Objects::nonNull).orElseThrow());
+        assertFalse(LazyCollector.<String>of().findFirst().isPresent());
+    }
+
+}
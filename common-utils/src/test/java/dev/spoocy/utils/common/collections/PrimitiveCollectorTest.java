@@ -0,0 +1,84 @@
+package dev.spoocy.utils.common.collections;
+
+import dev.spoocy.utils.common.misc.SeededRandom;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.OptionalInt;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PrimitiveCollectorTest {
+
+    @Test
+    public void testIntCollector() {
+        IntCollector collector = IntCollector.range(0, 20)
+                .filter(value -> value % 3 == 0)
+                .map(value -> value * 2);
+
+        assertArrayEquals(new int[] {0, 6, 12, 18, 24, 30, 36}, collector.asArray());
+        assertEquals(OptionalInt.of(36), collector.max());
+        assertEquals(OptionalInt.of(0), collector.min());
+        assertEquals(126, collector.sum());
+        assertArrayEquals(new int[] {6, 12}, collector.slice(1, 3).asArray());
+        assertArrayEquals(new int[] {30, 36}, collector.slice(5, 100).asArray());
+        assertArrayEquals(new int[] {36, 30, 24, 18, 12, 6, 0}, collector.clone().order(false).asArray());
+        assertTrue(collector.anyMatch(value -> value == 24));
+        assertTrue(collector.allMatch(value -> value % 6 == 0));
+        assertEquals(List.of(0, 6), collector.slice(0, 2).boxed().asList());
+
+        int chosen = collector.random(new SeededRandom(5));
+        assertEquals(chosen, collector.random(new SeededRandom(5)));
+        assertTrue(collector.anyMatch(value -> value == chosen));
+
+        assertTrue(IntCollector.range(5, 5).isEmpty());
+        assertFalse(new IntCollector().max().isPresent());
+        assertThrows(IndexOutOfBoundsException.class, () -> new IntCollector().first());
+        assertTrue(collector.slice(7, 100).isEmpty());
+        assertThrows(IndexOutOfBoundsException.class, () -> collector.slice(-1, 2));
+        assertThrows(IndexOutOfBoundsException.class, () -> collector.slice(8, 100));
+        assertThrows(IndexOutOfBoundsException.class, () -> collector.slice(3, 2));
+        assertThrows(IndexOutOfBoundsException.class, () -> LongCollector.range(0, 4).slice(-1, 2));
+        assertThrows(IndexOutOfBoundsException.class, () -> DoubleCollector.of(1, 2).slice(3, 4));
+    }
+
+    @Test
+    public void testGrowsAndRemoves() {
+        IntCollector collector = new IntCollector();
+        for (int i = 0; i < 1000; i++) {
+            collector.add(1000 - i);
+        }
+
+        assertEquals(1000, collector.count());
+        collector.order().remove(0).add(IntCollector.of(-1, -2));
+        assertEquals(1001, collector.count());
+        assertEquals(2, collector.first());
+        assertEquals(-2, collector.last());
+        assertEquals(0, collector.clear().count());
+    }
+
+    @Test
+    public void testLongAndDoubleCollectors() {
+        LongCollector longs = LongCollector.range(Integer.MAX_VALUE, Integer.MAX_VALUE + 4L)
+                .filter(value -> value % 2 == 1);
+        assertArrayEquals(new long[] {Integer.MAX_VALUE, Integer.MAX_VALUE + 2L}, longs.asArray());
+        assertEquals(Integer.MAX_VALUE * 2L + 2, longs.sum());
+
+        assertTrue(LongCollector.range(5, -5).isEmpty());
+        assertTrue(LongCollector.range(Long.MAX_VALUE, Long.MIN_VALUE).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> LongCollector.range(Long.MIN_VALUE, Long.MAX_VALUE));
+        assertThrows(IllegalArgumentException.class, () -> LongCollector.range(0, Integer.MAX_VALUE + 1L));
+        assertThrows(IllegalArgumentException.class, () -> IntCollector.range(Integer.MIN_VALUE, Integer.MAX_VALUE));
+
+        DoubleCollector doubles = Collector.of("1.5", "-2", "0.25")
+                .mapToDouble(Double::parseDouble)
+                .order();
+        assertArrayEquals(new double[] {-2, 0.25, 1.5}, doubles.asArray());
+        assertEquals(1.5, doubles.max().getAsDouble());
+        assertEquals(-0.25, doubles.sum());
+
+        assertArrayEquals(new int[] {3, 1, 2}, Collector.of(3, 1, 2).asIntArray());
+        assertArrayEquals(new int[] {1, 2, 3}, Collector.of("a", "bb", "ccc").mapToInt(String::length).asArray());
+    }
+
+}
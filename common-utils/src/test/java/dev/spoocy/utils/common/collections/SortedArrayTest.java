@@ -0,0 +1,180 @@
+package dev.spoocy.utils.common.collections;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SortedArrayTest {
+
+    @Test
+    public void testMatchesSortedListModel() {
+        SortedArray<Integer> array = new SortedArray<>();
+        List<Integer> model = new ArrayList<>();
+        Random random = new Random(7);
+
+        for (int i = 0; i < 20_000; i++) {
+            int value = random.nextInt(500);
+            int operation = random.nextInt(10);
+
+            if (operation < 6) {
+                array.add(value);
+                int index = Collections.binarySearch(model, value);
+                model.add(index < 0 ? -index - 1 : index, value);
+            } else if (operation < 8) {
+                boolean removed = model.removeIf(element -> element == value);
+                assertEquals(removed, array.remove(Integer.valueOf(value)));
+            } else if (!model.isEmpty()) {
+                int index = random.nextInt(model.size());
+                assertEquals(model.get(index), array.get(index));
+                if (operation == 9) {
+                    array.remove(index);
+                    model.remove(index);
+                }
+            }
+            assertEquals(model.contains(value), array.contains(value));
+        }
+
+        assertEquals(model.size(), array.size());
+        assertEquals(model, new ArrayList<>(array));
+        assertEquals(model.toString(), array.toString());
+    }
+
+    @Test
+    public void testEqualElementsKeepInsertionOrder() {
+        SortedArray<Entry> array = new SortedArray<>();
+        array.add(new Entry(2, "a"));
+        array.add(new Entry(1, "b"));
+        array.add(new Entry(2, "c"));
+        array.add(new Entry(2, "d"));
+
+        assertEquals("b", array.get(0).name);
+        assertEquals("a", array.get(1).name);
+        assertEquals("c", array.get(2).name);
+        assertEquals("d", array.get(3).name);
+        assertTrue(array.contains(new Entry(2, "d")));
+        assertFalse(array.contains(new Entry(2, "e")));
+        assertFalse(array.contains("not an entry"));
+    }
+
+    @Test
+    public void testIteratorIsSnapshot() {
+        SortedArray<Integer> array = new SortedArray<>(List.of(3, 1, 2));
+        Iterator<Integer> iterator = array.iterator();
+
+        array.add(0);
+        array.remove(Integer.valueOf(2));
+
+        List<Integer> seen = new ArrayList<>();
+        iterator.forEachRemaining(seen::add);
+        assertEquals(List.of(1, 2, 3), seen);
+        assertEquals(List.of(0, 1, 3), new ArrayList<>(array));
+        assertThrows(IndexOutOfBoundsException.class, () -> array.get(3));
+    }
+
+    @Test
+    public void testBulkOperations() {
+        SortedArray<Integer> array = new SortedArray<>();
+        List<Integer> model = new ArrayList<>();
+        Random random = new Random(11);
+
+        for (int round = 0; round < 50; round++) {
+            List<Integer> batch = new ArrayList<>();
+            int batchSize = random.nextBoolean() ? random.nextInt(5) + 1 : random.nextInt(500) + 1;
+            for (int i = 0; i < batchSize; i++) {
+                batch.add(random.nextInt(1000));
+            }
+
+            assertTrue(array.addAll(batch));
+            model.addAll(batch);
+            Collections.sort(model);
+            assertEquals(model, new ArrayList<>(array));
+        }
+
+        List<Integer> removed = List.of(1, 2, 3, 500, 999);
+        assertEquals(model.removeAll(removed), array.removeAll(removed));
+        assertFalse(array.removeAll(removed));
+        assertEquals(model, new ArrayList<>(array));
+
+        List<Integer> retained = new ArrayList<>(model.subList(0, 100));
+        assertEquals(model.retainAll(retained), array.retainAll(retained));
+        assertEquals(model, new ArrayList<>(array));
+
+        assertTrue(array.removeIf(value -> value % 2 == 0));
+        model.removeIf(value -> value % 2 == 0);
+        assertEquals(model, new ArrayList<>(array));
+
+        assertTrue(array.retainAll(List.of()));
+        assertTrue(array.isEmpty());
+    }
+
+    @Test
+    public void testLargeBulkRemovalWithList() {
+        List<Integer> values = new ArrayList<>();
+        for (int i = 0; i < 200_000; i++) {
+            values.add(i);
+        }
+        SortedArray<Integer> array = new SortedArray<>(values);
+
+        List<Integer> odd = new ArrayList<>();
+        for (int i = 1; i < 200_000; i += 2) {
+            odd.add(i);
+        }
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            assertTrue(array.removeAll(odd));
+            assertEquals(100_000, array.size());
+            assertTrue(array.retainAll(odd.subList(0, 10)));
+        });
+        assertTrue(array.isEmpty());
+
+        SortedArray<Integer> other = new SortedArray<>(values);
+        assertTrue(other.retainAll(odd));
+        assertEquals(odd, new ArrayList<>(other));
+    }
+
+    @Test
+    public void testBulkAddKeepsEqualElementsInOrder() {
+        SortedArray<Entry> array = new SortedArray<>();
+        array.add(new Entry(1, "a"));
+        array.addAll(List.of(new Entry(1, "b"), new Entry(0, "c"), new Entry(1, "d")));
+
+        List<String> names = new ArrayList<>();
+        array.forEach(entry -> names.add(entry.name));
+        assertEquals(List.of("c", "a", "b", "d"), names);
+    }
+
+    private static final class Entry implements Comparable<Entry> {
+
+        private final int priority;
+        private final String name;
+
+        private Entry(int priority, String name) {
+            this.priority = priority;
+            this.name = name;
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            return Integer.compare(this.priority, other.priority);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Entry && ((Entry) o).priority == this.priority && ((Entry) o).name.equals(this.name);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * this.priority + this.name.hashCode();
+        }
+
+    }
+
+}
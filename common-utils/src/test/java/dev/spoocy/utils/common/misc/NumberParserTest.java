@@ -0,0 +1,95 @@
+package dev.spoocy.utils.common.misc;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NumberParserTest {
+
+    private final NumberParser.Result result = new NumberParser.Result();
+
+    @Test
+    public void testIntegers() {
+        for (String text : List.of("0", "-0", "+7", "123", "-2147483648", "2147483647", "9223372036854775807", "-9223372036854775808")) {
+            assertTrue(NumberParser.parseLong(text, this.result), text);
+            assertEquals(Long.parseLong(text), this.result.longValue(), text);
+        }
+
+        for (String text : List.of("", "-", "+", "1.0", " 1", "1 ", "0x10", "9223372036854775808", "-9223372036854775809", "1e3")) {
+            assertFalse(NumberParser.parseLong(text, this.result), text);
+            assertFalse(this.result.isSuccess());
+            assertEquals(0, this.result.longValue());
+        }
+
+        assertFalse(NumberParser.parseInt("2147483648", this.result));
+        assertTrue(NumberParser.parseInt("-2147483648", this.result));
+        assertEquals(Integer.MIN_VALUE, this.result.intValue());
+
+        assertTrue(NumberParser.parseInt("key=42;", 4, 6, this.result));
+        assertEquals(42, this.result.intValue());
+        assertThrows(IndexOutOfBoundsException.class, () -> NumberParser.parseInt("42", 1, 3, this.result));
+    }
+
+    @Test
+    public void testDecimalsMatchTheJdk() {
+        List<String> texts = List.of("0", "-0.0", "1", "1.5", ".5", "5.", "-12.375e-3", "1E10", "6.02214076e23", "1e-400", "1e400",
+                "0.1", "3.141592653589793", "123456789012345678901234567890", "0.000000000000000000000000000123",
+                " 2.5 ", "1.5f", "7d", "NaN", "-Infinity", "+Infinity", "4.9e-324", "1.7976931348623157e308", "9007199254740993");
+        for (String text : texts) {
+            assertTrue(NumberParser.parseDouble(text, this.result), text);
+            assertEquals(Double.parseDouble(text), this.result.doubleValue(), text);
+            assertTrue(NumberParser.parseFloat(text, this.result), text);
+            assertEquals(Float.parseFloat(text), this.result.floatValue(), text);
+        }
+
+        for (String text : List.of("", " ", ".", "-", "e5", "1e", "1e+", "1.2.3", "1,5", "0x1p3", "Infinityf", "1ff", "nan")) {
+            assertFalse(NumberParser.parseDouble(text, this.result), text);
+        }
+    }
+
+    @Test
+    public void testRandomDecimalsMatchTheJdk() {
+        Random random = new Random(13);
+        for (int i = 0; i < 100_000; i++) {
+            String text;
+            switch (i % 4) {
+                case 0:
+                    text = Double.toString(random.nextDouble() * Math.pow(10, random.nextInt(40) - 20));
+                    break;
+                case 1:
+                    text = Double.toString(Double.longBitsToDouble(random.nextLong()));
+                    break;
+                case 2:
+                    text = random.nextInt(1_000_000) + "." + random.nextInt(1_000_000) + "e" + (random.nextInt(60) - 30);
+                    break;
+                default:
+                    text = Float.toString(random.nextFloat() * random.nextInt(100_000));
+                    break;
+            }
+
+            assertTrue(NumberParser.parseDouble(text, this.result), text);
+            assertEquals(Double.doubleToLongBits(Double.parseDouble(text)), Double.doubleToLongBits(this.result.doubleValue()), text);
+            assertTrue(NumberParser.parseFloat(text, this.result), text);
+            assertEquals(Float.floatToIntBits(Float.parseFloat(text)), Float.floatToIntBits(this.result.floatValue()), text);
+        }
+    }
+
+    @Test
+    public void testNumberConversion() {
+        assertEquals(12, NumberConversion.toInt("12"));
+        assertEquals(0, NumberConversion.toInt("12.5"));
+        assertEquals(0, NumberConversion.toInt(null));
+        assertEquals(7, NumberConversion.toInt(new StringBuilder("7")));
+        assertEquals(2.5, NumberConversion.toDouble(" 2.5"));
+        assertEquals(0.0, NumberConversion.toDouble("abc"));
+        assertEquals(1.25F, NumberConversion.toFloat("1.25"));
+        assertEquals(-9L, NumberConversion.toLong("-9"));
+        assertEquals((short) 0, NumberConversion.toShort("40000"));
+        assertEquals((byte) -128, NumberConversion.toByte("-128"));
+        assertEquals(Integer.valueOf(3), NumberConversion.convert("3", Integer.class));
+    }
+
+}
@@ -0,0 +1,95 @@
+package dev.spoocy.utils.common.misc;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SplittableSeededRandomTest {
+
+    @Test
+    public void testSplitMix64ReferenceValues() {
+        SplitMix64 random = new SplitMix64(0);
+        assertEquals(0xE220A8397B1DCDAFL, random.nextLong());
+        assertEquals(0x6E789E6AA1B965F4L, random.nextLong());
+        assertEquals(0, random.getSeed());
+    }
+
+    @Test
+    public void testDeterministicPerSeed() {
+        for (SplittableSeededRandom random : List.of(new SplitMix64(42), new Xoshiro256PlusPlus(42))) {
+            SplittableSeededRandom same = random instanceof SplitMix64 ? new SplitMix64(42) : new Xoshiro256PlusPlus(42);
+
+            long[] values = new long[100];
+            long[] expected = new long[100];
+            random.fill(values);
+            same.fill(expected);
+            assertArrayEquals(expected, values);
+
+            random.setSeed(42);
+            assertEquals(expected[0], random.nextLong());
+        }
+    }
+
+    @Test
+    public void testSplitStreamsAreReproducibleAndDiffer() {
+        Xoshiro256PlusPlus first = new Xoshiro256PlusPlus(7);
+        Xoshiro256PlusPlus second = new Xoshiro256PlusPlus(7);
+
+        Xoshiro256PlusPlus firstSplit = first.split();
+        Xoshiro256PlusPlus secondSplit = second.split();
+        assertEquals(firstSplit.nextLong(), secondSplit.nextLong());
+        assertEquals(first.nextLong(), second.nextLong());
+        assertNotEquals(first.nextLong(), firstSplit.nextLong());
+        assertEquals(7, firstSplit.getSeed());
+
+        SplitMix64 mix = new SplitMix64(7);
+        assertEquals(new SplitMix64(7).split().nextLong(), mix.split().nextLong());
+    }
+
+    @Test
+    public void testSplitMix64MatchesSplittableRandom() {
+        SplitMix64 random = new SplitMix64(11);
+        SplittableRandom reference = new SplittableRandom(11);
+        assertEquals(reference.nextLong(), random.nextLong());
+
+        SplitMix64 split = random.split();
+        SplittableRandom referenceSplit = reference.split();
+        for (int i = 0; i < 100; i++) {
+            assertEquals(referenceSplit.nextLong(), split.nextLong());
+            assertEquals(reference.nextLong(), random.nextLong());
+        }
+    }
+
+    @Test
+    public void testBoundsAndDistribution() {
+        SplittableSeededRandom random = new Xoshiro256PlusPlus(3);
+        int[] counts = new int[10];
+        for (int i = 0; i < 100_000; i++) {
+            counts[random.nextInt(10)]++;
+
+            double value = random.nextDouble();
+            assertTrue(value >= 0 && value < 1);
+            int between = random.between(-5, 5);
+            assertTrue(between >= -5 && between < 5);
+        }
+        for (int count : counts) {
+            assertTrue(count > 9_000 && count < 11_000, Arrays.toString(counts));
+        }
+
+        int[] ints = new int[1001];
+        random.fill(ints, 3);
+        assertTrue(Arrays.stream(ints).allMatch(value -> value >= 0 && value < 3));
+
+        double[] doubles = new double[17];
+        random.fill(doubles);
+        assertTrue(Arrays.stream(doubles).allMatch(value -> value >= 0 && value < 1));
+
+        assertEquals("a", random.choose("a"));
+        assertThrows(IllegalArgumentException.class, () -> random.nextInt(0));
+    }
+
+}
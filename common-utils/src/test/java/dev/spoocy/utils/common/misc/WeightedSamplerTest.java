@@ -0,0 +1,103 @@
+package dev.spoocy.utils.common.misc;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WeightedSamplerTest {
+
+    @Test
+    public void testDrawsProportionalToWeight() {
+        WeightedSampler<String> sampler = new WeightedSampler<String>()
+                .add("coal", 60)
+                .add("iron", 30)
+                .add("diamond", 10)
+                .add("nothing", 0);
+
+        Map<String, Integer> counts = count(sampler, new SeededRandom(1), 200_000);
+        assertEquals(0.6, counts.get("coal") / 200_000.0, 0.01);
+        assertEquals(0.3, counts.get("iron") / 200_000.0, 0.01);
+        assertEquals(0.1, counts.get("diamond") / 200_000.0, 0.01);
+        assertFalse(counts.containsKey("nothing"));
+    }
+
+    @Test
+    public void testUpdatesRebuildTheTable() {
+        WeightedSampler<String> sampler = new WeightedSampler<String>()
+                .add("a", 1)
+                .add("b", 1);
+        assertNotNull(sampler.sample(new SeededRandom(2)));
+
+        sampler.set("a", 0);
+        sampler.add("c", 2);
+        sampler.add("c", 1);
+        assertTrue(sampler.remove("b"));
+        assertFalse(sampler.remove("b"));
+
+        assertEquals(3, sampler.weight("c"));
+        assertEquals(3, sampler.totalWeight());
+        assertEquals(2, sampler.size());
+        assertEquals(List.of("c", "c", "c"), sampler.sample(new SeededRandom(3), 3));
+
+        sampler.clear();
+        assertNull(sampler.sample(new SeededRandom(4)));
+        assertTrue(sampler.sample(new SeededRandom(4), 5).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> sampler.add("d", -1));
+
+        // the added weight itself must be valid, not just the resulting sum
+        sampler.set("e", 5);
+        assertThrows(IllegalArgumentException.class, () -> sampler.add("e", -1));
+        assertThrows(IllegalArgumentException.class, () -> sampler.add("e", Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> sampler.add("e", Double.POSITIVE_INFINITY));
+        assertEquals(5, sampler.weight("e"));
+    }
+
+    @Test
+    public void testReproducibleWithSameSeed() {
+        WeightedSampler<Integer> sampler = new WeightedSampler<>();
+        for (int i = 1; i <= 50; i++) {
+            sampler.add(i, i);
+        }
+
+        assertEquals(sampler.sample(new SplitMix64(9), 100), sampler.sample(new SplitMix64(9), 100));
+        assertEquals(sampler.sampleDistinct(new SplitMix64(9), 10), sampler.sampleDistinct(new SplitMix64(9), 10));
+    }
+
+    @Test
+    public void testSampleWithoutReplacement() {
+        WeightedSampler<String> sampler = new WeightedSampler<String>()
+                .add("heavy", 1000)
+                .add("light", 1)
+                .add("medium", 100)
+                .add("never", 0);
+
+        List<String> all = sampler.sampleDistinct(new SeededRandom(5), 10);
+        assertEquals(3, all.size());
+        assertEquals(3, new HashSet<>(all).size());
+        assertFalse(all.contains("never"));
+
+        int heavyFirst = 0;
+        SeededRandom random = new SeededRandom(6);
+        for (int i = 0; i < 10_000; i++) {
+            if (sampler.sampleDistinct(random, 2).get(0).equals("heavy")) {
+                heavyFirst++;
+            }
+        }
+        assertEquals(1000 / 1101.0, heavyFirst / 10_000.0, 0.02);
+        assertTrue(sampler.sampleDistinct(random, 0).isEmpty());
+    }
+
+    private static Map<String, Integer> count(WeightedSampler<String> sampler, SeededRandom random, int draws) {
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < draws; i++) {
+            counts.merge(sampler.sample(random), 1, Integer::sum);
+        }
+        return counts;
+    }
+
+}
@@ -15,6 +15,7 @@ import org.jetbrains.annotations.Nullable;
 import java.io.Serializable;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * @author Spoocy99 | GitHub: Spoocy99
@@ -26,6 +27,11 @@ public class ConfigSerializer {
     private static final Map<Class<?>, Serializer<?>> DIRECT_SERIALIZERS = new ConcurrentHashMap<>();
     private static final Map<String, Class<? extends ConfigSerializable>> NAMES = new ConcurrentHashMap<>();
 
+    // resolved serializers per class, NONE marks classes without one
+    private static final Cache<Class<?>, Serializer<?>> RESOLVED = Caches.createClassCache();
+    private static final Serializer<?> NONE = new NoSerializer();
+    private static final AtomicInteger GENERATION = new AtomicInteger();
+
     static {
         registerSerializer(java.time.Duration.class, DurationSerializer.INSTANCE);
         registerSerializer(java.util.concurrent.atomic.AtomicInteger.class, new AtomicsSerializer<>(java.util.concurrent.atomic.AtomicInteger.class));
@@ -40,6 +46,8 @@ public class ConfigSerializer {
      */
     public static <T> void registerSerializer(@NotNull Class<T> clazz, @NotNull Serializer<T> serializer) {
         DIRECT_SERIALIZERS.put(clazz, serializer);
+        GENERATION.incrementAndGet();
+        RESOLVED.remove(clazz);
     }
 
     /**
@@ -80,6 +88,7 @@ public class ConfigSerializer {
 
     /**
      * Resolve an appropriate {@link Serializer} for the given class.
+     * The result is cached per class, including the absence of a serializer.
      *
      * @param clazz the class to find a serializer for
      * @return the resolved ObjectSerializer, or null if none found
@@ -88,6 +97,24 @@ public class ConfigSerializer {
      */
     @Nullable
     public static <O> Serializer<O> resolve(@NotNull Class<O> clazz) {
+        Serializer<?> serializer = RESOLVED.get(clazz);
+
+        if (serializer == null) {
+            int generation = GENERATION.get();
+            serializer = lookup(clazz);
+            RESOLVED.add(clazz, serializer != null ? serializer : NONE);
+
+            // a serializer registered during the lookup must not be shadowed
+            if (GENERATION.get() != generation) {
+                RESOLVED.remove(clazz);
+            }
+        }
+
+        return serializer != NONE ? (Serializer<O>) serializer : null;
+    }
+
+    @Nullable
+    private static <O> Serializer<O> lookup(@NotNull Class<O> clazz) {
         Serializer<?> serializer = DIRECT_SERIALIZERS.get(clazz);
 
         // direct serializer
@@ -164,13 +191,28 @@ public class ConfigSerializer {
         return clazz.getName();
     }
 
+    /**
+     * Marker cached for classes without a serializer, never returned by {@link #resolve(Class)}.
+     */
+    private static final class NoSerializer implements Serializer<Object> {
+
+        @Override
+        public @NotNull Map<String, Object> serialize(@NotNull Object object) {
+            throw new UnsupportedOperationException("No serializer for " + object.getClass().getName());
+        }
+
+        @Override
+        public @NotNull Object deserialize(@NotNull Map<String, Object> map) {
+            throw new UnsupportedOperationException("No serializer");
+        }
+    }
+
     /**
      * Serializer implementation for classes implementing {@link ConfigSerializable}.
      */
     public static class ClassSerializer<O extends ConfigSerializable> implements Serializer<O> {
 
-        private static final Cache<Class<?>, ClassSerializer<?>> CLASS_CACHE = Caches.createLRUCache(200);
-        private static final Cache<String, MethodAccessor> METHOD_CACHE = Caches.createLRUCache(200);
+        private static final Cache<Class<?>, ClassSerializer<?>> CLASS_CACHE = Caches.createClassCache();
 
         public static <O extends ConfigSerializable> ClassSerializer<O> create(@NotNull Class<O> clazz) {
             return (ClassSerializer<O>) CLASS_CACHE.computeIfAbsent(clazz, c -> new ClassSerializer<>(clazz));
@@ -178,8 +220,8 @@ public class ConfigSerializer {
 
         @Nullable
         private MethodAccessor findMethod(String methodName) {
-            return METHOD_CACHE.computeIfAbsent(
-                this.clazz + "#" + methodName,
+            return this.methods.computeIfAbsent(
+                methodName,
                     key -> this.access.method(
                             Reflection.method()
                                     .requireStatic()
@@ -192,6 +234,7 @@ public class ConfigSerializer {
 
         private final Class<O> clazz;
         private final ClassAccess access;
+        private final Map<String, MethodAccessor> methods = new ConcurrentHashMap<>();
 
         private ClassSerializer(@NotNull Class<O> clazz) {
             this.clazz = clazz;
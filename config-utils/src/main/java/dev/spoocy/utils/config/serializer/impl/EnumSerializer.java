@@ -16,7 +16,7 @@ import java.util.Map;
  */
 public class EnumSerializer<O extends Enum<O>> implements Serializer<O> {
 
-    private static final Cache<Class<?>, EnumSerializer<?>> CLASS_CACHE = Caches.createLRUCache(50);
+    private static final Cache<Class<?>, EnumSerializer<?>> CLASS_CACHE = Caches.createClassCache();
 
     public static <O extends Enum<O>> EnumSerializer<O> create(@NotNull Class<O> clazz) {
         return (EnumSerializer<O>) CLASS_CACHE.computeIfAbsent(clazz, c -> new EnumSerializer<>(clazz));
@@ -18,7 +18,7 @@ import java.util.Map;
 
 public class JavaSerializer<O extends Serializable> implements Serializer<O> {
 
-    private static final Cache<Class<?>, JavaSerializer<?>> CLASS_CACHE = Caches.createLRUCache(50);
+    private static final Cache<Class<?>, JavaSerializer<?>> CLASS_CACHE = Caches.createClassCache();
 
     public static <O extends Serializable> JavaSerializer<O> create(@NotNull Class<O> clazz) {
         return (JavaSerializer<O>) CLASS_CACHE.computeIfAbsent(clazz, c -> new JavaSerializer(c));
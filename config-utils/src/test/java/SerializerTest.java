@@ -125,4 +125,37 @@ public class SerializerTest {
         assertEquals("Bob", map.get("name"));
         assertEquals(25, ((Number) map.get("age")).intValue());
     }
+
+    public static class Point {
+        final int x;
+
+        Point(int x) {
+            this.x = x;
+        }
+    }
+
+    @Test
+    void resolveCachesMissingSerializerUntilRegistered() {
+        assertNull(ConfigSerializer.resolve(Point.class));
+        assertNull(ConfigSerializer.resolve(Point.class));
+
+        Serializer<Point> pointSerializer = new Serializer<Point>() {
+            @Override
+            public Map<String, Object> serialize(Point object) {
+                Map<String, Object> map = new HashMap<>();
+                map.put("x", object.x);
+                return map;
+            }
+
+            @Override
+            public Point deserialize(Map<String, Object> map) {
+                return new Point((Integer) map.get("x"));
+            }
+        };
+
+        // registering replaces the cached absence
+        ConfigSerializer.registerSerializer(Point.class, pointSerializer);
+        assertSame(pointSerializer, ConfigSerializer.resolve(Point.class));
+        assertSame(ConfigSerializer.resolve(Person.class), ConfigSerializer.resolve(Person.class));
+    }
 }
@@ -1,6 +1,6 @@
 package dev.spoocy.utils.reflection;
 
-import dev.spoocy.utils.common.collections.Collector;
+import dev.spoocy.utils.common.collections.LazyCollector;
 import dev.spoocy.utils.reflection.accessor.ConstructorAccessor;
 import dev.spoocy.utils.reflection.accessor.FieldAccessor;
 import dev.spoocy.utils.reflection.accessor.MethodAccessor;
@@ -207,7 +207,7 @@ public class Reflection {
      * @return a set of all enum constants of the specified enum class.
      */
     public static <E extends Enum<E>> Set<E> getEnumValues(@NotNull Class<E> enumClass) {
-        return Collector.of(enumClass.getEnumConstants()).asSet();
+        return LazyCollector.of(enumClass.getEnumConstants()).asSet();
     }
 
     private Reflection() {
@@ -1,28 +1,36 @@
 package dev.spoocy.utils.reflection;
 
+import dev.spoocy.utils.common.cache.Cache;
+import dev.spoocy.utils.common.cache.Caches;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A utility class to manage and cache classes within a
  * specific package using a given ClassSource.
+ * Found classes are held softly, so the cache does not keep their class
+ * loaders from being unloaded. Names that could not be found are cached
+ * in a bounded cache, so lookups of arbitrary names cannot grow it indefinitely.
  *
  * @author Spoocy99 | GitHub: Spoocy99
  */
 
 public class ReflectionPackage {
 
+    private static final int MAXIMUM_MISSING_CLASSES = 512;
+
     private final String packageName;
     private final ClassSource source;
-    private final ConcurrentHashMap<String, Optional<Class<?>>> cache;
+    private final Cache<String, Class<?>> classes;
+    private final Cache<String, Boolean> missing;
 
     public ReflectionPackage(@NotNull String packageName, @NotNull ClassSource source) {
         this.source = source;
         this.packageName = packageName;
-        this.cache = new ConcurrentHashMap<>();
+        this.classes = Caches.createSoftValueCache();
+        this.missing = Caches.createLRUCache(MAXIMUM_MISSING_CLASSES);
     }
 
     /**
@@ -35,10 +43,11 @@ public class ReflectionPackage {
      * @param clazz the class to cache, or null to remove from cache
      */
     public void setPackageClass(@NotNull String className, @Nullable Class<?> clazz) {
+        this.missing.remove(className);
         if (clazz != null) {
-            this.cache.put(className, Optional.of(clazz));
+            this.classes.add(className, clazz);
         } else {
-            this.cache.remove(className);
+            this.classes.remove(className);
         }
     }
 
@@ -64,21 +73,31 @@ public class ReflectionPackage {
      * @return an Optional containing the Class if found, or {@link Optional#empty()} if not found
      */
     public Optional<Class<?>> getPackageClass(String className, String... aliases) {
-        return cache.computeIfAbsent(className, x -> {
-            Optional<Class<?>> clazz = resolveClass(className);
-            if (clazz.isPresent()) {
-                return clazz;
+        if (this.missing.contains(className)) {
+            return Optional.empty();
+        }
+
+        Class<?> clazz = this.classes.computeIfAbsent(className, x -> {
+            Optional<Class<?>> resolved = resolveClass(className);
+            if (resolved.isPresent()) {
+                return resolved.get();
             }
 
             for (String alias : aliases) {
-                clazz = resolveClass(alias);
-                if (clazz.isPresent()) {
-                    return clazz;
+                resolved = resolveClass(alias);
+                if (resolved.isPresent()) {
+                    return resolved.get();
                 }
             }
 
-            return Optional.empty();
+            // not stored, the miss is cached below
+            return null;
         });
+
+        if (clazz == null) {
+            this.missing.add(className, Boolean.TRUE);
+        }
+        return Optional.ofNullable(clazz);
     }
 
     /**
@@ -1,6 +1,6 @@
 package dev.spoocy.utils.reflection.accessor.impl;
 
-import dev.spoocy.utils.common.collections.Collector;
+import dev.spoocy.utils.common.collections.LazyCollector;
 import dev.spoocy.utils.reflection.accessor.*;
 import dev.spoocy.utils.reflection.matcher.IMatcher;
 import org.jetbrains.annotations.NotNull;
@@ -32,7 +32,7 @@ public class ClassAccessImpl implements ClassAccess {
 
     @Override
     public Set<ConstructorAccessor> constructors() {
-        return Collector.of(this.reflectionClass.constructors())
+        return LazyCollector.of(this.reflectionClass.constructors())
                 .map(ClassAccessImpl::mapOrNull)
                 .filter(Objects::nonNull)
                 .asSet();
@@ -45,7 +45,7 @@ public class ClassAccessImpl implements ClassAccess {
 
     @Override
     public Set<FieldAccessor> constants() {
-        return Collector.of(this.reflectionClass.constants())
+        return LazyCollector.of(this.reflectionClass.constants())
                 .map(ClassAccessImpl::mapOrNullField)
                 .filter(Objects::nonNull)
                 .asSet();
@@ -53,7 +53,7 @@ public class ClassAccessImpl implements ClassAccess {
 
     @Override
     public Set<FieldAccessor> fields() {
-        return Collector.of(this.reflectionClass.fields())
+        return LazyCollector.of(this.reflectionClass.fields())
                 .map(ClassAccessImpl::mapOrNullField)
                 .filter(Objects::nonNull)
                 .asSet();
@@ -61,7 +61,7 @@ public class ClassAccessImpl implements ClassAccess {
 
     @Override
     public Set<FieldAccessor> fieldsWithAnnotation(@NotNull Class<? extends Annotation> annotation) {
-        return Collector.of(this.reflectionClass.fields())
+        return LazyCollector.of(this.reflectionClass.fields())
                 .filter(field -> field.isAnnotationPresent(annotation))
                 .map(ClassAccessImpl::mapOrNullField)
                 .filter(Objects::nonNull)
@@ -70,7 +70,7 @@ public class ClassAccessImpl implements ClassAccess {
 
     @Override
     public Set<FieldAccessor> fields(@NotNull IMatcher<Field> matcher) {
-        return Collector.of(this.reflectionClass.fields())
+        return LazyCollector.of(this.reflectionClass.fields())
                 .filter(o -> matcher.isMatch(o, reflectionClass.getAccessedClass()))
                 .map(ClassAccessImpl::mapOrNullField)
                 .filter(Objects::nonNull)
@@ -79,7 +79,7 @@ public class ClassAccessImpl implements ClassAccess {
 
     @Override
     public Set<MethodAccessor> methods() {
-        return Collector.of(this.reflectionClass.methods())
+        return LazyCollector.of(this.reflectionClass.methods())
                 .map(ClassAccessImpl::mapOrNullMethod)
                 .filter(Objects::nonNull)
                 .asSet();
@@ -87,7 +87,7 @@ public class ClassAccessImpl implements ClassAccess {
 
     @Override
     public Set<MethodAccessor> methodsWithAnnotation(@NotNull Class<? extends Annotation> annotation) {
-        return Collector.of(this.reflectionClass.methods())
+        return LazyCollector.of(this.reflectionClass.methods())
                 .filter(method -> method.isAnnotationPresent(annotation))
                 .map(ClassAccessImpl::mapOrNullMethod)
                 .filter(Objects::nonNull)
@@ -96,7 +96,7 @@ public class ClassAccessImpl implements ClassAccess {
 
     @Override
     public Set<MethodAccessor> methods(@NotNull IMatcher<Method> matcher) {
-        return Collector.of(this.reflectionClass.methods())
+        return LazyCollector.of(this.reflectionClass.methods())
                 .filter(o -> matcher.isMatch(o, reflectionClass.getAccessedClass()))
                 .map(ClassAccessImpl::mapOrNullMethod)
                 .filter(Objects::nonNull)
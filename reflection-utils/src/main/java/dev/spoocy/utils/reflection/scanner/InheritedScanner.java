@@ -1,6 +1,6 @@
 package dev.spoocy.utils.reflection.scanner;
 
-import dev.spoocy.utils.common.collections.Collector;
+import dev.spoocy.utils.common.collections.LazyCollector;
 import dev.spoocy.utils.reflection.ClassWalker;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -21,7 +21,7 @@ public class InheritedScanner extends MultiClassScanner {
 
     @Override
     public @NotNull Set<Class<?>> classes(@NotNull Class<?> source) {
-        return Collector.of(ClassWalker.walk(source).iterator()).asSet();
+        return LazyCollector.of(ClassWalker.walk(source).iterator()).asSet();
     }
 
     @Override
@@ -1,6 +1,6 @@
 package dev.spoocy.utils.reflection.scanner;
 
-import dev.spoocy.utils.common.collections.Collector;
+import dev.spoocy.utils.common.collections.LazyCollector;
 import dev.spoocy.utils.reflection.matcher.IMatcher;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -63,14 +63,14 @@ public interface Scanner {
 
     @NotNull
     default Set<Method> lookupMethods(@NotNull Class<?> source, @NotNull IMatcher<Method> matcher) {
-        return Collector.of(this.methods(source))
+        return LazyCollector.of(this.methods(source))
                 .filter(o -> matcher.isMatch(o, source))
                 .asSet();
     }
 
     @NotNull
     default Set<Field> lookupFields(@NotNull Class<?> source, @NotNull IMatcher<Field> matcher) {
-        return Collector.of(this.fields(source))
+        return LazyCollector.of(this.fields(source))
                 .filter(o -> matcher.isMatch(o, source))
                 .asSet();
     }
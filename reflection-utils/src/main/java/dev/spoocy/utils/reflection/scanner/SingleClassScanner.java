@@ -1,6 +1,6 @@
 package dev.spoocy.utils.reflection.scanner;
 
-import dev.spoocy.utils.common.collections.Collector;
+import dev.spoocy.utils.common.collections.LazyCollector;
 import org.jetbrains.annotations.NotNull;
 
 import java.lang.reflect.Constructor;
@@ -23,21 +23,21 @@ public abstract class SingleClassScanner implements Scanner {
 
     @Override
     public @NotNull Set<Constructor<?>> constructors(@NotNull Class<?> source) {
-        return Collector.of(source.getDeclaredConstructors())
+        return LazyCollector.of(source.getDeclaredConstructors())
                 .filter(c -> isVisible(c.getModifiers()))
                 .asSet();
     }
 
     @Override
     public @NotNull Set<Field> fields(@NotNull Class<?> source) {
-        return Collector.of(source.getDeclaredFields())
+        return LazyCollector.of(source.getDeclaredFields())
                 .filter(f -> isVisible(f.getModifiers()))
                 .asSet();
     }
 
     @Override
     public @NotNull Set<Method> methods(@NotNull Class<?> source) {
-        return Collector.of(source.getDeclaredMethods())
+        return LazyCollector.of(source.getDeclaredMethods())
                 .filter(m -> isVisible(m.getModifiers()))
                 .asSet();
     }